@@ -1,16 +1,30 @@
 package com.example;
 
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToIntFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
@@ -19,10 +33,13 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
+import com.example.utils.PropertyDictionaries;
+
 /**
  * The CsvToPropertyReader class is responsible for:
  * - Reading property data from a CSV file.
  * - Converting the data into a list of {@link Property} objects.
+ * - Streaming the data as {@link Property} objects without loading the whole file.
  * - Providing filtering methods to retrieve utility functionality.
  * This class uses Apache Commons CSV for parsing.
  */
@@ -30,14 +47,42 @@ public class CsvToPropertyReader {
 
     private static final Logger LOGGER = Logger.getLogger(CsvToPropertyReader.class.getName());
 
+    /**
+     * Ways of reading the whole CSV file into memory.
+     */
+    public enum ReadMode {
+        /** Reads the file sequentially through a {@link Reader} in {@link #CSV_CHARSET}. */
+        SEQUENTIAL,
+        /** Memory-maps the file and parses chunks in parallel with {@link ParallelCsvPropertyReader}. */
+        PARALLEL_MAPPED
+    }
+
     // Variable to store the selected CSV file path
     private static File selectedCsvFile;
 
+    // Reader used by readPropertiesFromCsv
+    private static ReadMode readMode = ReadMode.SEQUENTIAL;
+
     // Expected column headers in the CSV file
     private static final Set<String> REQUIRED_COLUMNS = new HashSet<>(Arrays.asList(
             "OBJECTID", "PAR_ID", "PAR_NUM", "Shape_Length", "Shape_Area", "geometry", "OWNER", "Freguesia", "Municipio", "Ilha"
     ));
 
+    /**
+     * Character set of the property files, used by both read modes whatever the platform default is.
+     */
+    public static final Charset CSV_CHARSET = StandardCharsets.UTF_8;
+
+    // CSV format of the property files: ';' delimited, with a header row
+    static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT
+            .builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreHeaderCase(true)
+            .setTrim(true)
+            .setDelimiter(';')
+            .build();
+
     /**
      * Allows the user to select a CSV file through a file chooser dialog.
      * If no file is selected, a warning message is displayed.
@@ -54,9 +99,50 @@ public class CsvToPropertyReader {
         }
     }
 
+    /**
+     * Asks the user to select a CSV file unless one is already selected.
+     * Must be called on the Event Dispatch Thread; the file can then be read on a background thread without a dialog.
+     *
+     * @return The selected CSV file, or null if the user cancelled the selection.
+     */
+    public static File chooseCsvFile() {
+        if (selectedCsvFile == null) {
+            selectCsvFile();
+        }
+        return selectedCsvFile;
+    }
+
+    /**
+     * Gets the CSV file selected by the user.
+     *
+     * @return The selected CSV file, or null if no file has been selected yet.
+     */
+    public static File getSelectedCsvFile() {
+        return selectedCsvFile;
+    }
+
+    /**
+     * Gets the reader used by {@link #readPropertiesFromCsv()}.
+     *
+     * @return The current read mode.
+     */
+    public static ReadMode getReadMode() {
+        return readMode;
+    }
+
+    /**
+     * Selects the reader used by {@link #readPropertiesFromCsv()}.
+     * Both modes produce the same properties in the same order, so their results can be compared.
+     *
+     * @param mode The read mode to use.
+     */
+    public static void setReadMode(ReadMode mode) {
+        readMode = mode;
+    }
+
     /**
      * Reads the selected CSV file and converts its records into a list of {@link Property} objects.
-     * Ensures that required headers are present and logs any errors during parsing.
+     * Ensures that required headers are present and shows a dialog if the file cannot be read.
      *
      * @return A list of {@link Property} objects representing the data in the CSV file.
      */
@@ -68,53 +154,179 @@ public class CsvToPropertyReader {
             }
         }
 
+        try {
+            return readPropertiesFromCsv(selectedCsvFile);
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(null, "The file format is not compatible. Missing required columns.", "File Format Error", JOptionPane.ERROR_MESSAGE);
+        } catch (IOException e) {
+            // Handle exceptions during file reading
+            LOGGER.log(Level.SEVERE, "Error reading CSV file", e);
+            JOptionPane.showMessageDialog(null, "Error reading CSV file: " + e.getMessage(), "File Reading Error", JOptionPane.ERROR_MESSAGE);
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Reads a CSV file with the current read mode, without showing any dialog.
+     * Errors are thrown to the caller, so the file can be read on a background thread.
+     *
+     * @param csvFile The CSV file to read.
+     * @return A list of {@link Property} objects representing the data in the CSV file.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If the file is missing required columns.
+     */
+    public static List<Property> readPropertiesFromCsv(File csvFile) throws IOException {
+        if (readMode == ReadMode.PARALLEL_MAPPED) {
+            return new ParallelCsvPropertyReader().read(csvFile);
+        }
+
         List<Property> properties = new ArrayList<>();
 
-        try (FileReader reader = new FileReader(selectedCsvFile);
-             CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT
-                     .builder()
-                     .setHeader()
-                     .setSkipHeaderRecord(true)
-                     .setIgnoreHeaderCase(true)
-                     .setTrim(true)
-                     .setDelimiter(';')
-                     .build())) {
-
-            // Validate CSV headers
-            Set<String> csvHeaders = csvParser.getHeaderMap().keySet();
-            if (!csvHeaders.containsAll(REQUIRED_COLUMNS)) {
-                JOptionPane.showMessageDialog(null, "The file format is not compatible. Missing required columns.", "File Format Error", JOptionPane.ERROR_MESSAGE);
-                return properties; // Return an empty list if the file format is incorrect
-            }
+        // Collect the streamed properties; the stream closes the file when done
+        try (Stream<Property> propertyStream = streamPropertiesFromCsv(csvFile)) {
+            propertyStream.forEach(properties::add);
+        } catch (UncheckedIOException e) {
+            // Errors while reading the records are wrapped by the stream
+            throw e.getCause();
+        }
+        return properties; // Return the list of properties
+    }
 
-            // Iterate over each record in the CSV file
-            for (CSVRecord record : csvParser) {
-                // Check if the record has a valid OBJECTID
-                if (!record.get("OBJECTID").isEmpty()) {
-                    // Create a new Property object from the record
-                    Property property = new Property(
-                            record.get("OBJECTID"),
-                            record.get("PAR_ID"),
-                            record.get("PAR_NUM"),
-                            record.get("Shape_Length"),
-                            record.get("Shape_Area"),
-                            record.get("geometry"),
-                            record.get("OWNER"),
-                            record.get("Freguesia"),
-                            record.get("Municipio"),
-                            record.get("Ilha")
-                    );
-                    properties.add(property); // Add the property to the list
-                }
+    /**
+     * Streams the properties of the selected CSV file without loading the whole file into memory.
+     * Records are parsed one at a time as the stream is consumed, so filters and aggregations
+     * over the stream run in a single pass with constant memory.
+     * The stream must be closed after use to release the file, e.g. with try-with-resources.
+     *
+     * @return A stream of the {@link Property} objects in the CSV file, or an empty stream if no valid file is selected.
+     */
+    public static Stream<Property> streamPropertiesFromCsv() {
+        if (selectedCsvFile == null) {
+            selectCsvFile();
+            if (selectedCsvFile == null) {
+                return Stream.empty(); // Return an empty stream if no file was selected
             }
+        }
 
+        try {
+            return streamPropertiesFromCsv(selectedCsvFile);
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(null, "The file format is not compatible. Missing required columns.", "File Format Error", JOptionPane.ERROR_MESSAGE);
         } catch (IOException e) {
             // Handle exceptions during file reading
             LOGGER.log(Level.SEVERE, "Error reading CSV file", e);
             JOptionPane.showMessageDialog(null, "Error reading CSV file: " + e.getMessage(), "File Reading Error", JOptionPane.ERROR_MESSAGE);
         }
+        return Stream.empty();
+    }
+
+    /**
+     * Streams the properties of a CSV file without loading the whole file into memory.
+     * The properties are encoded with new {@link PropertyDictionaries} as they are read.
+     * The stream must be closed after use to release the file.
+     *
+     * @param csvFile The CSV file to read.
+     * @return A stream of the {@link Property} objects in the CSV file.
+     * @throws IOException              If the file cannot be opened.
+     * @throws IllegalArgumentException If the file is missing required columns.
+     */
+    public static Stream<Property> streamPropertiesFromCsv(File csvFile) throws IOException {
+        return streamPropertiesFromCsv(new InputStreamReader(new FileInputStream(csvFile), CSV_CHARSET), csvFile.getPath());
+    }
+
+    /**
+     * Streams the properties of CSV data read from a reader.
+     * The reader is closed when the stream is closed, or before an exception is thrown.
+     *
+     * @param reader The reader of the CSV data.
+     * @param source The name of the data, used in error messages.
+     * @return A stream of the {@link Property} objects in the CSV data.
+     * @throws IOException              If the header cannot be read.
+     * @throws IllegalArgumentException If the data is missing required columns.
+     */
+    static Stream<Property> streamPropertiesFromCsv(Reader reader, String source) throws IOException {
+        CSVParser csvParser;
+        try {
+            csvParser = new CSVParser(reader, CSV_FORMAT);
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
 
-        return properties; // Return the list of properties
+        // Validate CSV headers
+        if (!hasRequiredColumns(csvParser.getHeaderMap().keySet())) {
+            csvParser.close();
+            throw new IllegalArgumentException("Missing required columns in " + source);
+        }
+
+        // The properties of one stream share the dictionaries of their dataset
+        PropertyDictionaries dictionaries = new PropertyDictionaries();
+        return StreamSupport.stream(csvParser.spliterator(), false)
+                .filter(CsvToPropertyReader::hasObjectId)
+                .map(record -> {
+                    Property property = toProperty(record);
+                    property.encode(dictionaries);
+                    return property;
+                })
+                .onClose(() -> {
+                    try {
+                        csvParser.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Reads the selected CSV file and passes each property to a consumer as soon as it is parsed.
+     *
+     * @param consumer The consumer receiving each {@link Property}.
+     */
+    public static void forEachProperty(Consumer<Property> consumer) {
+        try (Stream<Property> propertyStream = streamPropertiesFromCsv()) {
+            propertyStream.forEach(consumer);
+        }
+    }
+
+    /**
+     * Checks if a set of CSV headers contains all the required columns.
+     *
+     * @param csvHeaders The headers found in the CSV file.
+     * @return True if all required columns are present, false otherwise.
+     */
+    static boolean hasRequiredColumns(Set<String> csvHeaders) {
+        return csvHeaders.containsAll(REQUIRED_COLUMNS);
+    }
+
+    /**
+     * Checks if a CSV record has a valid OBJECTID.
+     *
+     * @param record The CSV record.
+     * @return True if the OBJECTID is not empty, false otherwise.
+     */
+    static boolean hasObjectId(CSVRecord record) {
+        return !record.get("OBJECTID").isEmpty();
+    }
+
+    /**
+     * Creates a new {@link Property} object from a CSV record.
+     *
+     * @param record The CSV record.
+     * @return The property described by the record.
+     */
+    static Property toProperty(CSVRecord record) {
+        return new Property(
+                record.get("OBJECTID"),
+                record.get("PAR_ID"),
+                record.get("PAR_NUM"),
+                record.get("Shape_Length"),
+                record.get("Shape_Area"),
+                record.get("geometry"),
+                record.get("OWNER"),
+                record.get("Freguesia"),
+                record.get("Municipio"),
+                record.get("Ilha")
+        );
     }
 
     /**
@@ -145,7 +357,7 @@ public class CsvToPropertyReader {
      */
     public static List<Property> filterPropertiesByFreguesia(List<Property> properties, String freguesia) {
         List<Property> filteredProperties = properties.stream()
-                .filter(property -> freguesia.equalsIgnoreCase(property.getFreguesia()))
+                .filter(inFreguesia(freguesia))
                 .collect(Collectors.toList());
         if (filteredProperties.isEmpty()) {
             throw new IllegalArgumentException("No properties found for Freguesia: " + freguesia);
@@ -163,7 +375,7 @@ public class CsvToPropertyReader {
      */
     public static List<Property> filterPropertiesByMunicipio(List<Property> properties, String municipio) {
         List<Property> filteredProperties = properties.stream()
-                .filter(property -> municipio.equalsIgnoreCase(property.getMunicipio()))
+                .filter(inMunicipio(municipio))
                 .collect(Collectors.toList());
         if (filteredProperties.isEmpty()) {
             throw new IllegalArgumentException("No properties found for Municipio: " + municipio);
@@ -181,7 +393,7 @@ public class CsvToPropertyReader {
      */
     public static List<Property> filterPropertiesByIlha(List<Property> properties, String ilha) {
         List<Property> filteredProperties = properties.stream()
-                .filter(property -> ilha.equalsIgnoreCase(property.getIlha()))
+                .filter(inIlha(ilha))
                 .collect(Collectors.toList());
         if (filteredProperties.isEmpty()) {
             throw new IllegalArgumentException("No properties found for Ilha: " + ilha);
@@ -189,6 +401,72 @@ public class CsvToPropertyReader {
         return filteredProperties;
     }
 
+    /**
+     * Creates a predicate that matches properties of a specific "Freguesia", ignoring case.
+     * Can be used to filter the list returned by {@link #readPropertiesFromCsv()} or
+     * the stream returned by {@link #streamPropertiesFromCsv()}.
+     *
+     * @param freguesia The name of the "Freguesia" to match.
+     * @return A predicate matching properties in the "Freguesia".
+     */
+    public static Predicate<Property> inFreguesia(String freguesia) {
+        return hasCode(freguesia, PropertyDictionaries::freguesiaCodeOf, Property::getFreguesiaCode, Property::getFreguesia);
+    }
+
+    /**
+     * Creates a predicate that matches properties of a specific "Municipio", ignoring case.
+     *
+     * @param municipio The name of the "Municipio" to match.
+     * @return A predicate matching properties in the "Municipio".
+     */
+    public static Predicate<Property> inMunicipio(String municipio) {
+        return hasCode(municipio, PropertyDictionaries::municipioCodeOf, Property::getMunicipioCode, Property::getMunicipio);
+    }
+
+    /**
+     * Creates a predicate that matches properties of a specific "Ilha", ignoring case.
+     *
+     * @param ilha The name of the "Ilha" to match.
+     * @return A predicate matching properties in the "Ilha".
+     */
+    public static Predicate<Property> inIlha(String ilha) {
+        return hasCode(ilha, PropertyDictionaries::ilhaCodeOf, Property::getIlhaCode, Property::getIlha);
+    }
+
+    /**
+     * Creates a predicate that compares the dictionary code of a property field with the code of a value,
+     * so case-insensitive filtering becomes an integer comparison. The code of the value is looked up once
+     * per dataset; properties that have not been encoded are compared by their field, ignoring case.
+     *
+     * @param value           The value to match.
+     * @param codeOf          Looks up the code of the value in the dictionaries of a dataset.
+     * @param codeOfProperty  Gets the code of the field of a property.
+     * @param valueOfProperty Gets the field of a property.
+     * @return A predicate matching properties whose field equals the value, ignoring case.
+     */
+    private static Predicate<Property> hasCode(String value, ToIntBiFunction<PropertyDictionaries, String> codeOf,
+                                               ToIntFunction<Property> codeOfProperty, Function<Property, String> valueOfProperty) {
+        return new Predicate<Property>() {
+            // Dataset and code of the last lookup, replaced as a whole so parallel streams see a consistent pair
+            private Map.Entry<PropertyDictionaries, Integer> lookup;
+
+            @Override
+            public boolean test(Property property) {
+                PropertyDictionaries dictionaries = property.getDictionaries();
+                if (dictionaries == null) {
+                    return value.equalsIgnoreCase(valueOfProperty.apply(property));
+                }
+                Map.Entry<PropertyDictionaries, Integer> current = lookup;
+                if (current == null || current.getKey() != dictionaries || current.getValue() < 0) {
+                    // The value may only be encoded once a streamed property containing it has been read
+                    current = new AbstractMap.SimpleImmutableEntry<>(dictionaries, codeOf.applyAsInt(dictionaries, value));
+                    lookup = current;
+                }
+                return current.getValue() >= 0 && codeOfProperty.applyAsInt(property) == current.getValue();
+            }
+        };
+    }
+
     /**
      * Main method to test the functionality of reading properties from a CSV file.
      *
@@ -3,15 +3,24 @@ package com.example;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics;
-import java.util.List;
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
 
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
 
 import com.example.utils.ButtonHandlerFactory;
+import com.example.utils.PropertyDataset;
+import com.example.utils.PropertyDatasetLoader;
 
 /**
  * The MadeiraMapGUI class represents the main graphical user interface (GUI) for the Madeira Property Map system.
@@ -21,15 +30,22 @@ import com.example.utils.ButtonHandlerFactory;
 public class MadeiraMapGUI {
 
     // Instance Variables
-    private final List<Property> properties; // List of properties loaded from the CSV
+    private PropertyDatasetLoader loader;    // Loads the CSV in the background once the frame is shown
+    private PropertyDataset dataset;         // Properties loaded from the CSV, set once their indexes are built
+    private boolean geometriesReady;         // Set once the geometries of all properties are parsed
+    private boolean adjacencyReady;          // Set once the adjacency of all properties is stored
     private JFrame frame;                    // Main application frame
+    private JLabel statusLabel;              // Shows the progress of the loading
+    private final Map<String, JButton> buttons = new LinkedHashMap<>(); // Buttons by action name
 
     /**
      * Constructor for MadeiraMapGUI.
-     * Initializes the list of properties by reading from a CSV file using {@link CsvToPropertyReader}.
+     * The properties are read from a CSV file using {@link CsvToPropertyReader} after the frame is shown,
+     * on background threads; each button is enabled once the loading phase its action needs has completed
+     * (see {@link #isReady(String)}).
+     * The file is read only once; all actions of the GUI share the loaded dataset.
      */
     public MadeiraMapGUI() {
-        properties = CsvToPropertyReader.Exercise_1();
     }
 
     /**
@@ -73,6 +89,137 @@ public class MadeiraMapGUI {
         frame.revalidate();
         frame.repaint();
         frame.setVisible(true);
+
+        // Read the CSV file once the frame has been painted
+        if (loader == null) {
+            SwingUtilities.invokeLater(this::startLoading);
+        }
+    }
+
+    /**
+     * Asks for the CSV file and starts loading it in the background.
+     * The file is parsed first; the indexes, the geometries and then the adjacency graph are built on other threads,
+     * and the buttons are enabled on the Event Dispatch Thread as each of them becomes ready.
+     */
+    private void startLoading() {
+        File csvFile = CsvToPropertyReader.chooseCsvFile();
+        if (csvFile == null) {
+            setStatus("No CSV file selected");
+            return;
+        }
+
+        setStatus("Reading properties...");
+        loader = PropertyDatasetLoader.start(csvFile);
+
+        loader.getProperties().thenAcceptAsync(
+                properties -> setStatus(properties.size() + " properties read, building indexes..."),
+                SwingUtilities::invokeLater);
+
+        // The actions only need the OBJECTID and location indexes
+        loader.getDataset().whenCompleteAsync((loadedDataset, error) -> {
+            if (error != null) {
+                reportLoadingError(error);
+                return;
+            }
+            dataset = loadedDataset;
+            setStatus(dataset.isEmpty() ? "No properties found" : "Finding adjacent properties...");
+            updateButtons();
+        }, SwingUtilities::invokeLater);
+
+        // The map and plotting actions draw the parsed geometries
+        loader.getGeometries().whenCompleteAsync((invalidGeometries, error) -> {
+            if (error != null) {
+                return; // The adjacency phase depends on the geometries and reports the failure
+            }
+            geometriesReady = true;
+            updateButtons();
+        }, SwingUtilities::invokeLater);
+
+        // The owner graph covers the adjacency of all properties, so it waits for the last phase
+        loader.getAdjacencyGraph().whenCompleteAsync((adjacencyGraph, error) -> {
+            if (error != null) {
+                // A failure to read the dataset was already reported
+                if (dataset != null) {
+                    reportLoadingError(error);
+                }
+                return;
+            }
+            adjacencyReady = true;
+            setStatus(dataset.getProperties().size() + " properties ready");
+            updateButtons();
+        }, SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Enables the buttons whose data is ready and attaches their action handlers.
+     */
+    private void updateButtons() {
+        for (Map.Entry<String, JButton> entry : buttons.entrySet()) {
+            JButton button = entry.getValue();
+            if (!button.isEnabled() && isReady(entry.getKey())) {
+                // Attach action listener using ButtonHandlerFactory
+                button.addActionListener(ButtonHandlerFactory.createHandler(entry.getKey(), null, dataset, frame));
+                button.setEnabled(true);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the loading phase needed by an action has completed.
+     * Details and Area only need the indexes of the dataset, since adjacency lookups fall back to the spatial index;
+     * Property Map, Suggestion and Extra work on the parsed geometries; Owner Graph needs the adjacency of all properties.
+     *
+     * @param action The name of the action.
+     * @return True if the action can be used, otherwise false.
+     */
+    private boolean isReady(String action) {
+        if ("Close".equals(action)) {
+            return true;
+        }
+        if (dataset == null || dataset.isEmpty()) {
+            return false;
+        }
+        switch (action) {
+            case "Property Map":
+            case "Suggestion":
+            case "Extra":
+                return geometriesReady;
+            case "Owner Graph":
+                return adjacencyReady;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Shows a loading error to the user; the buttons that need the missing data stay disabled.
+     * Called on the Event Dispatch Thread, which is the only place loading errors are shown.
+     *
+     * @param error The error of a loading phase.
+     */
+    private void reportLoadingError(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof UncheckedIOException) {
+            cause = cause.getCause();
+        }
+        System.err.println("Error loading properties: " + cause);
+        setStatus("Loading failed");
+        if (cause instanceof IllegalArgumentException && !(cause instanceof NumberFormatException)) {
+            JOptionPane.showMessageDialog(frame, "The file format is not compatible. Missing required columns.", "File Format Error", JOptionPane.ERROR_MESSAGE);
+        } else {
+            JOptionPane.showMessageDialog(frame, "Error loading properties: " + cause.getMessage(), "Loading Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Shows the progress of the loading below the buttons.
+     *
+     * @param status The text to show.
+     */
+    private void setStatus(String status) {
+        if (statusLabel != null) {
+            statusLabel.setText(status);
+        }
     }
 
     /**
@@ -92,15 +239,30 @@ public class MadeiraMapGUI {
 
         // Define button labels for various actions
         String[] buttonLabels = {"Details", "Property Map", "Area", "Owner Graph", "Suggestion", "Extra", "Close"};
+        buttons.clear();
         for (int i = 0; i < buttonLabels.length; i++) {
             // Create and add each button to the panel
             JButton button = createButton(buttonLabels[i], startX, startY + (buttonHeight + spacing) * i, buttonWidth, buttonHeight);
+            buttons.put(buttonLabels[i], button);
             panel.add(button);
         }
+
+        // Add the loading status below the buttons
+        String status = statusLabel != null ? statusLabel.getText() : "Loading...";
+        statusLabel = new JLabel(status, SwingConstants.CENTER);
+        statusLabel.setBounds(startX - buttonWidth / 2, startY + (buttonHeight + spacing) * buttonLabels.length, buttonWidth * 2, buttonHeight / 2);
+        statusLabel.setFont(new Font("Arial", Font.PLAIN, 12));
+        statusLabel.setBackground(new Color(211, 211, 211));
+        statusLabel.setOpaque(true);
+        panel.add(statusLabel);
+
+        // Enable the buttons whose data is already loaded
+        updateButtons();
     }
 
     /**
-     * Creates a new JButton with consistent styling and an associated action handler.
+     * Creates a new JButton with consistent styling.
+     * The button starts disabled; its action handler is attached once the data of the action is loaded.
      *
      * @param text   The text displayed on the button.
      * @param x      The x-coordinate of the button's position.
@@ -118,8 +280,7 @@ public class MadeiraMapGUI {
         button.setContentAreaFilled(true);
         button.setBorderPainted(false);
         button.setFocusable(false);
-        // Attach action listener using ButtonHandlerFactory
-        button.addActionListener(ButtonHandlerFactory.createHandler(text, null, properties, frame));
+        button.setEnabled(false);
         return button;
     }
 
@@ -0,0 +1,223 @@
+package com.example;
+
+import java.io.CharArrayReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import com.example.utils.PropertyDictionaries;
+
+/**
+ * High-throughput reader for property CSV files.
+ * The file is memory-mapped and split into chunks on record boundaries, taking quoted fields into account
+ * so that multi-line geometries are never cut. The chunks are then parsed in parallel with the same
+ * CSV configuration and character set as {@link CsvToPropertyReader}, and the properties are returned in file order,
+ * encoded with the {@link PropertyDictionaries} of the file. Quotes and newlines are single bytes in
+ * {@link CsvToPropertyReader#CSV_CHARSET}, so splitting the raw bytes never cuts a character.
+ */
+public class ParallelCsvPropertyReader {
+
+    private static final long DEFAULT_CHUNK_SIZE = 8L << 20;  // 8 MB
+    private static final long SCAN_WINDOW_SIZE = 256L << 20;  // 256 MB
+
+    private final int parallelism;
+    private final long chunkSize;
+
+    /**
+     * Creates a reader that uses one thread per available processor.
+     */
+    public ParallelCsvPropertyReader() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a reader with the given parallelism and chunk size.
+     *
+     * @param parallelism The number of threads used to parse the chunks.
+     * @param chunkSize   The approximate size of each chunk in bytes.
+     * @throws IllegalArgumentException If the parallelism or the chunk size is less than 1.
+     */
+    public ParallelCsvPropertyReader(int parallelism, long chunkSize) {
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Parallelism and chunk size must be at least 1");
+        }
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads a CSV file and converts its records into a list of {@link Property} objects.
+     *
+     * @param csvFile The CSV file to read.
+     * @return The properties of the file, in file order.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If the file is missing required columns.
+     */
+    public List<Property> read(File csvFile) throws IOException {
+        // Same character set as the sequential reader
+        Charset charset = CsvToPropertyReader.CSV_CHARSET;
+
+        try (FileChannel channel = FileChannel.open(csvFile.toPath(), StandardOpenOption.READ)) {
+            List<long[]> ranges = splitRecords(channel);
+            if (ranges.isEmpty()) {
+                throw new IllegalArgumentException("Missing required columns in " + csvFile);
+            }
+
+            // The first range holds the header record
+            long[] headerRange = ranges.remove(0);
+            List<String> headerNames;
+            try (CSVParser headerParser = new CSVParser(decode(channel, headerRange, charset), CsvToPropertyReader.CSV_FORMAT)) {
+                if (!CsvToPropertyReader.hasRequiredColumns(headerParser.getHeaderMap().keySet())) {
+                    throw new IllegalArgumentException("Missing required columns in " + csvFile);
+                }
+                headerNames = headerParser.getHeaderNames();
+            }
+
+            // Chunks have no header row of their own, so the header is given explicitly
+            CSVFormat chunkFormat = CsvToPropertyReader.CSV_FORMAT.builder()
+                    .setHeader(headerNames.toArray(new String[0]))
+                    .setSkipHeaderRecord(false)
+                    .build();
+
+            // Encode the owners and locations in a single pass, so the parsing threads share no dictionary
+            List<Property> properties = parseChunks(channel, ranges, charset, chunkFormat);
+            PropertyDictionaries.encodeAll(properties);
+            return properties;
+        }
+    }
+
+    /**
+     * Parses the chunks of the file in parallel.
+     *
+     * @param channel     The channel of the CSV file.
+     * @param ranges      The byte ranges of the chunks, in file order.
+     * @param charset     The character set of the file.
+     * @param chunkFormat The CSV format used for each chunk.
+     * @return The properties of all chunks, in file order.
+     * @throws IOException If a chunk cannot be read.
+     */
+    private List<Property> parseChunks(FileChannel channel, List<long[]> ranges, Charset charset, CSVFormat chunkFormat) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Future<List<Property>>> results = new ArrayList<>();
+            for (long[] range : ranges) {
+                results.add(pool.submit(() -> parseChunk(channel, range, charset, chunkFormat)));
+            }
+
+            // Concatenate the chunks in file order
+            List<Property> properties = new ArrayList<>();
+            for (Future<List<Property>> result : results) {
+                properties.addAll(result.get());
+            }
+            return properties;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading CSV file", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException("Error parsing CSV file", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Parses a single chunk of the file.
+     *
+     * @param channel     The channel of the CSV file.
+     * @param range       The byte range of the chunk.
+     * @param charset     The character set of the file.
+     * @param chunkFormat The CSV format used for the chunk.
+     * @return The properties of the chunk.
+     */
+    private static List<Property> parseChunk(FileChannel channel, long[] range, Charset charset, CSVFormat chunkFormat) {
+        List<Property> properties = new ArrayList<>();
+        try (CSVParser csvParser = new CSVParser(decode(channel, range, charset), chunkFormat)) {
+            for (CSVRecord record : csvParser) {
+                if (CsvToPropertyReader.hasObjectId(record)) {
+                    properties.add(CsvToPropertyReader.toProperty(record));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return properties;
+    }
+
+    /**
+     * Splits the file into byte ranges that end on record boundaries.
+     * The first range holds the header record; the others hold roughly {@code chunkSize} bytes of records.
+     * Newlines inside quoted fields are not record boundaries; escaped quotes ("") toggle the quote state twice
+     * and therefore leave it unchanged.
+     *
+     * @param channel The channel of the CSV file.
+     * @return The byte ranges as {start, end} pairs, in file order.
+     * @throws IOException If the file cannot be mapped.
+     */
+    private List<long[]> splitRecords(FileChannel channel) throws IOException {
+        List<long[]> ranges = new ArrayList<>();
+        long size = channel.size();
+        long chunkStart = 0;
+        boolean headerFound = false;
+        boolean quoted = false;
+
+        for (long windowStart = 0; windowStart < size; windowStart += SCAN_WINDOW_SIZE) {
+            int windowSize = (int) Math.min(SCAN_WINDOW_SIZE, size - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+            for (int i = 0; i < windowSize; i++) {
+                byte b = window.get(i);
+                if (b == '"') {
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted) {
+                    long recordEnd = windowStart + i + 1;
+                    if (!headerFound || recordEnd - chunkStart >= chunkSize) {
+                        ranges.add(new long[]{chunkStart, recordEnd});
+                        chunkStart = recordEnd;
+                        headerFound = true;
+                    }
+                }
+            }
+        }
+
+        if (chunkStart < size) {
+            ranges.add(new long[]{chunkStart, size});
+        }
+        return ranges;
+    }
+
+    /**
+     * Maps and decodes a byte range of the file.
+     *
+     * @param channel The channel of the CSV file.
+     * @param range   The byte range to decode.
+     * @param charset The character set of the file.
+     * @return A reader over the decoded characters.
+     * @throws IOException If the range cannot be mapped.
+     */
+    private static Reader decode(FileChannel channel, long[] range, Charset charset) throws IOException {
+        MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, range[0], range[1] - range[0]);
+        CharBuffer chars = charset.decode(bytes);
+        if (chars.hasArray()) {
+            return new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining());
+        }
+        return new StringReader(chars.toString());
+    }
+}
@@ -1,8 +1,13 @@
 package com.example;
 
+import com.example.utils.PropertyDictionaries;
+
 /**
  * Represents a property with various attributes such as object ID, parcel details,
  * geometry, owner information, and location details (freguesia, municipio, ilha).
+ * Once a property is encoded with the {@link PropertyDictionaries} of its dataset, the owner and location
+ * strings are interned and dictionary-encoded into case-insensitive codes, so the properties of a dataset
+ * share a single copy of each value and can be filtered by comparing integers.
  */
 public class Property {
     // Private fields to store property details
@@ -17,6 +22,13 @@ public class Property {
     private String municipio;    // Municipality where the property is located
     private String ilha;         // Island where the property is located
 
+    // Dictionaries of the dataset and the codes of the owner and location fields; -1 until encoded
+    private PropertyDictionaries dictionaries;
+    private int ownerCode = -1;
+    private int freguesiaCode = -1;
+    private int municipioCode = -1;
+    private int ilhaCode = -1;
+
     /**
      * Constructs a Property object with all the required attributes.
      *
@@ -171,6 +183,9 @@ public class Property {
      */
     public void setOwner(String owner) {
         this.owner = owner;
+        if (dictionaries != null) {
+            encodeOwner();
+        }
     }
 
     /**
@@ -189,6 +204,9 @@ public class Property {
      */
     public void setFreguesia(String freguesia) {
         this.freguesia = freguesia;
+        if (dictionaries != null) {
+            encodeFreguesia();
+        }
     }
 
     /**
@@ -207,6 +225,9 @@ public class Property {
      */
     public void setMunicipio(String municipio) {
         this.municipio = municipio;
+        if (dictionaries != null) {
+            encodeMunicipio();
+        }
     }
 
     /**
@@ -225,6 +246,70 @@ public class Property {
      */
     public void setIlha(String ilha) {
         this.ilha = ilha;
+        if (dictionaries != null) {
+            encodeIlha();
+        }
+    }
+
+    /**
+     * Gets the case-insensitive dictionary code of the owner.
+     * Two properties encoded by the same dictionaries have the same owner code if their owners are equal ignoring case.
+     *
+     * @return The owner code, or -1 if the property has not been encoded yet.
+     */
+    public int getOwnerCode() {
+        return ownerCode;
+    }
+
+    /**
+     * Gets the case-insensitive dictionary code of the freguesia.
+     *
+     * @return The freguesia code, or -1 if the property has not been encoded yet.
+     */
+    public int getFreguesiaCode() {
+        return freguesiaCode;
+    }
+
+    /**
+     * Gets the case-insensitive dictionary code of the municipality.
+     *
+     * @return The municipality code, or -1 if the property has not been encoded yet.
+     */
+    public int getMunicipioCode() {
+        return municipioCode;
+    }
+
+    /**
+     * Gets the case-insensitive dictionary code of the island.
+     *
+     * @return The island code, or -1 if the property has not been encoded yet.
+     */
+    public int getIlhaCode() {
+        return ilhaCode;
+    }
+
+    /**
+     * Gets the dictionaries that encoded the property.
+     *
+     * @return The dictionaries of the dataset of the property, or null if it has not been encoded yet.
+     */
+    public PropertyDictionaries getDictionaries() {
+        return dictionaries;
+    }
+
+    /**
+     * Encodes the owner and location fields with the dictionaries of a dataset.
+     * Usually called through {@link PropertyDictionaries#encodeAll(java.util.List)} once the dataset is parsed;
+     * afterwards the setters keep the codes up to date.
+     *
+     * @param dictionaries The dictionaries of the dataset.
+     */
+    public void encode(PropertyDictionaries dictionaries) {
+        this.dictionaries = dictionaries;
+        encodeOwner();
+        encodeFreguesia();
+        encodeMunicipio();
+        encodeIlha();
     }
 
     /**
@@ -247,4 +332,26 @@ public class Property {
                 ", ilha='" + ilha + '\'' +
                 '}';
     }
+
+    // Helper methods
+
+    private void encodeOwner() {
+        owner = dictionaries.getOwners().intern(owner);
+        ownerCode = dictionaries.getOwners().encode(owner);
+    }
+
+    private void encodeFreguesia() {
+        freguesia = dictionaries.getFreguesias().intern(freguesia);
+        freguesiaCode = dictionaries.getFreguesias().encode(freguesia);
+    }
+
+    private void encodeMunicipio() {
+        municipio = dictionaries.getMunicipios().intern(municipio);
+        municipioCode = dictionaries.getMunicipios().encode(municipio);
+    }
+
+    private void encodeIlha() {
+        ilha = dictionaries.getIlhas().intern(ilha);
+        ilhaCode = dictionaries.getIlhas().encode(ilha);
+    }
 }
@@ -2,6 +2,9 @@ package com.example;
 
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.jfree.chart.ChartFactory;
@@ -16,8 +19,10 @@ import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
-import org.locationtech.jts.geom.GeometryFactory;
-import org.locationtech.jts.io.WKTReader;
+
+import com.example.utils.PropertyGeometryCache;
+import com.example.utils.PropertyIdIndex;
+import com.example.utils.PropertyManager;
 
 /**
  * Class for visualizing property geometries on XY charts.
@@ -70,12 +75,11 @@ public class PropertyGeometryPlotter extends ApplicationFrame {
      * Adds a property's geometry to the dataset for plotting.
      *
      * @param dataset  The dataset to add the geometry to.
-     * @param reader   The WKTReader instance for reading geometry.
      * @param property The property whose geometry is being added.
      * @throws Exception If the geometry cannot be parsed.
      */
-    private void addPropertyGeometryToDataset(XYSeriesCollection dataset, WKTReader reader, Property property) throws Exception {
-        Geometry geometry = reader.read(property.getGeometry());
+    private void addPropertyGeometryToDataset(XYSeriesCollection dataset, Property property) throws Exception {
+        Geometry geometry = PropertyGeometryCache.getGeometry(property);
         XYSeries series = new XYSeries("Property " + property.getObjectId(), false, true);
 
         // Handle MultiPolygon geometries
@@ -106,16 +110,45 @@ public class PropertyGeometryPlotter extends ApplicationFrame {
      * @param objectId2  The second Object ID to plot.
      */
     public void plotProperties(List<Property> properties, String objectId1, String objectId2) {
-        GeometryFactory geometryFactory = new GeometryFactory();
-        WKTReader reader = new WKTReader(geometryFactory);
+        // Filter the properties by Object ID
+        List<Property> selectedProperties = new ArrayList<>();
+        for (Property property : properties) {
+            if (property.getObjectId().equals(objectId1) || property.getObjectId().equals(objectId2)) {
+                selectedProperties.add(property);
+            }
+        }
+        plotSelectedProperties(selectedProperties);
+    }
+
+    /**
+     * Plots the properties of a primary-key index with the given Object IDs on a chart.
+     * Each property is looked up directly instead of scanning the list of properties.
+     *
+     * @param idIndex   The properties indexed by Object ID.
+     * @param objectId1 The first Object ID to plot.
+     * @param objectId2 The second Object ID to plot.
+     */
+    public void plotProperties(PropertyIdIndex idIndex, int objectId1, int objectId2) {
+        List<Property> selectedProperties = new ArrayList<>();
+        addIfPresent(selectedProperties, idIndex.get(objectId1));
+        if (objectId2 != objectId1) {
+            addIfPresent(selectedProperties, idIndex.get(objectId2));
+        }
+        plotSelectedProperties(selectedProperties);
+    }
+
+    /**
+     * Plots a list of already selected properties on a chart.
+     *
+     * @param selectedProperties The properties to plot.
+     */
+    private void plotSelectedProperties(List<Property> selectedProperties) {
         XYSeriesCollection dataset = new XYSeriesCollection();
 
         try {
-            // Filter and add geometries to the dataset
-            for (Property property : properties) {
-                if (property.getObjectId().equals(objectId1) || property.getObjectId().equals(objectId2)) {
-                    addPropertyGeometryToDataset(dataset, reader, property);
-                }
+            // Add geometries to the dataset
+            for (Property property : selectedProperties) {
+                addPropertyGeometryToDataset(dataset, property);
             }
         } catch (Exception e) {
             System.err.println("Error reading geometry: " + e.getMessage());
@@ -137,6 +170,12 @@ public class PropertyGeometryPlotter extends ApplicationFrame {
         configureAndDisplayChart(chart, "Property Geometries");
     }
 
+    private static void addIfPresent(List<Property> selectedProperties, Property property) {
+        if (property != null) {
+            selectedProperties.add(property);
+        }
+    }
+
     /**
      * Draws properties from a specific area (freguesia) based on two Object IDs.
      *
@@ -150,6 +189,27 @@ public class PropertyGeometryPlotter extends ApplicationFrame {
         plotProperties(filteredProperties, String.valueOf(objectId1), String.valueOf(objectId2));
     }
 
+    /**
+     * Draws properties from a specific area (freguesia) based on two Object IDs,
+     * looking them up in the primary-key index of a property manager.
+     *
+     * @param propertyManager The manager of the properties.
+     * @param freguesia       The name of the area.
+     * @param objectId1       First Object ID.
+     * @param objectId2       Second Object ID.
+     */
+    public void drawProperties(PropertyManager propertyManager, String freguesia, int objectId1, int objectId2) {
+        // Keep only the properties that belong to the freguesia, as the list-based variant does
+        int freguesiaCode = propertyManager.getDictionaries().freguesiaCodeOf(freguesia);
+        List<Property> selectedProperties = new ArrayList<>();
+        for (Property property : new Property[]{propertyManager.getPropertyById(objectId1), propertyManager.getPropertyById(objectId2)}) {
+            if (property != null && property.getFreguesiaCode() == freguesiaCode && !selectedProperties.contains(property)) {
+                selectedProperties.add(property);
+            }
+        }
+        plotSelectedProperties(selectedProperties);
+    }
+
     /**
      * Draws a single property on the chart.
      *
@@ -163,38 +223,28 @@ public class PropertyGeometryPlotter extends ApplicationFrame {
     }
 
     /**
-     * Draws all properties on the chart.
+     * Draws all properties on an interactive map.
+     * Unlike the charts of the other methods, the map is painted by {@link PropertyMapPanel} from cached tiles
+     * with simplified geometries, so it stays responsive with all properties of the island.
      *
      * @param properties List of properties.
      */
     public void drawAllProperties(List<Property> properties) {
-        GeometryFactory geometryFactory = new GeometryFactory();
-        WKTReader reader = new WKTReader(geometryFactory);
-        XYSeriesCollection dataset = new XYSeriesCollection();
+        PropertyMapPanel mapPanel = new PropertyMapPanel(properties);
+        setContentPane(mapPanel);
 
-        try {
-            // Add all geometries to the dataset
-            for (Property property : properties) {
-                addPropertyGeometryToDataset(dataset, reader, property);
+        // Stop rendering tiles when the window is closed
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                mapPanel.dispose();
             }
-        } catch (Exception e) {
-            System.err.println("Error reading geometry: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        // Create and display the chart
-        JFreeChart chart = ChartFactory.createXYLineChart(
-                "All Property Geometries",
-                "X Coordinate",
-                "Y Coordinate",
-                dataset,
-                PlotOrientation.VERTICAL,
-                false,
-                true,
-                false
-        );
+        });
 
-        configureAndDisplayChart(chart, "All Property Geometries");
+        // Display the map
+        pack();
+        UIUtils.centerFrameOnScreen(this); // Center the frame on the screen
+        setVisible(true);
     }
 
     /**
@@ -1,15 +1,19 @@
 package com.example;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 
 import javax.swing.JFrame;
 
 import org.jgrapht.Graph;
-import org.jgrapht.graph.DefaultEdge;
-import org.jgrapht.graph.SimpleGraph;
+import org.jgrapht.graph.DefaultWeightedEdge;
 
-import com.example.utils.PropertyAdjacencyUtils;
+import com.example.utils.OwnerGraphBuilder;
+import com.example.utils.PropertyAdjacencyGraph;
+import com.example.utils.PropertyDataset;
 import com.example.utils.PropertyGeometryUtils;
 import com.mxgraph.layout.mxOrganicLayout;
 import com.mxgraph.swing.mxGraphComponent;
@@ -22,6 +26,20 @@ import com.mxgraph.view.mxGraph;
  * and visualizes the relationships between properties using JGraphX.
  */
 public class PropertyGraph {
+
+    /**
+     * Largest owner graph that gets the organic layout; it compares every pair of owners in each iteration,
+     * so larger graphs are placed on a grid instead.
+     */
+    public static final int ORGANIC_LAYOUT_MAX_OWNERS = 500;
+
+    // The layout runs in rounds of this many iterations, so it can be cancelled between rounds
+    private static final int LAYOUT_ROUNDS = 10;
+    private static final int LAYOUT_ROUND_ITERATIONS = 20;
+
+    // Distance between the cells of the grid layout
+    private static final int GRID_SPACING = 80;
+
     /**
      * Exercise_2 - Loads properties, creates a graph, and visualizes it.
      *
@@ -29,75 +47,75 @@ public class PropertyGraph {
      */
     public static void Exercise_2(String targetObjectId) {
         // Load properties from CSV file
-        /* 
-        List<Property> properties = CsvToPropertyReader.Exercise_1();
-        if (properties.size() > 120) {
-            properties = properties.subList(0, 120); // Limit the number of properties to 120
-        }
-        */
-        List<Property> properties2 = CsvToPropertyReader.Exercise_1();
-        String defaultFreguesia = "Arco da Calheta";
-        List<Property> properties = CsvToPropertyReader.filterPropertiesByFreguesia(properties2, defaultFreguesia);
+        Exercise_2(PropertyDataset.load(), targetObjectId);
+    }
 
-        // Create a graph with properties as vertices and adjacency relations as edges
-        Graph<Property, DefaultEdge> propertyGraph = new SimpleGraph<>(DefaultEdge.class);
+    /**
+     * Exercise_2 - Creates the graph of the default freguesia of a loaded dataset and visualizes it.
+     *
+     * @param dataset        The properties of the session.
+     * @param targetObjectId The object ID to be centered in the visualization, if present.
+     */
+    public static void Exercise_2(PropertyDataset dataset, String targetObjectId) {
+        String defaultFreguesia = "Arco da Calheta";
+        PropertyAdjacencyGraph adjacencyGraph = buildPropertyGraph(dataset, defaultFreguesia);
 
-        // Add all properties as vertices in the graph
-        for (Property property : properties) {
-            propertyGraph.addVertex(property);
-        }
+        // Visualize the graph using JGraphX
+        visualizeGraph(adjacencyGraph.asGraph(), targetObjectId);
+    }
 
-        // Add edges between adjacent properties
-        for (Property property1 : properties) {
-            for (Property property2 : properties) {
-                if (!property1.equals(property2) && PropertyAdjacencyUtils.areAdjacent(property1, property2)) {
-                    propertyGraph.addEdge(property1, property2);
-                }
-            }
-        }
+    /**
+     * Creates the adjacency graph of the properties of a freguesia, without displaying it.
+     * Uses the precomputed adjacency of the dataset when available, so it may take a while the first time.
+     *
+     * @param dataset   The properties of the session.
+     * @param freguesia The freguesia whose properties become the vertices.
+     * @return The adjacency graph of the properties in the freguesia.
+     * @throws IllegalArgumentException If no properties are found for the freguesia.
+     */
+    public static PropertyAdjacencyGraph buildPropertyGraph(PropertyDataset dataset, String freguesia) {
+        List<Property> properties = dataset.getPropertyManager().filterProperties("freguesia", freguesia);
 
-        // Visualize the graph using JGraphX
-        visualizeGraph(propertyGraph, targetObjectId);
+        // Create a graph with properties as vertices and adjacency relations as edges
+        return dataset.buildAdjacencyGraph(properties);
     }
 
     /**
      * Exercise_5 - Loads properties, creates a graph of owners, and visualizes it.
      * This method represents the relationship between owners as a graph, where nodes represent owners
      * and edges represent adjacency relations between owners who have contiguous properties.
+     * The graph covers all the owners of the dataset; edges are weighted by the number of adjacent property pairs.
      */
     public static void Exercise_5() {
         // Load properties from CSV file
-        List<Property> properties = CsvToPropertyReader.Exercise_1();
-        if (properties.size() > 120) {
-            properties = properties.subList(0, 120); // Limit the number of properties to 120
-        }
+        Exercise_5(PropertyDataset.load());
+    }
 
+    /**
+     * Exercise_5 - Creates the graph of all the owners of a loaded dataset and visualizes it.
+     *
+     * @param dataset The properties of the session.
+     */
+    public static void Exercise_5(PropertyDataset dataset) {
         // Create a graph with owners as vertices and adjacency relations as edges
-        Graph<String, DefaultEdge> ownerGraph = new SimpleGraph<>(DefaultEdge.class);
-
-        // Iterate over properties to add owners as nodes and establish edges based on adjacency
-        for (int i = 0; i < properties.size(); i++) {
-            Property property1 = properties.get(i);
-            ownerGraph.addVertex(property1.getOwner());
-
-            for (int j = i + 1; j < properties.size(); j++) {
-                Property property2 = properties.get(j);
-                ownerGraph.addVertex(property2.getOwner());
-
-                // Check if the properties are adjacent
-                if (PropertyAdjacencyUtils.areAdjacent(property1, property2)) {
-                    // If the owners are different, add an edge between them
-                    if (!property1.getOwner().equalsIgnoreCase(property2.getOwner())) {
-                        ownerGraph.addEdge(property1.getOwner(), property2.getOwner());
-                    }
-                }
-            }
-        }
+        Graph<String, DefaultWeightedEdge> ownerGraph = buildOwnerGraph(dataset);
 
         // Visualize the owner graph using JGraphX
         visualizeOwnerGraph(ownerGraph);
     }
 
+    /**
+     * Creates the graph of all the owners of the dataset, without displaying it.
+     * Owners are connected when any of their properties are adjacent, across freguesias.
+     * The graph is built from the adjacency of the dataset, which is computed once and reused.
+     *
+     * @param dataset The properties of the session.
+     * @return The owner graph, with edges weighted by the number of adjacent property pairs.
+     */
+    public static Graph<String, DefaultWeightedEdge> buildOwnerGraph(PropertyDataset dataset) {
+        return OwnerGraphBuilder.buildOwnerGraph(dataset.getAdjacencyGraph(), OwnerGraphBuilder.EdgeWeight.TOUCHING_PAIRS);
+    }
+
     /**
      * Method to visualize the graph using JGraphX.
      * This method creates a visual representation of the property graph using JGraphX,
@@ -105,8 +123,9 @@ public class PropertyGraph {
      *
      * @param graph The graph to be visualized, with properties as vertices and edges representing adjacency.
      * @param targetObjectId The object ID to be centered in the visualization, if present.
+     * @param <E>            The edge type of the graph.
      */
-    public static void visualizeGraph(Graph<Property, DefaultEdge> graph, String targetObjectId) {
+    public static <E> void visualizeGraph(Graph<Property, E> graph, String targetObjectId) {
         mxGraph jGraph = new mxGraph();
         Object parent = jGraph.getDefaultParent();
     
@@ -149,7 +168,7 @@ public class PropertyGraph {
             }
     
             // Add edges to the JGraphX graph
-            for (DefaultEdge edge : graph.edgeSet()) {
+            for (E edge : graph.edgeSet()) {
                 Property source = graph.getEdgeSource(edge);
                 Property target = graph.getEdgeTarget(edge);
                 jGraph.insertEdge(parent, null, "", vertexMap.get(source), vertexMap.get(target));
@@ -184,11 +203,48 @@ public class PropertyGraph {
     /**
      * Method to visualize the owner graph using JGraphX.
      * This method creates a visual representation of the owner graph using JGraphX,
-     * applying an organic layout and displaying the graph in a JFrame.
+     * applying an organic layout (or a grid layout for large graphs) and displaying the graph in a JFrame.
      *
      * @param graph The graph representing the relationship between owners.
+     * @param <E>   The edge type of the graph.
+     */
+    public static <E> void visualizeOwnerGraph(Graph<String, E> graph) {
+        showGraph(layoutOwnerGraph(graph), "Owner Graph Visualization");
+    }
+
+    /**
+     * Converts the owner graph to JGraphX and applies an organic layout.
+     * No Swing component is created, so this can run on a background thread.
+     *
+     * @param graph The graph representing the relationship between owners.
+     * @param <E>   The edge type of the graph.
+     * @return The laid out JGraphX graph.
+     */
+    public static <E> mxGraph layoutOwnerGraph(Graph<String, E> graph) {
+        return layoutOwnerGraph(graph, () -> false);
+    }
+
+    /**
+     * Converts the owner graph to JGraphX and lays it out; the layout can be cancelled.
+     * Each iteration of the organic layout compares every pair of owners, so it is only applied to graphs with at most
+     * {@link #ORGANIC_LAYOUT_MAX_OWNERS} owners, in rounds that stop at the first round boundary after a cancellation.
+     * Larger graphs are placed on a grid, with the most connected owners first, so they can still be displayed.
+     *
+     * @param graph       The graph representing the relationship between owners.
+     * @param isCancelled Tells whether the layout should stop.
+     * @param <E>         The edge type of the graph.
+     * @return The laid out JGraphX graph, or null if the layout was cancelled.
      */
-    public static void visualizeOwnerGraph(Graph<String, DefaultEdge> graph) {
+    public static <E> mxGraph layoutOwnerGraph(Graph<String, E> graph, BooleanSupplier isCancelled) {
+        boolean organic = graph.vertexSet().size() <= ORGANIC_LAYOUT_MAX_OWNERS;
+
+        // Owners of large graphs are placed row by row, the most connected ones first
+        List<String> owners = new ArrayList<>(graph.vertexSet());
+        if (!organic) {
+            owners.sort(Comparator.comparingInt((String owner) -> graph.degreeOf(owner)).reversed());
+        }
+        int columns = (int) Math.ceil(Math.sqrt(owners.size()));
+
         mxGraph jGraph = new mxGraph();
         Object parent = jGraph.getDefaultParent();
 
@@ -198,14 +254,18 @@ public class PropertyGraph {
             HashMap<String, Object> vertexMap = new HashMap<>();
 
             // Add vertices to the JGraphX graph
-            for (String owner : graph.vertexSet()) {
-                String style = mxConstants.STYLE_SHAPE + "=" + mxConstants.SHAPE_ELLIPSE + ";" + mxConstants.STYLE_FILLCOLOR + "=#00BFFF;";
-                Object vertex = jGraph.insertVertex(parent, null, owner, Math.random() * 400, Math.random() * 400, 40, 40, style);
-                vertexMap.put(owner, vertex);
+            String style = mxConstants.STYLE_SHAPE + "=" + mxConstants.SHAPE_ELLIPSE + ";" + mxConstants.STYLE_FILLCOLOR + "=#00BFFF;";
+            for (int i = 0; i < owners.size(); i++) {
+                if (isCancelled.getAsBoolean()) {
+                    return null;
+                }
+                double x = organic ? Math.random() * 400 : (i % columns) * GRID_SPACING;
+                double y = organic ? Math.random() * 400 : (i / columns) * GRID_SPACING;
+                vertexMap.put(owners.get(i), jGraph.insertVertex(parent, null, owners.get(i), x, y, 40, 40, style));
             }
 
             // Add edges to the JGraphX graph
-            for (DefaultEdge edge : graph.edgeSet()) {
+            for (E edge : graph.edgeSet()) {
                 String source = graph.getEdgeSource(edge);
                 String target = graph.getEdgeTarget(edge);
                 jGraph.insertEdge(parent, null, "", vertexMap.get(source), vertexMap.get(target));
@@ -213,13 +273,31 @@ public class PropertyGraph {
         } finally {
             jGraph.getModel().endUpdate();
         }
+        if (!organic) {
+            return isCancelled.getAsBoolean() ? null : jGraph;
+        }
 
-        // Layout and display the graph in a JFrame
+        // Layout the graph in rounds, each continuing from the positions of the previous one
         mxOrganicLayout layout = new mxOrganicLayout(jGraph);
-        layout.execute(jGraph.getDefaultParent());
+        layout.setMaxIterations(LAYOUT_ROUND_ITERATIONS);
+        for (int round = 0; round < LAYOUT_ROUNDS; round++) {
+            if (isCancelled.getAsBoolean()) {
+                return null;
+            }
+            layout.execute(jGraph.getDefaultParent());
+        }
+        return jGraph;
+    }
 
+    /**
+     * Displays a JGraphX graph in a JFrame. Must be called on the Event Dispatch Thread.
+     *
+     * @param jGraph The graph to display.
+     * @param title  The title of the frame.
+     */
+    public static void showGraph(mxGraph jGraph, String title) {
         mxGraphComponent graphComponent = new mxGraphComponent(jGraph);
-        JFrame frame = new JFrame("Owner Graph Visualization");
+        JFrame frame = new JFrame(title);
         frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         frame.getContentPane().add(graphComponent);
         frame.pack();
@@ -0,0 +1,187 @@
+package com.example;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+import com.example.utils.PropertyMapRenderer;
+
+/**
+ * Interactive map of property geometries, painted from the tiles of a {@link PropertyMapRenderer}.
+ * Drag with the mouse to pan and use the mouse wheel to zoom around the cursor.
+ * Missing tiles are rendered on background threads; until they are ready, the matching part of a
+ * coarser cached tile is stretched in their place, so panning and zooming never wait for rendering.
+ */
+public class PropertyMapPanel extends JPanel {
+
+    private static final int TILE_SIZE = PropertyMapRenderer.TILE_SIZE;
+
+    private final PropertyMapRenderer renderer;
+    private final ExecutorService tileExecutor;
+    private final Set<Long> pendingTiles = new HashSet<>(); // Only accessed on the EDT
+
+    private volatile int level; // Current zoom level, also read by the tile renderers
+    private double viewX;       // Map pixel shown at the left edge of the panel
+    private double viewY;       // Map pixel shown at the top edge of the panel
+    private Point dragStart;
+
+    /**
+     * Creates a map of a list of properties, showing the whole map.
+     *
+     * @param properties The properties to draw.
+     */
+    public PropertyMapPanel(List<Property> properties) {
+        this.renderer = new PropertyMapRenderer(properties);
+        this.tileExecutor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), runnable -> {
+            Thread thread = new Thread(runnable, "map-tile-renderer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        setBackground(Color.white);
+        setPreferredSize(new Dimension(1000, 800));
+
+        // Center the whole map at level 0
+        viewX = (TILE_SIZE - 1000) / 2.0;
+        viewY = (TILE_SIZE - 800) / 2.0;
+
+        MouseAdapter mouseHandler = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragStart = e.getPoint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                // Pan by the distance the mouse moved
+                viewX -= e.getX() - dragStart.x;
+                viewY -= e.getY() - dragStart.y;
+                dragStart = e.getPoint();
+                repaint();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoom(e.getWheelRotation() < 0 ? 1 : -1, e.getX(), e.getY());
+            }
+        };
+        addMouseListener(mouseHandler);
+        addMouseMotionListener(mouseHandler);
+        addMouseWheelListener(mouseHandler);
+    }
+
+    /**
+     * Changes the zoom level, keeping the map point under the cursor in place.
+     *
+     * @param levels The number of levels to zoom in, or out if negative.
+     * @param x      The x-coordinate of the cursor in the panel.
+     * @param y      The y-coordinate of the cursor in the panel.
+     */
+    public void zoom(int levels, int x, int y) {
+        int newLevel = Math.max(0, Math.min(PropertyMapRenderer.MAX_LEVEL, level + levels));
+        if (newLevel == level) {
+            return;
+        }
+        double factor = Math.pow(2, newLevel - level);
+        viewX = (viewX + x) * factor - x;
+        viewY = (viewY + y) * factor - y;
+        level = newLevel;
+        repaint();
+    }
+
+    /**
+     * Gets the current zoom level.
+     *
+     * @return The zoom level, from 0 to {@link PropertyMapRenderer#MAX_LEVEL}.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Stops rendering tiles; called when the window of the map is closed.
+     */
+    public void dispose() {
+        tileExecutor.shutdownNow();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+
+        // Paint the visible tiles that exist at the current level
+        int tileCount = renderer.getMapSize(level) / TILE_SIZE;
+        int firstColumn = Math.max(0, (int) Math.floor(viewX / TILE_SIZE));
+        int firstRow = Math.max(0, (int) Math.floor(viewY / TILE_SIZE));
+        int lastColumn = Math.min(tileCount - 1, (int) Math.floor((viewX + getWidth()) / TILE_SIZE));
+        int lastRow = Math.min(tileCount - 1, (int) Math.floor((viewY + getHeight()) / TILE_SIZE));
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int x = (int) Math.round(column * TILE_SIZE - viewX);
+                int y = (int) Math.round(row * TILE_SIZE - viewY);
+                BufferedImage tile = renderer.getCachedTile(level, column, row);
+                if (tile != null) {
+                    g.drawImage(tile, x, y, null);
+                } else {
+                    paintCoarserTile(g, column, row, x, y);
+                    requestTile(level, column, row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stretches the matching part of the closest coarser cached tile over a missing tile.
+     */
+    private void paintCoarserTile(Graphics g, int column, int row, int x, int y) {
+        for (int coarserLevel = level - 1; coarserLevel >= 0; coarserLevel--) {
+            int shift = level - coarserLevel;
+            BufferedImage tile = renderer.getCachedTile(coarserLevel, column >> shift, row >> shift);
+            if (tile != null) {
+                // The missing tile covers 1 / 2^shift of the coarser tile in each direction
+                int size = TILE_SIZE >> shift;
+                if (size == 0) {
+                    return;
+                }
+                int sourceX = (column & ((1 << shift) - 1)) * size;
+                int sourceY = (row & ((1 << shift) - 1)) * size;
+                g.drawImage(tile, x, y, x + TILE_SIZE, y + TILE_SIZE, sourceX, sourceY, sourceX + size, sourceY + size, null);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Renders a tile in the background and repaints the panel when it is ready.
+     * Requests for a level that is no longer shown when their turn comes are dropped.
+     */
+    private void requestTile(int tileLevel, int column, int row) {
+        long key = ((long) tileLevel << 56) | ((long) column << 28) | row;
+        if (tileExecutor.isShutdown() || !pendingTiles.add(key)) {
+            return;
+        }
+        tileExecutor.execute(() -> {
+            if (tileLevel == level) {
+                renderer.getTile(tileLevel, column, row);
+            }
+            SwingUtilities.invokeLater(() -> {
+                pendingTiles.remove(key);
+                repaint();
+            });
+        });
+    }
+}
@@ -2,7 +2,11 @@ package com.example;
 
 import java.util.List;
 
+import com.example.utils.PropertyAdjacencyGraph;
+import com.example.utils.PropertyDataset;
+import com.example.utils.PropertySwapListener;
 import com.example.utils.PropertySwapManager;
+import com.example.utils.PropertySwapPlanner;
 import com.example.utils.PropertySwapSuggestionPrinter;
 
 /**
@@ -77,25 +81,118 @@ public class PropertySwapSuggestion {
      * @param freguesia The name of the freguesia to filter properties for generating swap suggestions.
      */
     public static void Exercise_6(String freguesia) {
+        Exercise_6(freguesia, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Exercise_6 - Generates and prints the best swap suggestions for properties in a specified freguesia.
+     * Only the top suggestions are kept, so large freguesias need neither the memory nor the sorting time
+     * of the full suggestion list. The averages before and after are computed for these suggestions only.
+     *
+     * @param freguesia The name of the freguesia to filter properties for generating swap suggestions.
+     * @param limit     The maximum number of suggestions, or {@link Integer#MAX_VALUE} for all of them.
+     */
+    public static void Exercise_6(String freguesia, int limit) {
         // Load all properties from the CSV
-        List<Property> properties = CsvToPropertyReader.Exercise_1();
+        Exercise_6(PropertyDataset.load(), freguesia, limit);
+    }
 
+    /**
+     * Exercise_6 - Generates and prints the best swap suggestions for properties of a loaded dataset in a specified freguesia.
+     *
+     * @param dataset   The properties of the session.
+     * @param freguesia The name of the freguesia to filter properties for generating swap suggestions.
+     * @param limit     The maximum number of suggestions, or {@link Integer#MAX_VALUE} for all of them.
+     */
+    public static void Exercise_6(PropertyDataset dataset, String freguesia, int limit) {
         // Default to "Arco da Calheta" if no freguesia is provided
         if (freguesia == null) {
             freguesia = "Arco da Calheta";
         }
 
         // Filter properties based on the specified freguesia
-        List<Property> filteredProperties = CsvToPropertyReader.filterPropertiesByFreguesia(properties, freguesia);
+        List<Property> filteredProperties = dataset.getPropertyManager().filterProperties("freguesia", freguesia);
+
+        suggestAndPrint(dataset.buildAdjacencyGraph(filteredProperties), limit);
+    }
 
-        // Generate swap suggestions for the filtered properties
-        List<PropertySwapSuggestion> suggestions = PropertySwapManager.generateSwapSuggestions(filteredProperties);
+    /**
+     * Generates and prints swap suggestions for all properties in a specified municipio.
+     * The method also displays average property area per owner before and after the swaps.
+     *
+     * @param municipio The name of the municipio to filter properties for generating swap suggestions.
+     * @param limit     The maximum number of suggestions, or {@link Integer#MAX_VALUE} for all of them.
+     * @throws IllegalArgumentException If no properties are found for the municipio.
+     */
+    public static void suggestSwapsForMunicipio(String municipio, int limit) {
+        // Load all properties from the CSV
+        suggestSwapsForMunicipio(PropertyDataset.load(), municipio, limit);
+    }
 
-        // Print the swap suggestions
-        PropertySwapSuggestionPrinter.printSuggestions(suggestions);
+    /**
+     * Generates and prints swap suggestions for all properties of a loaded dataset in a specified municipio.
+     *
+     * @param dataset   The properties of the session.
+     * @param municipio The name of the municipio to filter properties for generating swap suggestions.
+     * @param limit     The maximum number of suggestions, or {@link Integer#MAX_VALUE} for all of them.
+     * @throws IllegalArgumentException If no properties are found for the municipio.
+     */
+    public static void suggestSwapsForMunicipio(PropertyDataset dataset, String municipio, int limit) {
+        // Filter properties based on the specified municipio
+        List<Property> filteredProperties = dataset.getPropertyManager().filterProperties("municipio", municipio);
+
+        suggestAndPrint(dataset.buildAdjacencyGraph(filteredProperties), limit);
+    }
+
+    /**
+     * Generates swap suggestions for some properties and prints them together with
+     * the conflict-free plan chosen from them and the average area per owner before and after the planned swaps.
+     *
+     * @param adjacencyGraph The adjacency graph of the properties to generate swap suggestions for.
+     * @param limit          The maximum number of suggestions, or {@link Integer#MAX_VALUE} for all of them.
+     */
+    private static void suggestAndPrint(PropertyAdjacencyGraph adjacencyGraph, int limit) {
+        suggestSwaps(adjacencyGraph, limit, new PropertySwapSuggestionPrinter());
+    }
+
+    /**
+     * Generates swap suggestions for a list of properties and plans the swaps to apply,
+     * publishing the suggestions to a listener as they are found and then the plan.
+     * The plan uses every property at most once; it is not made if the listener cancels the run.
+     *
+     * @param filteredProperties The properties to generate swap suggestions for.
+     * @param limit              The maximum number of suggestions, or {@link Integer#MAX_VALUE} for all of them.
+     * @param listener           Receives the suggestions, the progress and the plan.
+     * @return The planned swaps, or null if the run was cancelled.
+     */
+    public static PropertySwapPlanner.SwapPlan suggestSwaps(List<Property> filteredProperties, int limit, PropertySwapListener listener) {
+        return suggestSwaps(PropertyAdjacencyGraph.build(filteredProperties), limit, listener);
+    }
+
+    /**
+     * Generates swap suggestions for the properties of an adjacency graph and plans the swaps to apply,
+     * publishing the suggestions to a listener as they are found and then the plan.
+     * The adjacency is taken from the graph, e.g. from {@link PropertyDataset#buildAdjacencyGraph(List)}.
+     *
+     * @param adjacencyGraph The adjacency graph of the properties to generate swap suggestions for.
+     * @param limit          The maximum number of suggestions, or {@link Integer#MAX_VALUE} for all of them.
+     * @param listener       Receives the suggestions, the progress and the plan.
+     * @return The planned swaps, or null if the run was cancelled.
+     */
+    public static PropertySwapPlanner.SwapPlan suggestSwaps(PropertyAdjacencyGraph adjacencyGraph, int limit, PropertySwapListener listener) {
+        List<Property> filteredProperties = adjacencyGraph.getProperties();
+
+        // Generate swap suggestions for the filtered properties, keeping only the best ones if a limit is given
+        List<PropertySwapSuggestion> suggestions = PropertySwapManager.publishSwapSuggestions(
+                adjacencyGraph, limit, PropertySwapManager.DEFAULT_MINIMUM_POTENTIAL, listener);
+        if (listener.isCancelled()) {
+            return null;
+        }
 
-        // Print the average area per owner before and after applying the swaps
-        PropertySwapSuggestionPrinter.printAverageAreaBeforeAndAfterSwap(filteredProperties, suggestions);
+        // Choose the swaps to apply, using every property at most once
+        PropertySwapPlanner.SwapPlan plan = PropertySwapPlanner.plan(filteredProperties, suggestions);
+        listener.onPlan(filteredProperties, plan);
+        return plan;
     }
 
     /**
@@ -0,0 +1,412 @@
+package com.example;
+
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.utils.PropertyDictionaries;
+
+/**
+ * Columnar, primitive-typed store of property data.
+ * Each attribute is kept in its own array: areas and lengths as {@code double[]},
+ * OBJECTIDs as {@code int[]}, and owners and locations as the case-insensitive {@code int[]} codes
+ * of the {@link PropertyDictionaries} of the dataset, so the table groups and filters exactly like the properties.
+ * Aggregations run as loops over these arrays, without boxing or parsing strings.
+ * Only the geometry, PAR_ID and PAR_NUM are kept as text; the other fields are rebuilt from the numeric columns
+ * and the dictionaries when a row is read, so the table does not hold a second copy of every field.
+ */
+public class PropertyTable {
+
+    private final int size;
+    private final int[] objectIds;
+    private final String[] parIds;
+    private final String[] parNums;
+    private final double[] shapeLengths; // NaN for invalid values
+    private final double[] shapeAreas;   // NaN for invalid values
+    private final String[] geometries;
+    private final int[] owners;
+    private final int[] freguesias;
+    private final int[] municipios;
+    private final int[] ilhas;
+
+    private final PropertyDictionaries dictionaries;
+
+    private PropertyTable(Builder builder) {
+        size = builder.size;
+        objectIds = Arrays.copyOf(builder.objectIds, size);
+        parIds = Arrays.copyOf(builder.parIds, size);
+        parNums = Arrays.copyOf(builder.parNums, size);
+        shapeLengths = Arrays.copyOf(builder.shapeLengths, size);
+        shapeAreas = Arrays.copyOf(builder.shapeAreas, size);
+        geometries = Arrays.copyOf(builder.geometries, size);
+        owners = Arrays.copyOf(builder.owners, size);
+        freguesias = Arrays.copyOf(builder.freguesias, size);
+        municipios = Arrays.copyOf(builder.municipios, size);
+        ilhas = Arrays.copyOf(builder.ilhas, size);
+        dictionaries = builder.dictionaries != null ? builder.dictionaries : new PropertyDictionaries();
+    }
+
+    /**
+     * Builds a table from a list of properties.
+     *
+     * Properties that have not been encoded yet are encoded with the dictionaries of the others.
+     *
+     * @param properties The list of properties.
+     * @return The table holding the data of the properties, in list order.
+     * @throws NumberFormatException    If an OBJECTID is not an integer.
+     * @throws IllegalArgumentException If the properties were encoded by different datasets.
+     */
+    public static PropertyTable fromProperties(List<Property> properties) {
+        PropertyDictionaries.encodeAll(properties);
+        Builder builder = new Builder();
+        for (Property property : properties) {
+            builder.add(property);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds a table directly from the selected CSV file.
+     * The properties are streamed into the table, so no list of {@link Property} objects is kept in memory.
+     *
+     * @return The table holding the data of the CSV file, in file order.
+     * @throws NumberFormatException If an OBJECTID is not an integer.
+     */
+    public static PropertyTable fromCsv() {
+        Builder builder = new Builder();
+        CsvToPropertyReader.forEachProperty(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Gets the number of rows in the table.
+     *
+     * @return The number of properties.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Creates a {@link Property} holding the data of a row.
+     * Numbers are written back in Java's decimal form and invalid ones as an empty string,
+     * owners and locations take the first spelling in the dataset, and the property is encoded
+     * with the dictionaries of the table, so it groups and filters like the property the row was built from.
+     *
+     * @param row The row index.
+     * @return A new Property holding the data of the row.
+     */
+    public Property getProperty(int row) {
+        Property property = new Property(
+                String.valueOf(objectIds[row]),
+                parIds[row],
+                parNums[row],
+                formatNumber(shapeLengths[row]),
+                formatNumber(shapeAreas[row]),
+                geometries[row],
+                getOwner(row),
+                getFreguesia(row),
+                getMunicipio(row),
+                getIlha(row)
+        );
+        property.encode(dictionaries);
+        return property;
+    }
+
+    /**
+     * Gets the owner and location dictionaries whose codes the table holds.
+     *
+     * @return The dictionaries of the dataset of the table.
+     */
+    public PropertyDictionaries getDictionaries() {
+        return dictionaries;
+    }
+
+    /**
+     * Gets the OBJECTID of a row.
+     *
+     * @param row The row index.
+     * @return The OBJECTID.
+     */
+    public int getObjectId(int row) {
+        return objectIds[row];
+    }
+
+    /**
+     * Gets the area of a row.
+     *
+     * @param row The row index.
+     * @return The area, or NaN if the area in the source data is invalid.
+     */
+    public double getShapeArea(int row) {
+        return shapeAreas[row];
+    }
+
+    /**
+     * Gets the boundary length of a row.
+     *
+     * @param row The row index.
+     * @return The boundary length, or NaN if the length in the source data is invalid.
+     */
+    public double getShapeLength(int row) {
+        return shapeLengths[row];
+    }
+
+    /**
+     * Gets the owner of a row.
+     *
+     * @param row The row index.
+     * @return The owner, with the first spelling of the dataset.
+     */
+    public String getOwner(int row) {
+        return dictionaries.getOwners().valueOf(owners[row]);
+    }
+
+    /**
+     * Gets the freguesia of a row.
+     *
+     * @param row The row index.
+     * @return The freguesia, with the first spelling of the dataset.
+     */
+    public String getFreguesia(int row) {
+        return dictionaries.getFreguesias().valueOf(freguesias[row]);
+    }
+
+    /**
+     * Gets the municipio of a row.
+     *
+     * @param row The row index.
+     * @return The municipio, with the first spelling of the dataset.
+     */
+    public String getMunicipio(int row) {
+        return dictionaries.getMunicipios().valueOf(municipios[row]);
+    }
+
+    /**
+     * Gets the ilha of a row.
+     *
+     * @param row The row index.
+     * @return The ilha, with the first spelling of the dataset.
+     */
+    public String getIlha(int row) {
+        return dictionaries.getIlhas().valueOf(ilhas[row]);
+    }
+
+    /**
+     * Finds the rows located in a "Freguesia", ignoring case.
+     *
+     * @param freguesia The name of the "Freguesia".
+     * @return The matching row indices, in ascending order.
+     */
+    public int[] rowsInFreguesia(String freguesia) {
+        return rowsMatching(freguesias, dictionaries.freguesiaCodeOf(freguesia));
+    }
+
+    /**
+     * Finds the rows located in a "Municipio", ignoring case.
+     *
+     * @param municipio The name of the "Municipio".
+     * @return The matching row indices, in ascending order.
+     */
+    public int[] rowsInMunicipio(String municipio) {
+        return rowsMatching(municipios, dictionaries.municipioCodeOf(municipio));
+    }
+
+    /**
+     * Finds the rows located in an "Ilha", ignoring case.
+     *
+     * @param ilha The name of the "Ilha".
+     * @return The matching row indices, in ascending order.
+     */
+    public int[] rowsInIlha(String ilha) {
+        return rowsMatching(ilhas, dictionaries.ilhaCodeOf(ilha));
+    }
+
+    /**
+     * Gets the indices of all rows.
+     *
+     * @return The row indices 0 to size - 1.
+     */
+    public int[] allRows() {
+        int[] rows = new int[size];
+        for (int row = 0; row < size; row++) {
+            rows[row] = row;
+        }
+        return rows;
+    }
+
+    /**
+     * Calculates the count, total, average, minimum and maximum area of some rows in a single pass,
+     * skipping invalid areas.
+     *
+     * @param rows The row indices.
+     * @return The area statistics of the rows with valid areas.
+     */
+    public DoubleSummaryStatistics summarizeAreas(int[] rows) {
+        DoubleSummaryStatistics areaStatistics = new DoubleSummaryStatistics();
+        for (int row : rows) {
+            double area = shapeAreas[row];
+            if (!Double.isNaN(area)) {
+                areaStatistics.accept(area);
+            }
+        }
+        return areaStatistics;
+    }
+
+    /**
+     * Calculates the average area of some rows, skipping invalid areas.
+     *
+     * @param rows The row indices.
+     * @return The average area.
+     * @throws IllegalArgumentException If none of the rows has a valid area.
+     */
+    public double averageArea(int[] rows) {
+        double totalArea = 0.0;
+        int count = 0;
+        for (int row : rows) {
+            double area = shapeAreas[row];
+            if (!Double.isNaN(area)) {
+                totalArea += area;
+                count++;
+            }
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("No valid property areas found");
+        }
+        return totalArea / count;
+    }
+
+    /**
+     * Calculates the average area of the properties of each owner, skipping invalid areas.
+     * Owners that only differ in case are grouped together, as their owner codes are equal.
+     *
+     * @return A map containing the average area per owner, keyed by the first spelling of the owner in the dataset.
+     */
+    public Map<String, Double> averageAreaPerOwner() {
+        int ownerCount = dictionaries.getOwners().size();
+        double[] totalAreas = new double[ownerCount];
+        int[] counts = new int[ownerCount];
+        for (int row = 0; row < size; row++) {
+            double area = shapeAreas[row];
+            if (!Double.isNaN(area)) {
+                totalAreas[owners[row]] += area;
+                counts[owners[row]]++;
+            }
+        }
+
+        Map<String, Double> averageAreaPerOwner = new HashMap<>();
+        for (int owner = 0; owner < ownerCount; owner++) {
+            if (counts[owner] > 0) {
+                averageAreaPerOwner.put(dictionaries.getOwners().valueOf(owner), totalAreas[owner] / counts[owner]);
+            }
+        }
+        return averageAreaPerOwner;
+    }
+
+    // Helper methods
+
+    private static int[] rowsMatching(int[] column, int code) {
+        // The dictionary code is case-insensitive, so matching is a single int comparison per row
+        if (code < 0) {
+            return new int[0];
+        }
+        int[] rows = new int[column.length];
+        int count = 0;
+        for (int row = 0; row < column.length; row++) {
+            if (column[row] == code) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    private static String formatNumber(double value) {
+        return Double.isNaN(value) ? "" : String.valueOf(value);
+    }
+
+    private static double parseNumber(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException | NullPointerException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Accumulates properties row by row and builds a {@link PropertyTable}.
+     */
+    public static class Builder {
+        private int size = 0;
+        private int[] objectIds = new int[16];
+        private String[] parIds = new String[16];
+        private String[] parNums = new String[16];
+        private double[] shapeLengths = new double[16];
+        private double[] shapeAreas = new double[16];
+        private String[] geometries = new String[16];
+        private int[] owners = new int[16];
+        private int[] freguesias = new int[16];
+        private int[] municipios = new int[16];
+        private int[] ilhas = new int[16];
+
+        private PropertyDictionaries dictionaries; // Dictionaries of the first property added
+
+        /**
+         * Adds a property as a new row.
+         * A property that has not been encoded yet is encoded with the dictionaries of the rows added before.
+         *
+         * @param property The property to add.
+         * @throws NumberFormatException    If the OBJECTID is not an integer.
+         * @throws IllegalArgumentException If the property was encoded by another dataset than the rows added before.
+         */
+        public void add(Property property) {
+            if (dictionaries == null) {
+                dictionaries = property.getDictionaries() != null ? property.getDictionaries() : new PropertyDictionaries();
+            }
+            if (property.getDictionaries() == null) {
+                property.encode(dictionaries);
+            } else if (property.getDictionaries() != dictionaries) {
+                throw new IllegalArgumentException("Properties were encoded by different datasets");
+            }
+
+            if (size == objectIds.length) {
+                grow();
+            }
+            objectIds[size] = Integer.parseInt(property.getObjectId().trim());
+            parIds[size] = property.getParId();
+            parNums[size] = property.getParNum();
+            shapeLengths[size] = parseNumber(property.getShapeLength());
+            shapeAreas[size] = parseNumber(property.getShapeArea());
+            geometries[size] = property.getGeometry();
+            owners[size] = property.getOwnerCode();
+            freguesias[size] = property.getFreguesiaCode();
+            municipios[size] = property.getMunicipioCode();
+            ilhas[size] = property.getIlhaCode();
+            size++;
+        }
+
+        /**
+         * Builds the table from the rows added so far.
+         *
+         * @return The new table.
+         */
+        public PropertyTable build() {
+            return new PropertyTable(this);
+        }
+
+        private void grow() {
+            int capacity = objectIds.length * 2;
+            objectIds = Arrays.copyOf(objectIds, capacity);
+            parIds = Arrays.copyOf(parIds, capacity);
+            parNums = Arrays.copyOf(parNums, capacity);
+            shapeLengths = Arrays.copyOf(shapeLengths, capacity);
+            shapeAreas = Arrays.copyOf(shapeAreas, capacity);
+            geometries = Arrays.copyOf(geometries, capacity);
+            owners = Arrays.copyOf(owners, capacity);
+            freguesias = Arrays.copyOf(freguesias, capacity);
+            municipios = Arrays.copyOf(municipios, capacity);
+            ilhas = Arrays.copyOf(ilhas, capacity);
+        }
+    }
+}
@@ -4,9 +4,9 @@ import java.awt.Color;
 import java.awt.Component;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.DoubleSummaryStatistics;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
@@ -15,9 +15,10 @@ import javax.swing.JTable;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 
-import com.example.CsvToPropertyReader;
 import com.example.Property;
-import com.example.utils.PropertyGeometryUtils;
+import com.example.PropertyTable;
+import com.example.utils.PropertyDataset;
+import com.example.utils.PropertyManager;
 import com.example.utils.PropertyMergeUtils;
 
 /**
@@ -28,7 +29,9 @@ import com.example.utils.PropertyMergeUtils;
 public class AreaButtonHandler implements ActionListener {
 
     private final JPanel panel;
-    private final List<Property> properties;
+    private final PropertyManager propertyManager;
+    private final BackgroundTaskRunner taskRunner;
+    private PropertyTable propertyTable; // Built on first use
 
     /**
      * Constructor for AreaButtonHandler.
@@ -37,8 +40,30 @@ public class AreaButtonHandler implements ActionListener {
      * @param properties The list of properties loaded from the CSV file.
      */
     public AreaButtonHandler(JPanel panel, List<Property> properties) {
+        this(panel, new PropertyManager(properties));
+    }
+
+    /**
+     * Constructor for AreaButtonHandler that shares an existing property manager.
+     *
+     * @param panel           The panel that contains the button.
+     * @param propertyManager The manager of the properties loaded from the CSV file.
+     */
+    public AreaButtonHandler(JPanel panel, PropertyManager propertyManager) {
+        this(panel, new PropertyDataset(propertyManager), new BackgroundTaskRunner(panel));
+    }
+
+    /**
+     * Constructor for AreaButtonHandler that shares the dataset of the session and a background task runner.
+     *
+     * @param panel      The panel that contains the button.
+     * @param dataset    The properties loaded from the CSV file, with their indexes.
+     * @param taskRunner The runner of the background work of the handlers.
+     */
+    public AreaButtonHandler(JPanel panel, PropertyDataset dataset, BackgroundTaskRunner taskRunner) {
         this.panel = panel;
-        this.properties = properties;
+        this.propertyManager = dataset.getPropertyManager();
+        this.taskRunner = taskRunner;
     }
 
     /**
@@ -105,9 +130,7 @@ public class AreaButtonHandler implements ActionListener {
      * @param isMerged True if the user selected "Merged" land type, otherwise false.
      */
     private void handleFreguesiaSelection(boolean isMerged) {
-        Set<String> uniqueFreguesias = properties.stream()
-                .map(Property::getFreguesia)
-                .collect(Collectors.toSet());
+        Set<String> uniqueFreguesias = propertyManager.getUniqueLocations("freguesia");
         String freguesiaInput = (String) JOptionPane.showInputDialog(
                 panel,
                 "Select a Freguesia:",
@@ -119,13 +142,7 @@ public class AreaButtonHandler implements ActionListener {
         );
 
         if (freguesiaInput != null) {
-            if (isMerged) {
-                List<Property> mergedProperties = PropertyMergeUtils.mergePropertiesByAdjacencyAndOwner(
-                        CsvToPropertyReader.filterPropertiesByFreguesia(properties, freguesiaInput));
-                showMergedAreaTable(freguesiaInput, mergedProperties);
-            } else {
-                showAreaTable("freguesia", freguesiaInput);
-            }
+            showAreaResults("freguesia", freguesiaInput, isMerged);
         }
     }
 
@@ -135,9 +152,7 @@ public class AreaButtonHandler implements ActionListener {
      * @param isMerged True if the user selected "Merged" land type, otherwise false.
      */
     private void handleMunicipioSelection(boolean isMerged) {
-        Set<String> uniqueMunicipios = properties.stream()
-                .map(Property::getMunicipio)
-                .collect(Collectors.toSet());
+        Set<String> uniqueMunicipios = propertyManager.getUniqueLocations("municipio");
         String municipioInput = (String) JOptionPane.showInputDialog(
                 panel,
                 "Select a Municipio:",
@@ -149,13 +164,7 @@ public class AreaButtonHandler implements ActionListener {
         );
 
         if (municipioInput != null) {
-            if (isMerged) {
-                List<Property> mergedProperties = PropertyMergeUtils.mergePropertiesByAdjacencyAndOwner(
-                        CsvToPropertyReader.filterPropertiesByMunicipio(properties, municipioInput));
-                showMergedAreaTable(municipioInput, mergedProperties);
-            } else {
-                showAreaTable("municipio", municipioInput);
-            }
+            showAreaResults("municipio", municipioInput, isMerged);
         }
     }
 
@@ -165,45 +174,72 @@ public class AreaButtonHandler implements ActionListener {
      * @param isMerged True if the user selected "Merged" land type, otherwise false.
      */
     private void handleIlhaSelection(boolean isMerged) {
+        showAreaResults("ilha", "Ilha da Madeira (Madeira)", isMerged);
+    }
+
+    // Helper Methods for Display Actions
+
+    /**
+     * Computes the area statistics of a location in the background and displays them when ready.
+     *
+     * @param areaType The type of area (freguesia, municipio, ilha).
+     * @param location The location name.
+     * @param isMerged True if adjacent properties of the same owner are merged, otherwise false.
+     */
+    private void showAreaResults(String areaType, String location, boolean isMerged) {
         if (isMerged) {
-            List<Property> mergedProperties = PropertyMergeUtils.mergePropertiesByAdjacencyAndOwner(
-                    CsvToPropertyReader.filterPropertiesByIlha(properties, "Ilha da Madeira (Madeira)"));
-            showMergedAreaTable("Ilha da Madeira (Madeira)", mergedProperties);
+            // Only the statistics are needed, so no union geometry is built; a cancelled run returns no statistics
+            taskRunner.run("Merging properties",
+                    progress -> PropertyMergeUtils.summarizeMergedAreas(propertyManager.filterProperties(areaType, location), progress::isCancelled),
+                    mergedAreaStatistics -> showMergedAreaTable(location, mergedAreaStatistics));
         } else {
-            showAreaTable("ilha", "Ilha da Madeira (Madeira)");
+            taskRunner.run("Calculating areas",
+                    progress -> summarizeAreas(areaType, location),
+                    areaStatistics -> showAreaTable(location, areaStatistics));
         }
     }
 
-    // Helper Methods for Display Actions
-
     /**
-     * Displays a table with area details for the selected location.
+     * Computes the area statistics of the properties in a location.
      *
      * @param areaType The type of area (freguesia, municipio, ilha).
      * @param location The location name.
+     * @return The area statistics of the location.
+     */
+    private DoubleSummaryStatistics summarizeAreas(String areaType, String location) {
+        // Select the rows of the location by comparing dictionary codes in the columnar table
+        PropertyTable table = getPropertyTable();
+        int[] rows;
+        switch (areaType) {
+            case "freguesia":
+                rows = table.rowsInFreguesia(location);
+                break;
+            case "municipio":
+                rows = table.rowsInMunicipio(location);
+                break;
+            case "ilha":
+                rows = table.rowsInIlha(location);
+                break;
+            default:
+                rows = new int[0];
+                break;
+        }
+        return table.summarizeAreas(rows);
+    }
+
+    /**
+     * Displays a table with area details for the selected location.
+     *
+     * @param location       The location name.
+     * @param areaStatistics The area statistics of the location.
      */
-    private void showAreaTable(String areaType, String location) {
+    private void showAreaTable(String location, DoubleSummaryStatistics areaStatistics) {
         DefaultTableModel tableModel = new DefaultTableModel();
         tableModel.addColumn("Location");
         tableModel.addColumn("Total Area (m²)");
         tableModel.addColumn("Average Area (m²)");
 
-        List<Property> filteredProperties = properties.stream()
-                .filter(p -> {
-                    switch (areaType) {
-                        case "freguesia":
-                            return p.getFreguesia().equalsIgnoreCase(location);
-                        case "municipio":
-                            return p.getMunicipio().equalsIgnoreCase(location);
-                        case "ilha":
-                            return p.getIlha().equalsIgnoreCase(location);
-                        default:
-                            return false;
-                    }
-                })
-                .collect(Collectors.toList());
-
-        calculateAndAddAreaRow(tableModel, location, filteredProperties);
+        addAreaRow(tableModel, location, areaStatistics);
 
         showResultsTable(tableModel, "Area Results");
     }
@@ -211,41 +247,47 @@ public class AreaButtonHandler implements ActionListener {
     /**
      * Displays a table with merged area details for the selected location.
      *
-     * @param location The location name.
-     * @param mergedProperties The list of merged properties.
+     * @param location             The location name.
+     * @param mergedAreaStatistics The area statistics of the merged properties.
      */
-    private void showMergedAreaTable(String location, List<Property> mergedProperties) {
+    private void showMergedAreaTable(String location, DoubleSummaryStatistics mergedAreaStatistics) {
         DefaultTableModel tableModel = new DefaultTableModel();
         tableModel.addColumn("Location");
         tableModel.addColumn("Total Area (m²)");
         tableModel.addColumn("Average Area (m²)");
 
-        calculateAndAddAreaRow(tableModel, location, mergedProperties);
+        addAreaRow(tableModel, location, mergedAreaStatistics);
 
         showResultsTable(tableModel, "Merged Area Results");
     }
 
     /**
-     * Calculates the total and average area for a list of properties and adds a row to the table model.
+     * Adds a row with the total and average area to the table model.
      *
-     * @param tableModel The table model to add the row to.
-     * @param location The location name.
-     * @param properties The list of properties.
+     * @param tableModel     The table model to add the row to.
+     * @param location       The location name.
+     * @param areaStatistics The area statistics of the location.
      */
-    private void calculateAndAddAreaRow(DefaultTableModel tableModel, String location, List<Property> properties) {
-        double totalArea = properties.stream()
-                .mapToDouble(p -> Double.parseDouble(p.getShapeArea()))
-                .sum();
-
-        double averageArea;
-        try {
-            averageArea = PropertyGeometryUtils.calculateAverageArea(properties);
-        } catch (IllegalArgumentException e) {
+    private void addAreaRow(DefaultTableModel tableModel, String location, DoubleSummaryStatistics areaStatistics) {
+        if (areaStatistics.getCount() == 0) {
             JOptionPane.showMessageDialog(panel, "No valid property areas found for calculation.", "Warning", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        tableModel.addRow(new Object[]{location, totalArea, averageArea});
+        tableModel.addRow(new Object[]{location, areaStatistics.getSum(), areaStatistics.getAverage()});
+    }
+
+    /**
+     * Gets the columnar table of the properties, building it on first use.
+     * Called from background tasks, so the first build is synchronized.
+     *
+     * @return The property table.
+     */
+    private synchronized PropertyTable getPropertyTable() {
+        if (propertyTable == null) {
+            propertyTable = PropertyTable.fromProperties(propertyManager.getProperties());
+        }
+        return propertyTable;
     }
 
     /**
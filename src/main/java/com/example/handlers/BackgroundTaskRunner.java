@@ -0,0 +1,230 @@
+package com.example.handlers;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Window;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+
+/**
+ * Runs the heavy work of the button handlers on background threads, so the Event Dispatch Thread stays responsive.
+ * Each task gets a progress dialog with a Cancel button, shown only if the task takes longer than a short delay.
+ * The result is delivered back on the Event Dispatch Thread; failures are reported in an error dialog.
+ * One runner is shared by all handlers created by {@link com.example.utils.ButtonHandlerFactory}.
+ */
+public class BackgroundTaskRunner {
+
+    // Delay before the progress dialog of a task is shown, in milliseconds
+    private static final int DIALOG_DELAY = 400;
+
+    private final Component parent;
+    private final Set<SwingWorker<?, ?>> runningTasks = new LinkedHashSet<>(); // Only accessed on the EDT
+
+    /**
+     * Work done in the background.
+     *
+     * @param <T> The type of the result.
+     */
+    public interface Task<T> {
+        /**
+         * Computes the result. Called on a background thread, so it must not touch Swing components.
+         *
+         * @param progress Used to report progress and to check for cancellation.
+         * @return The result delivered to the Event Dispatch Thread.
+         * @throws Exception If the work fails; the error is shown to the user.
+         */
+        T run(Progress progress) throws Exception;
+    }
+
+    /**
+     * Progress reporting and cancellation check of a running task.
+     */
+    public interface Progress {
+        /**
+         * Reports the current step of the task.
+         *
+         * @param note A short description of the current step.
+         */
+        void step(String note);
+
+        /**
+         * Reports the completed fraction of the task.
+         *
+         * @param percent The completed percentage, from 0 to 100.
+         */
+        void percent(int percent);
+
+        /**
+         * Checks whether the user cancelled the task; long loops should stop when it returns true.
+         *
+         * @return True if the task was cancelled, otherwise false.
+         */
+        boolean isCancelled();
+    }
+
+    /**
+     * Creates a runner whose dialogs are placed relative to a component.
+     *
+     * @param parent The parent component of the dialogs, or null to center them on the screen.
+     */
+    public BackgroundTaskRunner(Component parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Starts a task in the background. Must be called on the Event Dispatch Thread.
+     *
+     * @param title    The title of the progress dialog.
+     * @param task     The work to run in the background.
+     * @param onResult Called on the Event Dispatch Thread with the result, unless the task fails or is cancelled.
+     * @param <T>      The type of the result.
+     * @return The worker running the task, which can be used to cancel it.
+     */
+    public <T> SwingWorker<T, ?> run(String title, Task<T> task, Consumer<T> onResult) {
+        TaskWorker<T> worker = new TaskWorker<>(title, task, onResult);
+        runningTasks.add(worker);
+        worker.start();
+        return worker;
+    }
+
+    /**
+     * Cancels all running tasks, for example when the application closes. Must be called on the Event Dispatch Thread.
+     */
+    public void cancelAll() {
+        for (SwingWorker<?, ?> worker : new ArrayList<>(runningTasks)) {
+            worker.cancel(true);
+        }
+    }
+
+    /**
+     * Gets the number of tasks that have not finished yet.
+     *
+     * @return The number of running tasks.
+     */
+    public int getRunningTaskCount() {
+        return runningTasks.size();
+    }
+
+    /**
+     * Worker that runs a task, forwards its progress to a dialog and delivers its result.
+     */
+    private final class TaskWorker<T> extends SwingWorker<T, String> implements Progress {
+        private final String title;
+        private final Task<T> task;
+        private final Consumer<T> onResult;
+
+        private final JLabel noteLabel = new JLabel("Working...");
+        private final JProgressBar progressBar = new JProgressBar(0, 100);
+        private final Timer dialogTimer;
+        private JDialog dialog;
+
+        TaskWorker(String title, Task<T> task, Consumer<T> onResult) {
+            this.title = title;
+            this.task = task;
+            this.onResult = onResult;
+
+            progressBar.setIndeterminate(true);
+            addPropertyChangeListener(event -> {
+                if ("progress".equals(event.getPropertyName())) {
+                    progressBar.setIndeterminate(false);
+                    progressBar.setValue((Integer) event.getNewValue());
+                }
+            });
+
+            // Only show the dialog if the task is not done quickly
+            dialogTimer = new Timer(DIALOG_DELAY, e -> showDialog());
+            dialogTimer.setRepeats(false);
+        }
+
+        void start() {
+            dialogTimer.start();
+            execute();
+        }
+
+        @Override
+        protected T doInBackground() throws Exception {
+            return task.run(this);
+        }
+
+        @Override
+        public void step(String note) {
+            publish(note);
+        }
+
+        @Override
+        public void percent(int percent) {
+            setProgress(Math.max(0, Math.min(100, percent)));
+        }
+
+        @Override
+        protected void process(List<String> notes) {
+            noteLabel.setText(notes.get(notes.size() - 1));
+        }
+
+        @Override
+        protected void done() {
+            dialogTimer.stop();
+            if (dialog != null) {
+                dialog.dispose();
+            }
+            runningTasks.remove(this);
+
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                onResult.accept(get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                System.err.println(title + " failed: " + cause);
+                JOptionPane.showMessageDialog(parent, title + " failed: " + cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void showDialog() {
+            if (isDone()) {
+                return;
+            }
+            // The main frame is its own window; getWindowAncestor only finds the window around a component
+            Window owner = parent instanceof Window ? (Window) parent : parent != null ? SwingUtilities.getWindowAncestor(parent) : null;
+            dialog = new JDialog(owner, title);
+            dialog.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+
+            JButton cancelButton = new JButton("Cancel");
+            cancelButton.addActionListener(e -> {
+                cancel(true);
+                noteLabel.setText("Cancelling...");
+            });
+
+            JPanel content = new JPanel(new BorderLayout(0, 8));
+            content.setBorder(BorderFactory.createEmptyBorder(12, 12, 12, 12));
+            content.add(noteLabel, BorderLayout.NORTH);
+            content.add(progressBar, BorderLayout.CENTER);
+            JPanel buttonPanel = new JPanel();
+            buttonPanel.add(cancelButton);
+            content.add(buttonPanel, BorderLayout.SOUTH);
+
+            dialog.add(content);
+            dialog.setSize(360, 140);
+            dialog.setLocationRelativeTo(parent);
+            dialog.setVisible(true);
+        }
+    }
+}
@@ -16,7 +16,8 @@ import javax.swing.JTable;
 import javax.swing.SwingConstants;
 
 import com.example.Property;
-import com.example.utils.PropertyAdjacencyUtils;
+import com.example.utils.PropertyDataset;
+import com.example.utils.PropertyManager;
 
 /**
  * Handles the action of the "Details" button click.
@@ -26,7 +27,8 @@ import com.example.utils.PropertyAdjacencyUtils;
 public class DetailsButtonHandler implements ActionListener {
 
     private final JPanel panel;
-    private final List<Property> properties;
+    private final PropertyManager propertyManager;
+    private final BackgroundTaskRunner taskRunner;
 
     /**
      * Constructor for DetailsButtonHandler.
@@ -35,13 +37,35 @@ public class DetailsButtonHandler implements ActionListener {
      * @param properties The list of properties loaded from the CSV file.
      */
     public DetailsButtonHandler(JPanel panel, List<Property> properties) {
+        this(panel, new PropertyManager(properties));
+    }
+
+    /**
+     * Constructor for DetailsButtonHandler that shares an existing property manager.
+     *
+     * @param panel           The panel that contains the button.
+     * @param propertyManager The manager of the properties loaded from the CSV file.
+     */
+    public DetailsButtonHandler(JPanel panel, PropertyManager propertyManager) {
+        this(panel, new PropertyDataset(propertyManager), new BackgroundTaskRunner(panel));
+    }
+
+    /**
+     * Constructor for DetailsButtonHandler that shares the dataset of the session and a background task runner.
+     *
+     * @param panel      The panel that contains the button.
+     * @param dataset    The properties loaded from the CSV file, with their indexes.
+     * @param taskRunner The runner of the background work of the handlers.
+     */
+    public DetailsButtonHandler(JPanel panel, PropertyDataset dataset, BackgroundTaskRunner taskRunner) {
         this.panel = panel;
-        this.properties = properties;
+        this.propertyManager = dataset.getPropertyManager();
+        this.taskRunner = taskRunner;
     }
 
     /**
      * Invoked when the "Details" button is clicked.
-     * Prompts the user to input a property number and displays its details if valid.
+     * Prompts the user to input a property number (OBJECTID) and displays its details if valid.
      *
      * @param e The ActionEvent triggered by the button click.
      */
@@ -51,10 +75,12 @@ public class DetailsButtonHandler implements ActionListener {
         String propertyInput = JOptionPane.showInputDialog(panel, "Which property would you like more details on?");
         try {
             int propertyNumber = Integer.parseInt(propertyInput); // Parse the input to an integer
-            if (propertyNumber > 0 && propertyNumber <= properties.size()) {
-                // Retrieve and display property details
-                Property property = properties.get(propertyNumber - 1);
-                showPropertyDetails(property);
+            Property property = propertyManager.getPropertyById(propertyNumber);
+            if (property != null) {
+                // Find the adjacent properties in the background, then display the property details
+                taskRunner.run("Finding adjacent properties",
+                        progress -> propertyManager.findAdjacentProperties(property),
+                        adjacentProperties -> showPropertyDetails(property, adjacentProperties));
             } else {
                 // Handle invalid property number
                 JOptionPane.showMessageDialog(panel, "Property not found.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -68,9 +94,10 @@ public class DetailsButtonHandler implements ActionListener {
     /**
      * Displays the detailed information of a specific property in a new frame.
      *
-     * @param property The property whose details are to be displayed.
+     * @param property           The property whose details are to be displayed.
+     * @param adjacentProperties The properties adjacent to the property.
      */
-    private void showPropertyDetails(Property property) {
+    private void showPropertyDetails(Property property, List<Property> adjacentProperties) {
         // Create a new frame to display property details
         JFrame detailFrame = new JFrame("Property Details");
         detailFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
@@ -87,7 +114,6 @@ public class DetailsButtonHandler implements ActionListener {
         detailPanel.setLayout(new BorderLayout());
 
         // Gather property data and adjacent property information
-        String adjacentProperties = getAdjacentProperties(property);
         String[][] propertyData = {
                 {"Object ID", property.getObjectId()},
                 {"Parcel ID", property.getParId()},
@@ -99,7 +125,7 @@ public class DetailsButtonHandler implements ActionListener {
                 {"Freguesia", property.getFreguesia()},
                 {"Municipio", property.getMunicipio()},
                 {"Ilha", property.getIlha()},
-                {"Adjacencies", adjacentProperties}
+                {"Adjacencies", formatAdjacentProperties(adjacentProperties)}
         };
         String[] columnNames = {"Attribute", "Value"};
 
@@ -128,21 +154,19 @@ public class DetailsButtonHandler implements ActionListener {
     }
 
     /**
-     * Retrieves a list of properties adjacent to the given property.
+     * Formats the list of properties adjacent to a property.
      *
-     * @param property The property to find adjacent properties for.
+     * @param adjacentProperties The adjacent properties.
      * @return A string containing the Object IDs of adjacent properties, or "None" if no adjacencies are found.
      */
-    private String getAdjacentProperties(Property property) {
+    private String formatAdjacentProperties(List<Property> adjacentProperties) {
         // Build a list of adjacent property IDs
         StringBuilder adjacencyInfo = new StringBuilder();
-        for (Property otherProperty : properties) {
-            if (!property.equals(otherProperty) && PropertyAdjacencyUtils.areAdjacent(property, otherProperty)) {
-                if (adjacencyInfo.length() > 0) {
-                    adjacencyInfo.append(", ");
-                }
-                adjacencyInfo.append(otherProperty.getObjectId());
+        for (Property otherProperty : adjacentProperties) {
+            if (adjacencyInfo.length() > 0) {
+                adjacencyInfo.append(", ");
             }
+            adjacencyInfo.append(otherProperty.getObjectId());
         }
         // Return the list of adjacencies or "None" if no adjacencies are found
         return adjacencyInfo.length() > 0 ? adjacencyInfo.toString() : "None";
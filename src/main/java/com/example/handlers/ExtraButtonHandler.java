@@ -11,6 +11,8 @@ import javax.swing.JPanel;
 
 import com.example.Property;
 import com.example.PropertyGeometryPlotter;
+import com.example.utils.PropertyDataset;
+import com.example.utils.PropertyManager;
 
 /**
  * Handles the action of the "Extra" button click.
@@ -19,7 +21,7 @@ import com.example.PropertyGeometryPlotter;
 public class ExtraButtonHandler implements ActionListener {
 
     private final JPanel panel;
-    private final List<Property> properties;
+    private final PropertyManager propertyManager;
 
     /**
      * Constructor for ExtraButtonHandler.
@@ -28,8 +30,28 @@ public class ExtraButtonHandler implements ActionListener {
      * @param properties The list of properties loaded from the CSV file.
      */
     public ExtraButtonHandler(JPanel panel, List<Property> properties) {
+        this(panel, new PropertyManager(properties));
+    }
+
+    /**
+     * Constructor for ExtraButtonHandler that shares an existing property manager.
+     *
+     * @param panel           The panel that contains the button.
+     * @param propertyManager The manager of the properties loaded from the CSV file.
+     */
+    public ExtraButtonHandler(JPanel panel, PropertyManager propertyManager) {
         this.panel = panel;
-        this.properties = properties;
+        this.propertyManager = propertyManager;
+    }
+
+    /**
+     * Constructor for ExtraButtonHandler that shares the dataset of the session.
+     *
+     * @param panel   The panel that contains the button.
+     * @param dataset The properties loaded from the CSV file, with their indexes.
+     */
+    public ExtraButtonHandler(JPanel panel, PropertyDataset dataset) {
+        this(panel, dataset.getPropertyManager());
     }
 
     /**
@@ -40,8 +62,8 @@ public class ExtraButtonHandler implements ActionListener {
      */
     @Override
     public void actionPerformed(ActionEvent e) {
-        // Retrieve all unique "Freguesias" from the properties list
-        Set<String> uniqueFreguesias = properties.stream().map(Property::getFreguesia).collect(Collectors.toSet());
+        // Retrieve all unique "Freguesias" from the location index
+        Set<String> uniqueFreguesias = propertyManager.getUniqueLocations("freguesia");
 
         // Prompt the user to select a "Freguesia"
         String freguesiaInput = (String) JOptionPane.showInputDialog(
@@ -56,9 +78,7 @@ public class ExtraButtonHandler implements ActionListener {
 
         if (freguesiaInput != null) {
             // Filter properties based on the selected "Freguesia"
-            List<Property> filteredProperties = properties.stream()
-                    .filter(p -> p.getFreguesia().equalsIgnoreCase(freguesiaInput))
-                    .collect(Collectors.toList());
+            List<Property> filteredProperties = propertyManager.filterProperties("freguesia", freguesiaInput);
 
             // Extract unique Object IDs from the filtered properties
             Set<String> objectIds = filteredProperties.stream().map(Property::getObjectId).collect(Collectors.toSet());
@@ -97,7 +117,7 @@ public class ExtraButtonHandler implements ActionListener {
 
                 // Create a PropertyGeometryPlotter instance and plot the selected properties
                 PropertyGeometryPlotter plotter = new PropertyGeometryPlotter("Selected Property Geometries");
-                plotter.drawProperties(properties, freguesiaInput, Integer.parseInt(property1Input), Integer.parseInt(property2Input));
+                plotter.drawProperties(propertyManager, freguesiaInput, Integer.parseInt(property1Input), Integer.parseInt(property2Input));
             }
         }
     }
@@ -3,23 +3,60 @@ package com.example.handlers;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+import com.mxgraph.view.mxGraph;
+
 import com.example.PropertyGraph;
+import com.example.utils.PropertyDataset;
 
 /**
  * Handles the action when the "Owner Graph" button is clicked.
- * This class triggers the display of the owner graph representation by invoking a specific method from the PropertyGraph class.
+ * This class builds and lays out the graph of all the owners of the dataset in the background and then displays it,
+ * as {@code PropertyGraph.Exercise_5} does, without blocking the user interface. The layout can be cancelled.
  */
 public class OwnerGraphButtonHandler implements ActionListener {
 
+    private final PropertyDataset dataset;
+    private final BackgroundTaskRunner taskRunner;
+
+    /**
+     * Constructor for OwnerGraphButtonHandler.
+     *
+     * @param dataset    The properties loaded from the CSV file, with their indexes.
+     * @param taskRunner The runner of the background work of the handlers.
+     */
+    public OwnerGraphButtonHandler(PropertyDataset dataset, BackgroundTaskRunner taskRunner) {
+        this.dataset = dataset;
+        this.taskRunner = taskRunner;
+    }
+
     /**
      * Invoked when the "Owner Graph" button is clicked.
-     * Calls the {@code Exercise_5} method from the {@code PropertyGraph} class to display the owner graph.
+     * Builds the graph of all the owners in the background and displays it when ready.
      *
      * @param e The ActionEvent triggered by the button click.
      */
     @Override
     public void actionPerformed(ActionEvent e) {
-        // Trigger the owner graph display logic
-        PropertyGraph.Exercise_5();
+        taskRunner.run("Building owner graph", progress -> {
+            progress.step("Finding adjacent owners...");
+            progress.percent(0);
+            Graph<String, DefaultWeightedEdge> ownerGraph = PropertyGraph.buildOwnerGraph(dataset);
+            if (progress.isCancelled()) {
+                return null; // The result of a cancelled task is discarded
+            }
+
+            progress.step("Laying out " + ownerGraph.vertexSet().size() + " owners...");
+            progress.percent(50);
+            mxGraph jGraph = PropertyGraph.layoutOwnerGraph(ownerGraph, progress::isCancelled);
+            progress.percent(100);
+            return jGraph;
+        }, jGraph -> {
+            if (jGraph != null) {
+                PropertyGraph.showGraph(jGraph, "Owner Graph Visualization");
+            }
+        });
     }
 }
@@ -9,6 +9,8 @@ import javax.swing.JPanel;
 
 import com.example.Property;
 import com.example.PropertyGraph;
+import com.example.utils.PropertyDataset;
+import com.example.utils.PropertyManager;
 
 /**
  * Handles the action when the "Property Map" button is clicked.
@@ -16,8 +18,13 @@ import com.example.PropertyGraph;
  */
 public class PropertyMapButtonHandler implements ActionListener {
 
+    // Freguesia shown on the map, as in PropertyGraph.Exercise_2
+    private static final String DEFAULT_FREGUESIA = "Arco da Calheta";
+
     private final JPanel panel;
-    private final List<Property> properties;
+    private final PropertyDataset dataset;
+    private final PropertyManager propertyManager;
+    private final BackgroundTaskRunner taskRunner;
 
     /**
      * Constructor for PropertyMapButtonHandler.
@@ -26,13 +33,36 @@ public class PropertyMapButtonHandler implements ActionListener {
      * @param properties The list of properties loaded from the CSV file.
      */
     public PropertyMapButtonHandler(JPanel panel, List<Property> properties) {
+        this(panel, new PropertyManager(properties));
+    }
+
+    /**
+     * Constructor for PropertyMapButtonHandler that shares an existing property manager.
+     *
+     * @param panel           The panel containing the button that triggers this handler.
+     * @param propertyManager The manager of the properties loaded from the CSV file.
+     */
+    public PropertyMapButtonHandler(JPanel panel, PropertyManager propertyManager) {
+        this(panel, new PropertyDataset(propertyManager), new BackgroundTaskRunner(panel));
+    }
+
+    /**
+     * Constructor for PropertyMapButtonHandler that shares the dataset of the session and a background task runner.
+     *
+     * @param panel      The panel containing the button that triggers this handler.
+     * @param dataset    The properties loaded from the CSV file, with their indexes.
+     * @param taskRunner The runner of the background work of the handlers.
+     */
+    public PropertyMapButtonHandler(JPanel panel, PropertyDataset dataset, BackgroundTaskRunner taskRunner) {
         this.panel = panel;
-        this.properties = properties;
+        this.dataset = dataset;
+        this.propertyManager = dataset.getPropertyManager();
+        this.taskRunner = taskRunner;
     }
 
     /**
      * Invoked when the "Property Map" button is clicked.
-     * Prompts the user for a data entry (property number), validates the input,
+     * Prompts the user for a data entry (property number, i.e. OBJECTID), validates the input,
      * and displays the corresponding property on the map.
      *
      * @param e The ActionEvent triggered by the button click.
@@ -45,13 +75,13 @@ public class PropertyMapButtonHandler implements ActionListener {
             // Convert the user input to an integer
             int propertyNumber = Integer.parseInt(propertyInput);
 
-            // Check if the entered number corresponds to a valid property in the list
-            if (propertyNumber > 0 && propertyNumber <= properties.size()) {
-                // Retrieve the selected property
-                Property property = properties.get(propertyNumber - 1);
-
-                // Display the property on the map using its Object ID
-                PropertyGraph.Exercise_2(property.getObjectId());
+            // Look up the property with the entered OBJECTID
+            Property property = propertyManager.getPropertyById(propertyNumber);
+            if (property != null) {
+                // Build the adjacency graph in the background, then display the property on the map using its Object ID
+                taskRunner.run("Building property graph",
+                        progress -> PropertyGraph.buildPropertyGraph(dataset, DEFAULT_FREGUESIA),
+                        adjacencyGraph -> PropertyGraph.visualizeGraph(adjacencyGraph.asGraph(), property.getObjectId()));
             } else {
                 // Show an error message if the property number is invalid
                 JOptionPane.showMessageDialog(panel, "Property not found.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -1,21 +1,28 @@
 package com.example.handlers;
 
+import java.awt.BorderLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import javax.swing.JFrame;
+import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
-import javax.swing.JTextArea;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 
 import com.example.Property;
 import com.example.PropertySwapSuggestion;
+import com.example.utils.PropertyDataset;
+import com.example.utils.PropertyManager;
+import com.example.utils.PropertySwapListener;
 
 /**
  * Handles the action when the "Suggestion" button is clicked.
@@ -23,8 +30,13 @@ import com.example.PropertySwapSuggestion;
  */
 public class SuggestionButtonHandler implements ActionListener {
 
+    // Maximum number of suggestions shown in the table
+    private static final int SUGGESTION_LIMIT = 100;
+
     private final JPanel panel;
-    private final List<Property> properties;
+    private final PropertyDataset dataset;
+    private final PropertyManager propertyManager;
+    private final BackgroundTaskRunner taskRunner;
 
     /**
      * Constructor for SuggestionButtonHandler.
@@ -33,72 +45,173 @@ public class SuggestionButtonHandler implements ActionListener {
      * @param properties The list of properties loaded from the CSV file.
      */
     public SuggestionButtonHandler(JPanel panel, List<Property> properties) {
+        this(panel, new PropertyManager(properties));
+    }
+
+    /**
+     * Constructor for SuggestionButtonHandler that shares an existing property manager.
+     *
+     * @param panel           The panel that contains the button.
+     * @param propertyManager The manager of the properties loaded from the CSV file.
+     */
+    public SuggestionButtonHandler(JPanel panel, PropertyManager propertyManager) {
+        this(panel, new PropertyDataset(propertyManager), new BackgroundTaskRunner(panel));
+    }
+
+    /**
+     * Constructor for SuggestionButtonHandler that shares the dataset of the session and a background task runner.
+     *
+     * @param panel      The panel that contains the button.
+     * @param dataset    The properties loaded from the CSV file, with their indexes.
+     * @param taskRunner The runner of the background work of the handlers.
+     */
+    public SuggestionButtonHandler(JPanel panel, PropertyDataset dataset, BackgroundTaskRunner taskRunner) {
         this.panel = panel;
-        this.properties = properties;
+        this.dataset = dataset;
+        this.propertyManager = dataset.getPropertyManager();
+        this.taskRunner = taskRunner;
     }
 
     /**
      * Invoked when the "Suggestion" button is clicked.
-     * Prompts the user to select a "Freguesia", then generates and displays swap suggestions in a new window.
+     * Prompts the user to select a "Freguesia" or a whole "Municipio", then generates and displays
+     * swap suggestions in a new window.
      *
      * @param e The ActionEvent triggered by the button click.
      */
     @Override
     public void actionPerformed(ActionEvent e) {
-        // Retrieve all unique "Freguesias" from the properties list
-        Set<String> uniqueFreguesias = properties.stream()
-                .map(Property::getFreguesia)
-                .collect(Collectors.toSet());
+        // First dialog: type of area selection
+        int zoneOption = JOptionPane.showOptionDialog(
+                panel,
+                "For which type of area would you like suggestions?",
+                "Area Type Selection",
+                JOptionPane.YES_NO_OPTION,
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                new Object[]{"Freguesia", "Municipio"},
+                "Freguesia"
+        );
+
+        if (zoneOption == JOptionPane.CLOSED_OPTION) {
+            return; // Exit if the dialog is closed
+        }
+
+        boolean isMunicipio = (zoneOption == JOptionPane.NO_OPTION);
+        String areaType = isMunicipio ? "Municipio" : "Freguesia";
+
+        // Retrieve all unique locations of the selected type from the location index
+        Set<String> uniqueLocations = propertyManager.getUniqueLocations(areaType);
 
-        // Prompt the user to select a "Freguesia"
-        String freguesiaInput = (String) JOptionPane.showInputDialog(
+        // Prompt the user to select a location
+        String locationInput = (String) JOptionPane.showInputDialog(
                 panel,
-                "Select a Freguesia:",
-                "Freguesia Selection",
+                "Select a " + areaType + ":",
+                areaType + " Selection",
                 JOptionPane.QUESTION_MESSAGE,
                 null,
-                uniqueFreguesias.toArray(),
-                uniqueFreguesias.iterator().next() // Default selection
+                uniqueLocations.toArray(),
+                uniqueLocations.iterator().next() // Default selection
         );
 
-        if (freguesiaInput != null) {
-            // Create a new JFrame to display the suggestions
-            JFrame suggestionFrame = new JFrame("Suggestion Console");
-            suggestionFrame.setSize(600, 400);
-            suggestionFrame.setLocationRelativeTo(null); // Center the frame
-            suggestionFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-
-            // Create a non-editable text area with a scroll pane
-            JTextArea textArea = new JTextArea();
-            textArea.setEditable(false);
-            JScrollPane scrollPane = new JScrollPane(textArea);
-            suggestionFrame.add(scrollPane);
-
-            // Make the frame visible
-            suggestionFrame.setVisible(true);
-
-            // Redirect System.out to capture console output
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            PrintStream printStream = new PrintStream(outputStream);
-            PrintStream originalOut = System.out; // Backup original System.out
-
-            try {
-                // Redirect standard output and error streams to capture log messages
-                System.setOut(printStream);
-                System.setErr(printStream);
-
-                // Log the Freguesia being processed
-                System.out.println("Generating swap suggestions for Freguesia: " + freguesiaInput);
-
-                // Call the method to generate swap suggestions
-                PropertySwapSuggestion.Exercise_6(freguesiaInput);
-
-                // Display captured output in the text area
-                textArea.setText(outputStream.toString());
-            } finally {
-                // Restore the original System.out stream
-                System.setOut(originalOut);
+        if (locationInput != null) {
+            showSuggestions(areaType, locationInput);
+        }
+    }
+
+    /**
+     * Opens a window with the swap suggestions of a location and fills it while they are being generated.
+     * The suggestions are streamed into a table as they are found; once all pairs are scored,
+     * the table shows the best suggestions by potential and the status line the planned swaps.
+     * Closing the window stops the generation.
+     *
+     * @param areaType The type of area (Freguesia or Municipio).
+     * @param location The selected location.
+     */
+    private void showSuggestions(String areaType, String location) {
+        // Create a new JFrame to display the suggestions
+        JFrame suggestionFrame = new JFrame("Swap Suggestions - " + areaType + ": " + location);
+        suggestionFrame.setSize(600, 400);
+        suggestionFrame.setLocationRelativeTo(null); // Center the frame
+        suggestionFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+
+        // Create a sortable table of the suggestions with a status line below it
+        SwapSuggestionTableModel tableModel = new SwapSuggestionTableModel();
+        JTable table = new JTable(tableModel);
+        table.setAutoCreateRowSorter(true);
+        JLabel statusLabel = new JLabel("Generating swap suggestions for " + areaType + ": " + location + "...");
+        suggestionFrame.add(new JScrollPane(table), BorderLayout.CENTER);
+        suggestionFrame.add(statusLabel, BorderLayout.SOUTH);
+
+        // Make the frame visible
+        suggestionFrame.setVisible(true);
+
+        // Generate the suggestions in the background, streaming them into the table
+        SwingWorker<?, ?> worker = taskRunner.run("Generating swap suggestions", progress -> {
+            List<Property> properties = propertyManager.filterProperties(areaType, location);
+            return PropertySwapSuggestion.suggestSwaps(dataset.buildAdjacencyGraph(properties), SUGGESTION_LIMIT,
+                    new TableListener(tableModel, statusLabel, progress));
+        }, plan -> {
+            if (plan != null) {
+                statusLabel.setText(String.format("%d suggestions, %d planned swaps; mean of the average area per owner: %.2f -> %.2f",
+                        tableModel.getRowCount(), plan.getSwaps().size(), plan.getAverageAreaBefore(), plan.getAverageAreaAfter()));
+            }
+        });
+
+        // Stop generating the suggestions when the window is closed
+        suggestionFrame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent event) {
+                worker.cancel(true);
             }
+        });
+    }
+
+    /**
+     * Passes the suggestions of a background run to the table on the Event Dispatch Thread,
+     * one batch of properties at a time, and reports the progress of the run.
+     */
+    private static final class TableListener implements PropertySwapListener {
+        private final SwapSuggestionTableModel tableModel;
+        private final JLabel statusLabel;
+        private final BackgroundTaskRunner.Progress progress;
+        private List<PropertySwapSuggestion> batch = new ArrayList<>();
+        private int found;
+
+        TableListener(SwapSuggestionTableModel tableModel, JLabel statusLabel, BackgroundTaskRunner.Progress progress) {
+            this.tableModel = tableModel;
+            this.statusLabel = statusLabel;
+            this.progress = progress;
+        }
+
+        @Override
+        public void onSuggestion(PropertySwapSuggestion suggestion) {
+            batch.add(suggestion);
+            found++;
+        }
+
+        @Override
+        public void onProgress(int scannedProperties, int totalProperties) {
+            List<PropertySwapSuggestion> newSuggestions = batch;
+            batch = new ArrayList<>();
+            String status = found + " suggestions found, " + scannedProperties + " of " + totalProperties + " properties analysed";
+            SwingUtilities.invokeLater(() -> {
+                tableModel.addSuggestions(newSuggestions);
+                statusLabel.setText(status);
+            });
+            progress.percent((int) (100L * scannedProperties / totalProperties));
+        }
+
+        @Override
+        public void onSuggestionsComplete(List<PropertySwapSuggestion> suggestions) {
+            // Keep only the best suggestions, sorted by potential
+            SwingUtilities.invokeLater(() -> tableModel.setSuggestions(suggestions));
+            progress.step("Planning swaps...");
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return progress.isCancelled();
         }
     }
 }
@@ -0,0 +1,92 @@
+package com.example.handlers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.table.AbstractTableModel;
+
+import com.example.PropertySwapSuggestion;
+
+/**
+ * Table model backed directly by a list of swap suggestions.
+ * Rows are read from the suggestions only when the table paints them, so a {@link javax.swing.JTable}
+ * in a scroll pane stays fast however many suggestions are added. Must only be used on the Event Dispatch Thread.
+ */
+public class SwapSuggestionTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMN_NAMES = {"Property 1", "Owner 1", "Property 2", "Owner 2", "Potential"};
+
+    private final List<PropertySwapSuggestion> suggestions = new ArrayList<>();
+
+    /**
+     * Appends suggestions at the end of the table.
+     *
+     * @param newSuggestions The suggestions to append.
+     */
+    public void addSuggestions(List<PropertySwapSuggestion> newSuggestions) {
+        if (newSuggestions.isEmpty()) {
+            return;
+        }
+        int firstRow = suggestions.size();
+        suggestions.addAll(newSuggestions);
+        fireTableRowsInserted(firstRow, suggestions.size() - 1);
+    }
+
+    /**
+     * Replaces all rows of the table.
+     *
+     * @param newSuggestions The suggestions to show.
+     */
+    public void setSuggestions(List<PropertySwapSuggestion> newSuggestions) {
+        suggestions.clear();
+        suggestions.addAll(newSuggestions);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Gets the suggestion shown in a row of the model.
+     *
+     * @param row The row index in the model.
+     * @return The suggestion of the row.
+     */
+    public PropertySwapSuggestion getSuggestion(int row) {
+        return suggestions.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return suggestions.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 4 ? Double.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        PropertySwapSuggestion suggestion = suggestions.get(row);
+        switch (column) {
+            case 0:
+                return suggestion.getProperty1().getObjectId();
+            case 1:
+                return suggestion.getProperty1().getOwner();
+            case 2:
+                return suggestion.getProperty2().getObjectId();
+            case 3:
+                return suggestion.getProperty2().getOwner();
+            default:
+                return suggestion.getPotential();
+        }
+    }
+}
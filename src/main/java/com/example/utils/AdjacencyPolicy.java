@@ -0,0 +1,191 @@
+package com.example.utils;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+
+import com.example.Property;
+
+/**
+ * Rule deciding whether two properties are adjacent.
+ * Every policy first rejects pairs whose envelopes are too far apart, which needs no geometry computation,
+ * and only then runs a single exact predicate. When one property is checked against many candidates,
+ * {@link #prepare(Property)} prepares its geometry once so the repeated checks reuse its indexed segments.
+ * <ul>
+ *   <li>{@link #TOUCHING}: the boundaries meet but the interiors do not overlap.</li>
+ *   <li>{@link #INTERSECTING}: the geometries share any point, which includes touching and containment.</li>
+ *   <li>{@link #withinDistance(double)}: the geometries are at most a tolerance apart.</li>
+ * </ul>
+ */
+public abstract class AdjacencyPolicy {
+
+    /**
+     * Properties are adjacent if their boundaries meet and their interiors do not overlap.
+     */
+    public static final AdjacencyPolicy TOUCHING = new AdjacencyPolicy("touching boundary") {
+        @Override
+        protected boolean test(Geometry geometry1, Geometry geometry2) {
+            return geometry1.touches(geometry2);
+        }
+
+        @Override
+        protected boolean test(PreparedGeometry prepared, Geometry geometry) {
+            return prepared.touches(geometry);
+        }
+    };
+
+    /**
+     * Properties are adjacent if their geometries share any point.
+     * This is the default policy; it accepts the same pairs as checking touches, intersects and contains.
+     */
+    public static final AdjacencyPolicy INTERSECTING = new AdjacencyPolicy("any intersection") {
+        @Override
+        protected boolean test(Geometry geometry1, Geometry geometry2) {
+            return geometry1.intersects(geometry2);
+        }
+
+        @Override
+        protected boolean test(PreparedGeometry prepared, Geometry geometry) {
+            return prepared.intersects(geometry);
+        }
+    };
+
+    private final String description;
+
+    private AdjacencyPolicy(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Creates a policy where properties are adjacent if their geometries are at most a distance apart.
+     *
+     * @param tolerance The maximum distance, in the units of the geometries.
+     * @return The policy.
+     * @throws IllegalArgumentException If the tolerance is negative or not a number.
+     */
+    public static AdjacencyPolicy withinDistance(double tolerance) {
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("Tolerance must be a non-negative number: " + tolerance);
+        }
+        return new AdjacencyPolicy("within distance " + tolerance) {
+            @Override
+            public double getTolerance() {
+                return tolerance;
+            }
+
+            @Override
+            protected boolean test(Geometry geometry1, Geometry geometry2) {
+                return geometry1.isWithinDistance(geometry2, tolerance);
+            }
+
+            @Override
+            protected boolean test(PreparedGeometry prepared, Geometry geometry) {
+                // Intersecting geometries are at distance 0, which the prepared test answers cheaply
+                return prepared.intersects(geometry) || prepared.getGeometry().isWithinDistance(geometry, tolerance);
+            }
+        };
+    }
+
+    /**
+     * Gets the distance by which the envelope of a property must be expanded to find all its candidates.
+     *
+     * @return The tolerance of the policy, or 0 if the geometries must meet.
+     */
+    public double getTolerance() {
+        return 0.0;
+    }
+
+    /**
+     * Determines if two properties are adjacent under this policy.
+     *
+     * @param property1 The first property.
+     * @param property2 The second property.
+     * @return True if the properties are adjacent, false otherwise or if a geometry cannot be read.
+     */
+    public boolean areAdjacent(Property property1, Property property2) {
+        try {
+            // Reject on the cached envelopes before looking at the geometries
+            if (!envelopesMayMatch(PropertyGeometryCache.getEnvelope(property1), PropertyGeometryCache.getEnvelope(property2))) {
+                return false;
+            }
+            return test(PropertyGeometryCache.getGeometry(property1), PropertyGeometryCache.getGeometry(property2));
+        } catch (Exception e) {
+            // Handle any errors during geometry parsing
+            System.err.println("Error reading geometries: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Prepares a property for being checked against many candidates.
+     *
+     * @param property The property that is checked repeatedly.
+     * @return The prepared check; it finds no adjacent property if the geometry cannot be read.
+     */
+    public Query prepare(Property property) {
+        try {
+            Geometry geometry = PropertyGeometryCache.getGeometry(property);
+            return new Query(PropertyGeometryCache.getEnvelope(property), PreparedGeometryFactory.prepare(geometry));
+        } catch (Exception e) {
+            System.err.println("Error reading geometry of property " + property.getObjectId() + ": " + e.getMessage());
+            return new Query(null, null);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    /**
+     * Checks whether two envelopes are close enough for their geometries to be adjacent.
+     */
+    private boolean envelopesMayMatch(Envelope envelope1, Envelope envelope2) {
+        return getTolerance() == 0.0 ? envelope1.intersects(envelope2) : envelope1.distance(envelope2) <= getTolerance();
+    }
+
+    /**
+     * Runs the exact predicate of the policy on two geometries.
+     */
+    protected abstract boolean test(Geometry geometry1, Geometry geometry2);
+
+    /**
+     * Runs the exact predicate of the policy on a prepared geometry and another geometry.
+     */
+    protected abstract boolean test(PreparedGeometry prepared, Geometry geometry);
+
+    /**
+     * A property prepared for checking its adjacency to many candidates.
+     */
+    public final class Query {
+        private final Envelope envelope;
+        private final PreparedGeometry prepared;
+
+        private Query(Envelope envelope, PreparedGeometry prepared) {
+            this.envelope = envelope;
+            this.prepared = prepared;
+        }
+
+        /**
+         * Checks whether a candidate is adjacent to the prepared property.
+         *
+         * @param candidate The candidate property.
+         * @return True if the properties are adjacent, false otherwise or if a geometry cannot be read.
+         */
+        public boolean isAdjacentTo(Property candidate) {
+            if (prepared == null) {
+                return false;
+            }
+            try {
+                if (!envelopesMayMatch(envelope, PropertyGeometryCache.getEnvelope(candidate))) {
+                    return false;
+                }
+                return test(prepared, PropertyGeometryCache.getGeometry(candidate));
+            } catch (Exception e) {
+                System.err.println("Error reading geometry of property " + candidate.getObjectId() + ": " + e.getMessage());
+                return false;
+            }
+        }
+    }
+}
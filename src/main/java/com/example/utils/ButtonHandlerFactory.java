@@ -2,12 +2,15 @@ package com.example.utils;
 
 import java.awt.event.ActionListener;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 
 import com.example.Property;
 import com.example.handlers.AreaButtonHandler;
+import com.example.handlers.BackgroundTaskRunner;
 import com.example.handlers.DetailsButtonHandler;
 import com.example.handlers.ExtraButtonHandler;
 import com.example.handlers.OwnerGraphButtonHandler;
@@ -20,6 +23,12 @@ import com.example.handlers.SuggestionButtonHandler;
  */
 public class ButtonHandlerFactory {
 
+    // Dataset shared by the handlers created for the same list of properties
+    private static PropertyDataset cachedDataset;
+
+    // Runner of the background work of each frame, shared by the handlers of the frame so it can cancel their tasks on close
+    private static final Map<JFrame, BackgroundTaskRunner> taskRunners = new WeakHashMap<>();
+
     /**
      * Creates an ActionListener based on the given action name.
      *
@@ -31,38 +40,82 @@ public class ButtonHandlerFactory {
      * @throws IllegalArgumentException If the actionName is unknown.
      */
     public static ActionListener createHandler(String actionName, JPanel panel, List<Property> properties, JFrame frame) {
+        return createHandler(actionName, panel, getDataset(properties), frame);
+    }
+
+    /**
+     * Creates an ActionListener based on the given action name, sharing the dataset of the session.
+     *
+     * @param actionName The name of the action to handle.
+     * @param panel      The panel associated with the action, used by most handlers.
+     * @param dataset    The properties of the session, parsed once and shared by all handlers.
+     * @param frame      The main frame, used for actions like closing the application.
+     * @return An ActionListener instance corresponding to the specified action.
+     * @throws IllegalArgumentException If the actionName is unknown.
+     */
+    public static ActionListener createHandler(String actionName, JPanel panel, PropertyDataset dataset, JFrame frame) {
         switch (actionName) {
             case "Details":
                 // Handler for displaying details of a specific property
-                return new DetailsButtonHandler(panel, properties);
+                return new DetailsButtonHandler(panel, dataset, getTaskRunner(frame));
 
             case "Property Map":
                 // Handler for showing a specific property on the map
-                return new PropertyMapButtonHandler(panel, properties);
+                return new PropertyMapButtonHandler(panel, dataset, getTaskRunner(frame));
 
             case "Area":
                 // Handler for displaying area-related information
-                return new AreaButtonHandler(panel, properties);
+                return new AreaButtonHandler(panel, dataset, getTaskRunner(frame));
 
             case "Owner Graph":
                 // Handler for showing the owner graph
-                return new OwnerGraphButtonHandler();
+                return new OwnerGraphButtonHandler(dataset, getTaskRunner(frame));
 
             case "Suggestion":
                 // Handler for displaying property swap suggestions
-                return new SuggestionButtonHandler(panel, properties);
+                return new SuggestionButtonHandler(panel, dataset, getTaskRunner(frame));
 
             case "Extra":
                 // Handler for extra functionality like plotting two selected properties
-                return new ExtraButtonHandler(panel, properties);
+                return new ExtraButtonHandler(panel, dataset);
 
             case "Close":
-                // Handler to close the frame
-                return e -> frame.dispose();
+                // Handler to cancel the running tasks and close the frame
+                return e -> {
+                    getTaskRunner(frame).cancelAll();
+                    frame.dispose();
+                };
 
             default:
                 // Throws an exception for unsupported or unknown actions
                 throw new IllegalArgumentException("Unknown action: " + actionName);
         }
     }
+
+    /**
+     * Gets the dataset of a list of properties, so its indexes are only built once
+     * for all the handlers of the same list.
+     *
+     * @param properties The list of properties.
+     * @return The dataset of the list.
+     */
+    private static PropertyDataset getDataset(List<Property> properties) {
+        if (cachedDataset == null || cachedDataset.getPropertyManager().getProperties() != properties) {
+            cachedDataset = new PropertyDataset(properties);
+        }
+        return cachedDataset;
+    }
+
+    /**
+     * Gets the background task runner shared by the handlers of a frame, creating it on first use.
+     * Each frame has its own runner, which is released together with the frame.
+     *
+     * @param frame The main frame, used as the parent of the progress dialogs.
+     * @return The background task runner of the frame.
+     */
+    private static BackgroundTaskRunner getTaskRunner(JFrame frame) {
+        synchronized (taskRunners) {
+            return taskRunners.computeIfAbsent(frame, BackgroundTaskRunner::new);
+        }
+    }
 }
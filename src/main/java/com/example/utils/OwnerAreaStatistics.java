@@ -0,0 +1,248 @@
+package com.example.utils;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.Property;
+import com.example.PropertySwapSuggestion;
+
+/**
+ * Running area sum and property count per owner, keyed by owner code.
+ * Swaps are applied to the statistics only: the owner a property is moved to is remembered here,
+ * so the property list is never modified and a copy of the statistics can be used for each what-if scenario.
+ * Applying or evaluating a swap updates two owners and costs constant time, including the change of
+ * the mean of the average area per owner, which is kept as a running sum of owner averages.
+ * Owners are grouped by their case-insensitive dictionary code and properties with an invalid area are counted
+ * for no owner, the same rule as {@link PropertyGeometryUtils#calculateAverageAreaPerOwner(List)}, so the owner
+ * averages and their mean match the values of that method.
+ */
+public class OwnerAreaStatistics {
+
+    private double[] areas;            // Total valid area per owner code
+    private int[] counts;              // Number of properties with a valid area per owner code
+    private double sumOfAverages = 0.0;
+    private int ownerCount = 0;        // Number of owners with at least one property
+    private final Map<Property, Integer> movedOwners; // Owner code of the properties moved by a swap
+    private final PropertyDictionaries dictionaries;  // Dictionaries that encoded the owners
+
+    /**
+     * Accumulates the valid areas of a list of properties per owner.
+     *
+     * @param properties The list of properties.
+     * @throws IllegalArgumentException If the properties were encoded by different datasets.
+     */
+    public OwnerAreaStatistics(List<Property> properties) {
+        dictionaries = PropertyDictionaries.encodeAll(properties);
+        areas = new double[16];
+        counts = new int[16];
+        movedOwners = new IdentityHashMap<>();
+        for (Property property : properties) {
+            double area = areaOf(property);
+            if (!Double.isNaN(area)) {
+                update(property.getOwnerCode(), area, 1);
+            }
+        }
+    }
+
+    /**
+     * Creates an independent copy of other statistics.
+     *
+     * @param other The statistics to copy.
+     */
+    public OwnerAreaStatistics(OwnerAreaStatistics other) {
+        areas = other.areas.clone();
+        counts = other.counts.clone();
+        sumOfAverages = other.sumOfAverages;
+        ownerCount = other.ownerCount;
+        movedOwners = new IdentityHashMap<>(other.movedOwners);
+        dictionaries = other.dictionaries;
+    }
+
+    /**
+     * Gets the current owner code of a property, taking the swaps applied so far into account.
+     *
+     * @param property The property.
+     * @return The owner code.
+     */
+    public int ownerCodeOf(Property property) {
+        Integer moved = movedOwners.get(property);
+        return moved != null ? moved : property.getOwnerCode();
+    }
+
+    /**
+     * Applies a swap to the statistics: property1 moves to the current owner of property2,
+     * as {@link PropertySwapManager#applySwaps(List, List)} does to the properties.
+     *
+     * @param suggestion The swap to apply.
+     */
+    public void apply(PropertySwapSuggestion suggestion) {
+        Property property = suggestion.getProperty1();
+        int fromOwner = ownerCodeOf(property);
+        int toOwner = ownerCodeOf(suggestion.getProperty2());
+        transfer(fromOwner, toOwner, areaOf(property));
+        movedOwners.put(property, toOwner);
+    }
+
+    /**
+     * Applies swaps to the statistics in list order.
+     *
+     * @param suggestions The swaps to apply.
+     */
+    public void applyAll(List<PropertySwapSuggestion> suggestions) {
+        for (PropertySwapSuggestion suggestion : suggestions) {
+            apply(suggestion);
+        }
+    }
+
+    /**
+     * Evaluates a swap without applying it.
+     *
+     * @param suggestion The swap to evaluate.
+     * @return The change of the mean of the average area per owner if the swap were applied.
+     */
+    public double gainOf(PropertySwapSuggestion suggestion) {
+        int fromOwner = ownerCodeOf(suggestion.getProperty1());
+        int toOwner = ownerCodeOf(suggestion.getProperty2());
+        return gainOfTransfer(fromOwner, toOwner, areaOf(suggestion.getProperty1()));
+    }
+
+    /**
+     * Evaluates the move of an area from one owner to another without applying it.
+     * The change is computed from the totals of the two owners only, so the statistics are not modified.
+     *
+     * @param fromOwner The code of the owner losing the area.
+     * @param toOwner   The code of the owner receiving the area.
+     * @param area      The area; NaN leaves the statistics unchanged.
+     * @return The change of the mean of the average area per owner.
+     */
+    public double gainOfTransfer(int fromOwner, int toOwner, double area) {
+        if (Double.isNaN(area) || fromOwner == toOwner) {
+            return 0.0;
+        }
+
+        // Replace the averages of both owners in the running sum, and count the owners that appear or disappear
+        double sumAfter = sumOfAverages
+                - averageOrZero(getArea(fromOwner), getCount(fromOwner))
+                - averageOrZero(getArea(toOwner), getCount(toOwner))
+                + averageOrZero(getArea(fromOwner) - area, getCount(fromOwner) - 1)
+                + averageOrZero(getArea(toOwner) + area, getCount(toOwner) + 1);
+        int ownerCountAfter = ownerCount
+                - (getCount(fromOwner) > 0 ? 1 : 0) + (getCount(fromOwner) - 1 > 0 ? 1 : 0)
+                - (getCount(toOwner) > 0 ? 1 : 0) + (getCount(toOwner) + 1 > 0 ? 1 : 0);
+
+        double meanAfter = ownerCountAfter > 0 ? sumAfter / ownerCountAfter : 0.0;
+        return meanAfter - getMeanAverageArea();
+    }
+
+    /**
+     * Moves an area from one owner to another.
+     *
+     * @param fromOwner The code of the owner losing the area.
+     * @param toOwner   The code of the owner receiving the area.
+     * @param area      The area; NaN leaves the statistics unchanged.
+     */
+    public void transfer(int fromOwner, int toOwner, double area) {
+        if (Double.isNaN(area) || fromOwner == toOwner) {
+            return;
+        }
+        update(fromOwner, -area, -1);
+        update(toOwner, area, 1);
+    }
+
+    /**
+     * Gets the average area of an owner.
+     *
+     * @param ownerCode The owner code.
+     * @return The average area, or NaN if the owner has no property with a valid area.
+     */
+    public double getAverageArea(int ownerCode) {
+        if (ownerCode < 0 || ownerCode >= counts.length || counts[ownerCode] == 0) {
+            return Double.NaN;
+        }
+        return areas[ownerCode] / counts[ownerCode];
+    }
+
+    /**
+     * Gets the average area of an owner, ignoring case.
+     *
+     * @param owner The owner.
+     * @return The average area, or NaN if the owner has no property with a valid area.
+     */
+    public double getAverageArea(String owner) {
+        return getAverageArea(dictionaries.ownerCodeOf(owner));
+    }
+
+    /**
+     * Gets the number of properties of an owner with a valid area.
+     *
+     * @param ownerCode The owner code.
+     * @return The number of properties.
+     */
+    public int getCount(int ownerCode) {
+        return ownerCode >= 0 && ownerCode < counts.length ? counts[ownerCode] : 0;
+    }
+
+    /**
+     * Gets the mean of the average area per owner, over the owners with at least one property.
+     *
+     * @return The mean of the owner averages, or 0 if there are no owners.
+     */
+    public double getMeanAverageArea() {
+        return ownerCount > 0 ? sumOfAverages / ownerCount : 0.0;
+    }
+
+    /**
+     * Gets the number of owners with at least one property.
+     *
+     * @return The number of owners.
+     */
+    public int getOwnerCount() {
+        return ownerCount;
+    }
+
+    // Helper methods
+
+    private double getArea(int ownerCode) {
+        return ownerCode >= 0 && ownerCode < areas.length ? areas[ownerCode] : 0.0;
+    }
+
+    private static double averageOrZero(double area, int count) {
+        return count > 0 ? area / count : 0.0;
+    }
+
+    private void update(int owner, double areaDelta, int countDelta) {
+        if (owner >= counts.length) {
+            int capacity = Math.max(owner + 1, counts.length * 2);
+            areas = Arrays.copyOf(areas, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        if (counts[owner] > 0) {
+            sumOfAverages -= areas[owner] / counts[owner];
+            ownerCount--;
+        }
+        areas[owner] += areaDelta;
+        counts[owner] += countDelta;
+        if (counts[owner] == 0) {
+            areas[owner] = 0.0; // Drop rounding leftovers
+        } else {
+            sumOfAverages += areas[owner] / counts[owner];
+            ownerCount++;
+        }
+    }
+
+    /**
+     * Parses the area of a property; shared with {@link PropertyGeometryUtils#calculateAverageAreaPerOwner(List)}.
+     *
+     * @param property The property.
+     * @return The area, or NaN if it is missing or not a number.
+     */
+    static double areaOf(Property property) {
+        try {
+            return Double.parseDouble(property.getShapeArea());
+        } catch (NumberFormatException | NullPointerException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.utils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleWeightedGraph;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+
+import com.example.Property;
+
+/**
+ * Builds the graph of owners, where two owners are connected if any of their properties are adjacent.
+ * The owner edges are derived from a {@link PropertyAdjacencyGraph} in a single pass over the adjacent pairs:
+ * the weight of each owner pair is accumulated in a map keyed by the two owner codes, and every owner
+ * and every owner pair is added to the graph exactly once at the end.
+ */
+public class OwnerGraphBuilder {
+
+    /**
+     * Weight of the edge between two owners.
+     */
+    public enum EdgeWeight {
+        /** Number of adjacent property pairs between the owners. */
+        TOUCHING_PAIRS,
+        /** Total length of the boundary shared by the properties of the owners. */
+        SHARED_BOUNDARY_LENGTH
+    }
+
+    /**
+     * Builds the owner graph of a list of properties, computing their adjacency in parallel.
+     * Use {@link #buildOwnerGraph(PropertyAdjacencyGraph, EdgeWeight)} with {@link PropertyDataset#getAdjacencyGraph()}
+     * to reuse the adjacency store of a dataset.
+     *
+     * @param properties The list of properties.
+     * @param weight     The weight of the owner edges.
+     * @return The weighted owner graph, with the owner names as vertices.
+     */
+    public static Graph<String, DefaultWeightedEdge> buildOwnerGraph(List<Property> properties, EdgeWeight weight) {
+        return buildOwnerGraph(PropertyAdjacencyGraph.build(properties), weight);
+    }
+
+    /**
+     * Builds the owner graph of a list of properties from their adjacency lists.
+     *
+     * @param properties     The list of properties.
+     * @param adjacencyLists For each position in the list, the positions of the adjacent properties.
+     * @param weight         The weight of the owner edges.
+     * @return The weighted owner graph, with the owner names as vertices.
+     */
+    public static Graph<String, DefaultWeightedEdge> buildOwnerGraph(List<Property> properties, int[][] adjacencyLists,
+                                                                     EdgeWeight weight) {
+        return buildOwnerGraph(PropertyAdjacencyGraph.fromAdjacencyLists(properties, adjacencyLists), weight);
+    }
+
+    /**
+     * Builds the owner graph of a property adjacency graph.
+     *
+     * @param adjacencyGraph The adjacency graph of the properties.
+     * @param weight         The weight of the owner edges.
+     * @return The weighted owner graph, with the owner names as vertices.
+     */
+    public static Graph<String, DefaultWeightedEdge> buildOwnerGraph(PropertyAdjacencyGraph adjacencyGraph, EdgeWeight weight) {
+        PropertyDictionaries.encodeAll(adjacencyGraph.getProperties());
+        int vertexCount = adjacencyGraph.getVertexCount();
+
+        // Compute the weight of every adjacent pair (j > i); boundary lengths are computed in parallel
+        double[][] pairWeights = IntStream.range(0, vertexCount)
+                .parallel()
+                .mapToObj(i -> pairWeightsOf(adjacencyGraph, i, weight))
+                .toArray(double[][]::new);
+
+        // Accumulate the weights per pair of owners
+        Map<Long, double[]> ownerPairWeights = new HashMap<>();
+        for (int i = 0; i < vertexCount; i++) {
+            int owner1 = adjacencyGraph.getProperty(i).getOwnerCode();
+            for (int k = 0; k < adjacencyGraph.degree(i); k++) {
+                int j = adjacencyGraph.neighbor(i, k);
+                int owner2 = adjacencyGraph.getProperty(j).getOwnerCode();
+                if (j <= i || owner1 == owner2) {
+                    continue;
+                }
+                long key = pairKey(owner1, owner2);
+                ownerPairWeights.computeIfAbsent(key, x -> new double[1])[0] += pairWeights[i][k];
+            }
+        }
+
+        // Add every owner once, under the first spelling found in the list
+        Graph<String, DefaultWeightedEdge> ownerGraph = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Map<Integer, String> ownerNames = new HashMap<>();
+        for (int i = 0; i < vertexCount; i++) {
+            Property property = adjacencyGraph.getProperty(i);
+            if (ownerNames.putIfAbsent(property.getOwnerCode(), property.getOwner()) == null) {
+                ownerGraph.addVertex(property.getOwner());
+            }
+        }
+
+        // Add every owner pair once, with its accumulated weight
+        for (Map.Entry<Long, double[]> entry : ownerPairWeights.entrySet()) {
+            long key = entry.getKey();
+            String owner1 = ownerNames.get((int) (key >>> 32));
+            String owner2 = ownerNames.get((int) key);
+            DefaultWeightedEdge edge = ownerGraph.addEdge(owner1, owner2);
+            ownerGraph.setEdgeWeight(edge, entry.getValue()[0]);
+        }
+
+        return ownerGraph;
+    }
+
+    // Helper methods
+
+    /**
+     * Computes the weight of the pairs between a property and its adjacent properties at later positions.
+     * Entries of pairs at earlier positions are left at 0, since they are counted from the other side.
+     */
+    private static double[] pairWeightsOf(PropertyAdjacencyGraph adjacencyGraph, int i, EdgeWeight weight) {
+        double[] weights = new double[adjacencyGraph.degree(i)];
+        for (int k = 0; k < weights.length; k++) {
+            int j = adjacencyGraph.neighbor(i, k);
+            if (j > i) {
+                weights[k] = weight == EdgeWeight.TOUCHING_PAIRS
+                        ? 1.0
+                        : sharedBoundaryLength(adjacencyGraph.getProperty(i), adjacencyGraph.getProperty(j));
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Computes the length of the boundary shared by two properties.
+     *
+     * @return The shared length, or 0 if a geometry is invalid.
+     */
+    private static double sharedBoundaryLength(Property property1, Property property2) {
+        try {
+            Geometry geometry1 = PropertyGeometryCache.getGeometry(property1);
+            Geometry geometry2 = PropertyGeometryCache.getGeometry(property2);
+            return geometry1.getBoundary().intersection(geometry2.getBoundary()).getLength();
+        } catch (ParseException | RuntimeException e) {
+            System.err.println("Error computing the shared boundary of properties " + property1.getObjectId() +
+                               " and " + property2.getObjectId() + ": " + e.getMessage());
+            return 0.0;
+        }
+    }
+
+    private static long pairKey(int owner1, int owner2) {
+        // Order the codes so that both directions share one key
+        int low = Math.min(owner1, owner2);
+        int high = Math.max(owner1, owner2);
+        return ((long) low << 32) | (high & 0xFFFFFFFFL);
+    }
+}
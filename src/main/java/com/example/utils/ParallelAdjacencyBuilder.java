@@ -0,0 +1,233 @@
+package com.example.utils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleGraph;
+
+import com.example.Property;
+
+/**
+ * Builds the adjacency between properties in parallel.
+ * The properties are split into ranges that are processed by a {@link ForkJoinPool};
+ * each task checks its properties against the envelope candidates of a {@link PropertySpatialIndex}
+ * and collects the adjacent pairs in its own buffer. The buffers are merged in list order,
+ * so the result is the same as checking every pair sequentially.
+ * Adjacency is decided by an {@link AdjacencyPolicy}; each property is prepared once and checked against all its candidates.
+ */
+public class ParallelAdjacencyBuilder {
+
+    // Number of properties below which a task stops splitting
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    private final int parallelism;
+    private final AdjacencyPolicy policy;
+
+    /**
+     * Creates a builder that uses one thread per available processor and the {@link AdjacencyPolicy#INTERSECTING} policy.
+     */
+    public ParallelAdjacencyBuilder() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a builder with the given parallelism and the {@link AdjacencyPolicy#INTERSECTING} policy.
+     *
+     * @param parallelism The number of threads used to build the adjacency.
+     * @throws IllegalArgumentException If the parallelism is less than 1.
+     */
+    public ParallelAdjacencyBuilder(int parallelism) {
+        this(parallelism, AdjacencyPolicy.INTERSECTING);
+    }
+
+    /**
+     * Creates a builder with the given parallelism and adjacency policy.
+     *
+     * @param parallelism The number of threads used to build the adjacency.
+     * @param policy      The rule deciding whether two properties are adjacent.
+     * @throws IllegalArgumentException If the parallelism is less than 1 or the policy is null.
+     */
+    public ParallelAdjacencyBuilder(int parallelism, AdjacencyPolicy policy) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Adjacency policy cannot be null");
+        }
+        this.parallelism = parallelism;
+        this.policy = policy;
+    }
+
+    /**
+     * Gets the number of threads used to build the adjacency.
+     *
+     * @return The parallelism of this builder.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Gets the rule deciding whether two properties are adjacent.
+     *
+     * @return The adjacency policy of this builder.
+     */
+    public AdjacencyPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Builds a graph with the properties as vertices and their adjacency relations as edges.
+     * Vertices and edges are added in list order, exactly as a sequential all-pairs loop would add them.
+     *
+     * @param properties The list of properties.
+     * @return The adjacency graph.
+     */
+    public Graph<Property, DefaultEdge> buildGraph(List<Property> properties) {
+        int[] edges = buildEdges(properties);
+
+        Graph<Property, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        for (Property property : properties) {
+            graph.addVertex(property);
+        }
+        for (int k = 0; k < edges.length; k += 2) {
+            graph.addEdge(properties.get(edges[k]), properties.get(edges[k + 1]));
+        }
+        return graph;
+    }
+
+    /**
+     * Builds the adjacency lists of the properties.
+     *
+     * @param properties The list of properties.
+     * @return For each position in the list, the sorted positions of the adjacent properties.
+     */
+    public int[][] buildAdjacencyLists(List<Property> properties) {
+        int[] edges = buildEdges(properties);
+
+        // Count the degree of each property, then fill the lists in edge order
+        int[] degrees = new int[properties.size()];
+        for (int edge : edges) {
+            degrees[edge]++;
+        }
+        int[][] adjacencyLists = new int[properties.size()][];
+        for (int i = 0; i < adjacencyLists.length; i++) {
+            adjacencyLists[i] = new int[degrees[i]];
+        }
+        Arrays.fill(degrees, 0);
+        for (int k = 0; k < edges.length; k += 2) {
+            int source = edges[k];
+            int target = edges[k + 1];
+            adjacencyLists[source][degrees[source]++] = target;
+            adjacencyLists[target][degrees[target]++] = source;
+        }
+        for (int[] adjacencyList : adjacencyLists) {
+            Arrays.sort(adjacencyList);
+        }
+        return adjacencyLists;
+    }
+
+    /**
+     * Finds all adjacent pairs of properties.
+     *
+     * @param properties The list of properties.
+     * @return The pairs as consecutive (i, j) positions with i &lt; j, sorted by i and then j.
+     */
+    private int[] buildEdges(List<Property> properties) {
+        PropertySpatialIndex spatialIndex = new PropertySpatialIndex(properties);
+        List<Property> indexedProperties = spatialIndex.getProperties();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new EdgeTask(spatialIndex, indexedProperties, policy, 0, indexedProperties.size())).toArray();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Task that finds the adjacent pairs whose first property lies in a range of positions.
+     */
+    private static final class EdgeTask extends RecursiveTask<EdgeBuffer> {
+        private final PropertySpatialIndex spatialIndex;
+        private final List<Property> properties;
+        private final AdjacencyPolicy policy;
+        private final int from;
+        private final int to;
+
+        EdgeTask(PropertySpatialIndex spatialIndex, List<Property> properties, AdjacencyPolicy policy, int from, int to) {
+            this.spatialIndex = spatialIndex;
+            this.properties = properties;
+            this.policy = policy;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected EdgeBuffer compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                EdgeBuffer buffer = new EdgeBuffer();
+                for (int i = from; i < to; i++) {
+                    Property property = properties.get(i);
+                    int[] candidates = spatialIndex.candidateIndicesNear(property, policy.getTolerance());
+
+                    // Prepare the property only if it has candidates left to check
+                    if (candidates.length == 0 || candidates[candidates.length - 1] <= i) {
+                        continue;
+                    }
+                    AdjacencyPolicy.Query query = policy.prepare(property);
+                    for (int j : candidates) {
+                        // Adjacency is symmetric, so each pair is only checked once
+                        if (j > i && query.isAdjacentTo(properties.get(j))) {
+                            buffer.add(i, j);
+                        }
+                    }
+                }
+                return buffer;
+            }
+
+            int middle = (from + to) >>> 1;
+            EdgeTask left = new EdgeTask(spatialIndex, properties, policy, from, middle);
+            EdgeTask right = new EdgeTask(spatialIndex, properties, policy, middle, to);
+            left.fork();
+            EdgeBuffer rightEdges = right.compute();
+            EdgeBuffer leftEdges = left.join();
+            leftEdges.addAll(rightEdges);
+            return leftEdges;
+        }
+    }
+
+    /**
+     * Growable buffer of position pairs collected by a single task.
+     */
+    private static final class EdgeBuffer {
+        private int[] values = new int[16];
+        private int size = 0;
+
+        void add(int i, int j) {
+            ensureCapacity(size + 2);
+            values[size++] = i;
+            values[size++] = j;
+        }
+
+        void addAll(EdgeBuffer other) {
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+            }
+        }
+    }
+}
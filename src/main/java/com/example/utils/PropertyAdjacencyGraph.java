@@ -0,0 +1,556 @@
+package com.example.utils;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+import org.jgrapht.Graph;
+import org.jgrapht.GraphType;
+import org.jgrapht.graph.AbstractGraph;
+import org.jgrapht.graph.DefaultGraphType;
+
+import com.example.Property;
+
+/**
+ * Undirected adjacency graph of a list of properties, with the list positions as vertices.
+ * The edges are stored in compressed sparse row (CSR) form: the sorted neighbours of vertex {@code v}
+ * are {@code neighbors[offsets[v]]} to {@code neighbors[offsets[v + 1] - 1]}, so every edge costs
+ * two {@code int}s instead of an edge object and two hash map entries.
+ * {@link #asGraph()} exposes the graph as a read-only JGraphT {@link Graph} for the existing visualization and algorithms.
+ */
+public class PropertyAdjacencyGraph {
+
+    private final List<Property> properties;
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final Map<Property, Integer> positions;
+
+    private PropertyAdjacencyGraph(List<Property> properties, int[] offsets, int[] neighbors) {
+        this.properties = properties;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.positions = new IdentityHashMap<>();
+        for (int i = 0; i < properties.size(); i++) {
+            positions.put(properties.get(i), i);
+        }
+    }
+
+    /**
+     * Creates the graph from adjacency lists.
+     *
+     * @param properties     The list of properties.
+     * @param adjacencyLists For each position in the list, the positions of the adjacent properties.
+     * @return The adjacency graph.
+     */
+    public static PropertyAdjacencyGraph fromAdjacencyLists(List<Property> properties, int[][] adjacencyLists) {
+        int[] offsets = new int[properties.size() + 1];
+        for (int i = 0; i < properties.size(); i++) {
+            offsets[i + 1] = offsets[i] + adjacencyLists[i].length;
+        }
+        int[] neighbors = new int[offsets[properties.size()]];
+        for (int i = 0; i < properties.size(); i++) {
+            System.arraycopy(adjacencyLists[i], 0, neighbors, offsets[i], adjacencyLists[i].length);
+            Arrays.sort(neighbors, offsets[i], offsets[i + 1]);
+        }
+        return new PropertyAdjacencyGraph(properties, offsets, neighbors);
+    }
+
+    /**
+     * Builds the adjacency graph of a list of properties, computing the adjacency in parallel.
+     *
+     * @param properties The list of properties.
+     * @return The adjacency graph.
+     */
+    public static PropertyAdjacencyGraph build(List<Property> properties) {
+        return build(properties, null);
+    }
+
+    /**
+     * Builds the adjacency graph of a list of properties, reading the adjacency from a store when one is given.
+     *
+     * @param properties     The list of properties; may be a subset of the dataset of the store.
+     * @param adjacencyStore The adjacency store of the dataset, or null to compute the adjacency in parallel.
+     * @return The adjacency graph.
+     * @throws NumberFormatException If a store is given and an OBJECTID is not an integer.
+     */
+    public static PropertyAdjacencyGraph build(List<Property> properties, PropertyAdjacencyStore adjacencyStore) {
+        if (adjacencyStore == null) {
+            return fromAdjacencyLists(properties, new ParallelAdjacencyBuilder().buildAdjacencyLists(properties));
+        }
+
+        // Translate the neighbour OBJECTIDs of the store into list positions
+        PropertyIdIndex idIndex = new PropertyIdIndex(properties);
+        Map<Property, Integer> positions = new IdentityHashMap<>();
+        for (int i = 0; i < properties.size(); i++) {
+            positions.put(properties.get(i), i);
+        }
+        int[][] adjacencyLists = new int[properties.size()][];
+        for (int i = 0; i < properties.size(); i++) {
+            adjacencyLists[i] = adjacencyStore.adjacentTo(properties.get(i), idIndex).stream()
+                    .mapToInt(positions::get)
+                    .toArray();
+        }
+        return fromAdjacencyLists(properties, adjacencyLists);
+    }
+
+    /**
+     * Gets the number of vertices.
+     *
+     * @return The number of properties.
+     */
+    public int getVertexCount() {
+        return properties.size();
+    }
+
+    /**
+     * Gets the number of undirected edges.
+     *
+     * @return The number of adjacent pairs.
+     */
+    public int getEdgeCount() {
+        return neighbors.length / 2;
+    }
+
+    /**
+     * Gets the properties of the vertices.
+     *
+     * @return An unmodifiable list of the properties, in vertex order.
+     */
+    public List<Property> getProperties() {
+        return Collections.unmodifiableList(properties);
+    }
+
+    /**
+     * Gets the property of a vertex.
+     *
+     * @param vertex The vertex.
+     * @return The property at this position of the list.
+     */
+    public Property getProperty(int vertex) {
+        return properties.get(vertex);
+    }
+
+    /**
+     * Gets the vertex of a property.
+     *
+     * @param property The property.
+     * @return Its position in the list, or -1 if the property is not in the graph.
+     */
+    public int indexOf(Property property) {
+        Integer position = positions.get(property);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Gets the number of neighbours of a vertex.
+     *
+     * @param vertex The vertex.
+     * @return The degree of the vertex.
+     */
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    /**
+     * Gets a neighbour of a vertex.
+     *
+     * @param vertex The vertex.
+     * @param k      The index of the neighbour, from 0 to {@code degree(vertex) - 1}.
+     * @return The k-th neighbour in ascending order.
+     */
+    public int neighbor(int vertex, int k) {
+        return neighbors[offsets[vertex] + k];
+    }
+
+    /**
+     * Gets the neighbours of a vertex.
+     *
+     * @param vertex The vertex.
+     * @return A new array with the neighbours in ascending order.
+     */
+    public int[] neighborsOf(int vertex) {
+        return Arrays.copyOfRange(neighbors, offsets[vertex], offsets[vertex + 1]);
+    }
+
+    /**
+     * Calls an action for each neighbour of a vertex, in ascending order.
+     *
+     * @param vertex The vertex.
+     * @param action The action to call with each neighbour.
+     */
+    public void forEachNeighbor(int vertex, IntConsumer action) {
+        for (int k = offsets[vertex]; k < offsets[vertex + 1]; k++) {
+            action.accept(neighbors[k]);
+        }
+    }
+
+    /**
+     * Checks if two vertices are adjacent.
+     *
+     * @param vertex1 The first vertex.
+     * @param vertex2 The second vertex.
+     * @return True if the vertices are adjacent, otherwise false.
+     */
+    public boolean areAdjacent(int vertex1, int vertex2) {
+        return Arrays.binarySearch(neighbors, offsets[vertex1], offsets[vertex1 + 1], vertex2) >= 0;
+    }
+
+    /**
+     * Labels the connected components of the graph.
+     *
+     * @return For each vertex, the number of its component; components are numbered from 0 in order of their lowest vertex.
+     */
+    public int[] componentLabels() {
+        int[] labels = new int[properties.size()];
+        Arrays.fill(labels, -1);
+        int[] queue = new int[properties.size()];
+        int componentCount = 0;
+
+        // Breadth-first search from every unlabelled vertex
+        for (int start = 0; start < labels.length; start++) {
+            if (labels[start] >= 0) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            labels[start] = componentCount;
+            while (head < tail) {
+                int vertex = queue[head++];
+                for (int k = offsets[vertex]; k < offsets[vertex + 1]; k++) {
+                    if (labels[neighbors[k]] < 0) {
+                        labels[neighbors[k]] = componentCount;
+                        queue[tail++] = neighbors[k];
+                    }
+                }
+            }
+            componentCount++;
+        }
+        return labels;
+    }
+
+    /**
+     * Groups the properties by connected component.
+     *
+     * @return The components in order of their lowest vertex, each with its properties in list order.
+     */
+    public List<List<Property>> connectedComponents() {
+        int[] labels = componentLabels();
+        List<List<Property>> components = new ArrayList<>();
+        for (int vertex = 0; vertex < labels.length; vertex++) {
+            if (labels[vertex] == components.size()) {
+                components.add(new ArrayList<>());
+            }
+            components.get(labels[vertex]).add(properties.get(vertex));
+        }
+        return components;
+    }
+
+    /**
+     * Gets a read-only JGraphT view of the graph, with the properties as vertices.
+     * Edge objects are created on demand and compare equal when they join the same two vertices.
+     *
+     * @return The graph view; modifying operations throw {@link UnsupportedOperationException}.
+     */
+    public Graph<Property, Edge> asGraph() {
+        return new GraphView();
+    }
+
+    /**
+     * Undirected edge of the graph view, from the lower to the higher vertex.
+     */
+    public static final class Edge {
+        private final int source;
+        private final int target;
+
+        private Edge(int vertex1, int vertex2) {
+            this.source = Math.min(vertex1, vertex2);
+            this.target = Math.max(vertex1, vertex2);
+        }
+
+        /**
+         * Gets the lower vertex of the edge.
+         *
+         * @return The source vertex.
+         */
+        public int getSource() {
+            return source;
+        }
+
+        /**
+         * Gets the higher vertex of the edge.
+         *
+         * @return The target vertex.
+         */
+        public int getTarget() {
+            return target;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Edge)) {
+                return false;
+            }
+            Edge edge = (Edge) other;
+            return source == edge.source && target == edge.target;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * source + target;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + source + " : " + target + ")";
+        }
+    }
+
+    /**
+     * Read-only JGraphT view of the CSR arrays.
+     */
+    private class GraphView extends AbstractGraph<Property, Edge> {
+
+        private final GraphType type = new DefaultGraphType.Builder()
+                .undirected()
+                .allowMultipleEdges(false)
+                .allowSelfLoops(false)
+                .weighted(false)
+                .modifiable(false)
+                .build();
+
+        @Override
+        public Set<Edge> getAllEdges(Property source, Property target) {
+            Edge edge = getEdge(source, target);
+            return edge != null ? Collections.singleton(edge) : null;
+        }
+
+        @Override
+        public Edge getEdge(Property source, Property target) {
+            int vertex1 = indexOf(source);
+            int vertex2 = indexOf(target);
+            if (vertex1 < 0 || vertex2 < 0 || !areAdjacent(vertex1, vertex2)) {
+                return null;
+            }
+            return new Edge(vertex1, vertex2);
+        }
+
+        @Override
+        public Supplier<Property> getVertexSupplier() {
+            return null;
+        }
+
+        @Override
+        public Supplier<Edge> getEdgeSupplier() {
+            return null;
+        }
+
+        @Override
+        public Edge addEdge(Property source, Property target) {
+            throw new UnsupportedOperationException("The property adjacency graph is read-only");
+        }
+
+        @Override
+        public boolean addEdge(Property source, Property target, Edge edge) {
+            throw new UnsupportedOperationException("The property adjacency graph is read-only");
+        }
+
+        @Override
+        public Property addVertex() {
+            throw new UnsupportedOperationException("The property adjacency graph is read-only");
+        }
+
+        @Override
+        public boolean addVertex(Property property) {
+            throw new UnsupportedOperationException("The property adjacency graph is read-only");
+        }
+
+        @Override
+        public boolean containsEdge(Edge edge) {
+            return edge.target < properties.size() && areAdjacent(edge.source, edge.target);
+        }
+
+        @Override
+        public boolean containsVertex(Property property) {
+            return indexOf(property) >= 0;
+        }
+
+        @Override
+        public Set<Edge> edgeSet() {
+            return new AbstractSet<Edge>() {
+                @Override
+                public Iterator<Edge> iterator() {
+                    return new EdgeIterator();
+                }
+
+                @Override
+                public int size() {
+                    return getEdgeCount();
+                }
+
+                @Override
+                public boolean contains(Object object) {
+                    return object instanceof Edge && containsEdge((Edge) object);
+                }
+            };
+        }
+
+        @Override
+        public int degreeOf(Property property) {
+            return degree(vertexOf(property));
+        }
+
+        @Override
+        public Set<Edge> edgesOf(Property property) {
+            int vertex = vertexOf(property);
+            Set<Edge> edges = new LinkedHashSet<>();
+            forEachNeighbor(vertex, neighbor -> edges.add(new Edge(vertex, neighbor)));
+            return Collections.unmodifiableSet(edges);
+        }
+
+        @Override
+        public int inDegreeOf(Property property) {
+            return degreeOf(property);
+        }
+
+        @Override
+        public Set<Edge> incomingEdgesOf(Property property) {
+            return edgesOf(property);
+        }
+
+        @Override
+        public int outDegreeOf(Property property) {
+            return degreeOf(property);
+        }
+
+        @Override
+        public Set<Edge> outgoingEdgesOf(Property property) {
+            return edgesOf(property);
+        }
+
+        @Override
+        public Edge removeEdge(Property source, Property target) {
+            throw new UnsupportedOperationException("The property adjacency graph is read-only");
+        }
+
+        @Override
+        public boolean removeEdge(Edge edge) {
+            throw new UnsupportedOperationException("The property adjacency graph is read-only");
+        }
+
+        @Override
+        public boolean removeVertex(Property property) {
+            throw new UnsupportedOperationException("The property adjacency graph is read-only");
+        }
+
+        @Override
+        public Set<Property> vertexSet() {
+            return new AbstractSet<Property>() {
+                @Override
+                public Iterator<Property> iterator() {
+                    return Collections.unmodifiableList(properties).iterator();
+                }
+
+                @Override
+                public int size() {
+                    return properties.size();
+                }
+
+                @Override
+                public boolean contains(Object object) {
+                    return object instanceof Property && indexOf((Property) object) >= 0;
+                }
+            };
+        }
+
+        @Override
+        public Property getEdgeSource(Edge edge) {
+            return properties.get(edge.source);
+        }
+
+        @Override
+        public Property getEdgeTarget(Edge edge) {
+            return properties.get(edge.target);
+        }
+
+        @Override
+        public GraphType getType() {
+            return type;
+        }
+
+        @Override
+        public double getEdgeWeight(Edge edge) {
+            return Graph.DEFAULT_EDGE_WEIGHT;
+        }
+
+        @Override
+        public void setEdgeWeight(Edge edge, double weight) {
+            throw new UnsupportedOperationException("The property adjacency graph is read-only");
+        }
+
+        private int vertexOf(Property property) {
+            int vertex = indexOf(property);
+            if (vertex < 0) {
+                throw new IllegalArgumentException("No such vertex in graph: " + property);
+            }
+            return vertex;
+        }
+    }
+
+    /**
+     * Iterates over the edges from each vertex to its higher neighbours.
+     */
+    private class EdgeIterator implements Iterator<Edge> {
+        private int vertex = 0;
+        private int k = 0;
+
+        EdgeIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return vertex < properties.size();
+        }
+
+        @Override
+        public Edge next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Edge edge = new Edge(vertex, neighbors[k]);
+            k++;
+            advance();
+            return edge;
+        }
+
+        /**
+         * Moves to the next neighbour higher than its vertex.
+         */
+        private void advance() {
+            while (vertex < properties.size()) {
+                if (k < offsets[vertex]) {
+                    k = offsets[vertex];
+                }
+                // Neighbours are sorted, so skip the lower ones
+                while (k < offsets[vertex + 1] && neighbors[k] <= vertex) {
+                    k++;
+                }
+                if (k < offsets[vertex + 1]) {
+                    return;
+                }
+                vertex++;
+            }
+        }
+    }
+}
@@ -0,0 +1,512 @@
+package com.example.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import com.example.Property;
+
+/**
+ * Precomputed adjacency of a whole CSV dataset, persisted in a binary file next to the CSV.
+ * The file stores the adjacency in compressed sparse row (CSR) form keyed by OBJECTID:
+ * <ul>
+ *   <li>a header with the size and CRC32 checksum of the source CSV file, the number of properties
+ *       read from it and the adjacency policy the file was built with;</li>
+ *   <li>the sorted OBJECTIDs of all properties;</li>
+ *   <li>the offsets of each property's neighbours;</li>
+ *   <li>the OBJECTIDs of the neighbours, sorted per property.</li>
+ * </ul>
+ * The file is only ever built from all the properties of a {@link PropertyDataset} read from the CSV file,
+ * memory-mapped on later runs and rebuilt when the CSV file, the property count or the policy changes.
+ * If the file cannot be written, the computed adjacency is kept in memory instead.
+ */
+public class PropertyAdjacencyStore {
+
+    /** Extension appended to the CSV file name to obtain the adjacency file. */
+    public static final String FILE_EXTENSION = ".adj";
+
+    private static final int MAGIC = 0x41444A31; // "ADJ1"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 40;
+
+    // Store of the last dataset, shared by all callers, and the CSV file version it belongs to
+    private static PropertyAdjacencyStore current;
+    private static String currentKey;
+
+    // CSV file versions whose adjacency file could not be written; their adjacency is only kept in memory
+    private static final Set<String> unwritableKeys = new HashSet<>();
+
+    private final int vertexCount;
+    private final IntBuffer objectIds;
+    private final IntBuffer offsets;
+    private final IntBuffer neighbors;
+    private final boolean persistent;
+
+    private PropertyAdjacencyStore(int vertexCount, IntBuffer objectIds, IntBuffer offsets, IntBuffer neighbors, boolean persistent) {
+        this.vertexCount = vertexCount;
+        this.objectIds = objectIds;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.persistent = persistent;
+    }
+
+    /**
+     * Gets the adjacency store of a dataset read from a CSV file.
+     * The store is loaded or built on the first call and reused while the CSV file is unchanged.
+     * A failure is remembered for the CSV file, so later calls neither rebuild the adjacency nor retry the file.
+     *
+     * @param dataset The dataset; its properties must be all the properties of its source file.
+     * @return The adjacency store, or null if the dataset was not read from a file or an OBJECTID is not an integer.
+     */
+    public static synchronized PropertyAdjacencyStore forDataset(PropertyDataset dataset) {
+        File csvFile = dataset.getSourceFile();
+        if (csvFile == null) {
+            return null;
+        }
+
+        String key = csvFile.getAbsolutePath() + ':' + csvFile.length() + ':' + csvFile.lastModified() + ':' + dataset.getProperties().size();
+        if (key.equals(currentKey)) {
+            return current;
+        }
+
+        currentKey = key;
+        try {
+            current = loadOrBuild(csvFile, dataset.getProperties(), AdjacencyPolicy.INTERSECTING, !unwritableKeys.contains(key));
+            if (!current.isPersistent()) {
+                unwritableKeys.add(key);
+            }
+        } catch (NumberFormatException e) {
+            // Callers fall back to computing adjacency themselves
+            System.err.println("Error building adjacency of " + csvFile + ": " + e.getMessage());
+            current = null;
+        }
+        return current;
+    }
+
+    /**
+     * Loads the adjacency file of a CSV file, building it first if it is missing, out of date or corrupt.
+     *
+     * @param csvFile    The source CSV file.
+     * @param properties All properties read from the CSV file.
+     * @param policy     The rule deciding whether two properties are adjacent.
+     * @param write      True to write the adjacency file if it must be built, false to only keep it in memory.
+     * @return The memory-mapped adjacency store, or a store in memory if the adjacency file cannot be used.
+     * @throws NumberFormatException If an OBJECTID is not an integer.
+     */
+    public static PropertyAdjacencyStore loadOrBuild(File csvFile, List<Property> properties, AdjacencyPolicy policy, boolean write) {
+        File adjacencyFile = new File(csvFile.getPath() + FILE_EXTENSION);
+        Header header;
+        try {
+            header = headerOf(csvFile, properties, policy);
+        } catch (IOException e) {
+            System.err.println("Error reading " + csvFile + ", keeping its adjacency in memory: " + e.getMessage());
+            return build(properties, policy);
+        }
+
+        try {
+            if (adjacencyFile.isFile()) {
+                PropertyAdjacencyStore store = map(adjacencyFile, header);
+                if (store != null) {
+                    return store;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading adjacency file " + adjacencyFile + ", rebuilding it: " + e.getMessage());
+        }
+
+        PropertyAdjacencyStore store = build(properties, policy);
+        if (write) {
+            try {
+                store.write(adjacencyFile, header);
+                PropertyAdjacencyStore mapped = map(adjacencyFile, header);
+                if (mapped != null) {
+                    return mapped;
+                }
+                System.err.println("Adjacency file could not be verified after writing: " + adjacencyFile);
+            } catch (IOException e) {
+                System.err.println("Error writing adjacency file " + adjacencyFile + ", keeping it in memory: " + e.getMessage());
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Computes the header identifying the adjacency of a CSV file.
+     *
+     * @param csvFile    The source CSV file.
+     * @param properties All properties read from the CSV file.
+     * @param policy     The rule deciding whether two properties are adjacent.
+     * @return The expected header of the adjacency file.
+     * @throws IOException If the CSV file cannot be read.
+     */
+    static Header headerOf(File csvFile, List<Property> properties, AdjacencyPolicy policy) throws IOException {
+        return new Header(csvFile.length(), checksum(csvFile), properties.size(), policy.toString().hashCode());
+    }
+
+    /**
+     * Calculates the CRC32 checksum of a file.
+     *
+     * @param file The file to read.
+     * @return The checksum of the file contents.
+     * @throws IOException If the file cannot be read.
+     */
+    static long checksum(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        try (FileChannel channel = FileChannel.open(file.toPath())) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Computes the adjacency of the properties in parallel and keeps it in memory.
+     *
+     * @param properties All properties read from the CSV file.
+     * @param policy     The rule deciding whether two properties are adjacent.
+     * @return The adjacency store, not backed by a file.
+     * @throws NumberFormatException If an OBJECTID is not an integer.
+     */
+    static PropertyAdjacencyStore build(List<Property> properties, AdjacencyPolicy policy) {
+        int[] objectIds = new int[properties.size()];
+        for (int i = 0; i < objectIds.length; i++) {
+            objectIds[i] = parseObjectId(properties.get(i).getObjectId());
+        }
+
+        // Compute the adjacency in parallel, then collect the neighbours of each OBJECTID, merging duplicated IDs
+        int[][] adjacencyLists = new ParallelAdjacencyBuilder(Runtime.getRuntime().availableProcessors(), policy).buildAdjacencyLists(properties);
+        TreeMap<Integer, int[]> adjacency = new TreeMap<>();
+        for (int i = 0; i < objectIds.length; i++) {
+            int[] neighborIds = new int[adjacencyLists[i].length];
+            for (int k = 0; k < neighborIds.length; k++) {
+                neighborIds[k] = objectIds[adjacencyLists[i][k]];
+            }
+            adjacency.merge(objectIds[i], neighborIds, PropertyAdjacencyStore::concat);
+        }
+
+        int neighborCount = 0;
+        for (Map.Entry<Integer, int[]> entry : adjacency.entrySet()) {
+            int[] neighborIds = distinctSorted(entry.getValue(), entry.getKey());
+            entry.setValue(neighborIds);
+            neighborCount += neighborIds.length;
+        }
+
+        // Lay the adjacency out in CSR form
+        int[] sortedIds = new int[adjacency.size()];
+        int[] offsets = new int[adjacency.size() + 1];
+        int[] neighbors = new int[neighborCount];
+        int position = 0;
+        for (Map.Entry<Integer, int[]> entry : adjacency.entrySet()) {
+            sortedIds[position] = entry.getKey();
+            System.arraycopy(entry.getValue(), 0, neighbors, offsets[position], entry.getValue().length);
+            offsets[position + 1] = offsets[position] + entry.getValue().length;
+            position++;
+        }
+        return new PropertyAdjacencyStore(sortedIds.length, IntBuffer.wrap(sortedIds), IntBuffer.wrap(offsets), IntBuffer.wrap(neighbors), false);
+    }
+
+    /**
+     * Writes the adjacency to an adjacency file.
+     * The file is written to a temporary file first and then moved into place.
+     *
+     * @param adjacencyFile The adjacency file to write.
+     * @param header        The header identifying the source CSV file.
+     * @throws IOException If the file cannot be written.
+     */
+    void write(File adjacencyFile, Header header) throws IOException {
+        File tempFile = new File(adjacencyFile.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            // Header
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(header.csvLength);
+            out.writeLong(header.checksum);
+            out.writeInt(header.propertyCount);
+            out.writeInt(header.policyCode);
+            out.writeInt(vertexCount);
+            out.writeInt(offsets.get(vertexCount));
+
+            // OBJECTIDs, offsets and neighbours
+            writeInts(out, objectIds, vertexCount);
+            writeInts(out, offsets, vertexCount + 1);
+            writeInts(out, neighbors, offsets.get(vertexCount));
+        }
+        Files.move(tempFile.toPath(), adjacencyFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Memory-maps an adjacency file and checks that it matches the source CSV file.
+     *
+     * @param adjacencyFile The adjacency file to map.
+     * @param header        The expected header, identifying the source CSV file.
+     * @return The adjacency store, or null if the file is invalid or out of date.
+     * @throws IOException If the file cannot be read.
+     */
+    static PropertyAdjacencyStore map(File adjacencyFile, Header header) throws IOException {
+        MappedByteBuffer buffer;
+        try (RandomAccessFile file = new RandomAccessFile(adjacencyFile, "r");
+             FileChannel channel = file.getChannel()) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION ||
+            buffer.getLong(8) != header.csvLength || buffer.getLong(16) != header.checksum ||
+            buffer.getInt(24) != header.propertyCount || buffer.getInt(28) != header.policyCode) {
+            return null;
+        }
+
+        int vertexCount = buffer.getInt(32);
+        int neighborCount = buffer.getInt(36);
+        long expectedSize = HEADER_SIZE + 4L * (vertexCount + (vertexCount + 1) + (long) neighborCount);
+        if (vertexCount < 0 || neighborCount < 0 || buffer.capacity() != expectedSize) {
+            return null;
+        }
+
+        int objectIdsStart = HEADER_SIZE;
+        int offsetsStart = objectIdsStart + 4 * vertexCount;
+        int neighborsStart = offsetsStart + 4 * (vertexCount + 1);
+        PropertyAdjacencyStore store = new PropertyAdjacencyStore(
+                vertexCount,
+                section(buffer, objectIdsStart, offsetsStart),
+                section(buffer, offsetsStart, neighborsStart),
+                section(buffer, neighborsStart, buffer.capacity()),
+                true
+        );
+        return store.isConsistent(neighborCount) ? store : null;
+    }
+
+    /**
+     * Checks whether the store is backed by its adjacency file.
+     *
+     * @return True if the store is memory-mapped, false if it is only kept in memory.
+     */
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    /**
+     * Gets the number of properties in the store.
+     *
+     * @return The number of distinct OBJECTIDs.
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Checks if a property is part of the store.
+     *
+     * @param objectId The OBJECTID of the property.
+     * @return True if the property is in the store, false otherwise.
+     */
+    public boolean contains(int objectId) {
+        return positionOf(objectId) >= 0;
+    }
+
+    /**
+     * Gets the OBJECTIDs of the properties adjacent to a property.
+     *
+     * @param objectId The OBJECTID of the property.
+     * @return The sorted OBJECTIDs of the adjacent properties, or an empty array if the property is unknown.
+     */
+    public int[] neighborsOf(int objectId) {
+        int position = positionOf(objectId);
+        if (position < 0) {
+            return new int[0];
+        }
+        int start = offsets.get(position);
+        int end = offsets.get(position + 1);
+        int[] result = new int[end - start];
+        for (int i = start; i < end; i++) {
+            result[i - start] = neighbors.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Checks if two properties are adjacent.
+     *
+     * @param objectId1 The OBJECTID of the first property.
+     * @param objectId2 The OBJECTID of the second property.
+     * @return True if the properties are adjacent, false otherwise.
+     */
+    public boolean areAdjacent(int objectId1, int objectId2) {
+        int position = positionOf(objectId1);
+        return position >= 0 && binarySearch(neighbors, offsets.get(position), offsets.get(position + 1), objectId2) >= 0;
+    }
+
+    /**
+     * Finds the properties adjacent to a property among a set of properties.
+     *
+     * @param property        The property to find adjacent properties for.
+     * @param propertiesById  The candidate properties keyed by OBJECTID, see {@link #mapByObjectId(List)}.
+     * @return The adjacent properties that are present in the map, ordered by OBJECTID.
+     */
+    public List<Property> adjacentTo(Property property, Map<Integer, Property> propertiesById) {
+        List<Property> adjacentProperties = new ArrayList<>();
+        for (int neighborId : neighborsOf(parseObjectId(property.getObjectId()))) {
+            Property neighbor = propertiesById.get(neighborId);
+            if (neighbor != null) {
+                adjacentProperties.add(neighbor);
+            }
+        }
+        return adjacentProperties;
+    }
+
+    /**
+     * Finds the properties adjacent to a property among the properties of a primary-key index.
+     *
+     * @param property The property to find adjacent properties for.
+     * @param idIndex  The candidate properties indexed by OBJECTID.
+     * @return The adjacent properties that are present in the index, ordered by OBJECTID.
+     */
+    public List<Property> adjacentTo(Property property, PropertyIdIndex idIndex) {
+        List<Property> adjacentProperties = new ArrayList<>();
+        for (int neighborId : neighborsOf(parseObjectId(property.getObjectId()))) {
+            Property neighbor = idIndex.get(neighborId);
+            if (neighbor != null) {
+                adjacentProperties.add(neighbor);
+            }
+        }
+        return adjacentProperties;
+    }
+
+    /**
+     * Maps a list of properties by their OBJECTID, for use with {@link #adjacentTo(Property, Map)}.
+     *
+     * @param properties The list of properties.
+     * @return A map from OBJECTID to property.
+     * @throws NumberFormatException If an OBJECTID is not an integer.
+     */
+    public static Map<Integer, Property> mapByObjectId(List<Property> properties) {
+        Map<Integer, Property> propertiesById = new HashMap<>();
+        for (Property property : properties) {
+            propertiesById.put(parseObjectId(property.getObjectId()), property);
+        }
+        return propertiesById;
+    }
+
+    /**
+     * Parses an OBJECTID into an integer.
+     *
+     * @param objectId The OBJECTID as read from the CSV file.
+     * @return The OBJECTID as an integer.
+     * @throws NumberFormatException If the OBJECTID is not an integer.
+     */
+    public static int parseObjectId(String objectId) {
+        return Integer.parseInt(objectId.trim());
+    }
+
+    // Helper methods
+
+    /**
+     * Checks that the offsets of a mapped file are ascending and within the neighbour section,
+     * so a damaged file is rebuilt instead of failing on the first lookup.
+     */
+    private boolean isConsistent(int neighborCount) {
+        if (offsets.get(0) != 0 || offsets.get(vertexCount) != neighborCount) {
+            return false;
+        }
+        for (int i = 0; i < vertexCount; i++) {
+            if (offsets.get(i) > offsets.get(i + 1) || (i > 0 && objectIds.get(i - 1) >= objectIds.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeInts(DataOutputStream out, IntBuffer buffer, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            out.writeInt(buffer.get(i));
+        }
+    }
+
+    private int positionOf(int objectId) {
+        return binarySearch(objectIds, 0, vertexCount, objectId);
+    }
+
+    private static int binarySearch(IntBuffer buffer, int from, int to, int key) {
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int value = buffer.get(middle);
+            if (value < key) {
+                low = middle + 1;
+            } else if (value > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private static IntBuffer section(ByteBuffer buffer, int start, int end) {
+        ByteBuffer section = buffer.duplicate();
+        section.position(start);
+        section.limit(end);
+        return section.slice().asIntBuffer();
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        int[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static int[] distinctSorted(int[] values, int excluded) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (sorted[i] != excluded && (count == 0 || sorted[count - 1] != sorted[i])) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+
+    /**
+     * Values identifying the CSV file, the properties and the policy an adjacency file was built from.
+     */
+    static final class Header {
+        final long csvLength;
+        final long checksum;
+        final int propertyCount;
+        final int policyCode;
+
+        Header(long csvLength, long checksum, int propertyCount, int policyCode) {
+            this.csvLength = csvLength;
+            this.checksum = checksum;
+            this.propertyCount = propertyCount;
+            this.policyCode = policyCode;
+        }
+    }
+}
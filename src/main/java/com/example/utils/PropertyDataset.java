@@ -0,0 +1,163 @@
+package com.example.utils;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+import com.example.CsvToPropertyReader;
+import com.example.Property;
+
+/**
+ * The properties of one session, read once from the selected CSV file and shared by all GUI actions.
+ * Besides the parsed properties, a dataset holds the derived indexes of its {@link PropertyManager}
+ * and the adjacency graph of all properties, which is built on first use and then reused.
+ * A dataset read from a file also owns the {@link PropertyAdjacencyStore} of that file, built from all its properties.
+ * The list of properties cannot be modified through the dataset and its own operations never change an owner,
+ * so one dataset can be used by several background tasks at the same time. The property manager returned by
+ * {@link #getPropertyManager()} can change owners through {@link PropertyManager#changeOwner(Property, String)};
+ * it must not be used to do so while background tasks are reading the dataset.
+ */
+public class PropertyDataset {
+
+    private final List<Property> properties;
+    private final PropertyManager propertyManager;
+    private final File sourceFile;                  // CSV file holding exactly these properties, or null
+    private PropertyAdjacencyGraph adjacencyGraph; // Built on the first call to getAdjacencyGraph
+    private volatile PropertyAdjacencyStore adjacencyStore; // Loaded on the first call to getAdjacencyStore
+    private boolean adjacencyStoreLoaded;
+
+    /**
+     * Constructor for PropertyDataset that indexes an already loaded list of properties.
+     * The dataset is not tied to a file, so its adjacency is always computed from the properties.
+     *
+     * @param properties The properties of the dataset.
+     * @throws NumberFormatException If an OBJECTID is not an integer.
+     */
+    public PropertyDataset(List<Property> properties) {
+        this(properties, null);
+    }
+
+    /**
+     * Constructor for PropertyDataset that indexes all properties read from a CSV file.
+     *
+     * @param properties All properties read from the CSV file.
+     * @param sourceFile The CSV file the properties were read from, or null if they were not read from a file.
+     * @throws NumberFormatException If an OBJECTID is not an integer.
+     */
+    public PropertyDataset(List<Property> properties, File sourceFile) {
+        this(new PropertyManager(properties), sourceFile);
+    }
+
+    /**
+     * Constructor for PropertyDataset that shares the indexes of an existing property manager.
+     * The dataset is not tied to a file, so its adjacency is always computed from the properties.
+     *
+     * @param propertyManager The manager of the properties of the dataset.
+     */
+    public PropertyDataset(PropertyManager propertyManager) {
+        this(propertyManager, null);
+    }
+
+    /**
+     * Constructor for PropertyDataset that shares the indexes of an existing property manager.
+     *
+     * @param propertyManager The manager of all properties read from the CSV file.
+     * @param sourceFile      The CSV file the properties were read from, or null if they were not read from a file.
+     */
+    public PropertyDataset(PropertyManager propertyManager, File sourceFile) {
+        this.propertyManager = propertyManager;
+        this.properties = Collections.unmodifiableList(propertyManager.getProperties());
+        this.sourceFile = sourceFile;
+    }
+
+    /**
+     * Reads the properties from a CSV file chosen by the user, using {@link CsvToPropertyReader}.
+     *
+     * @return The dataset of the CSV file; it is empty if no file was selected or the file is invalid.
+     */
+    public static PropertyDataset load() {
+        List<Property> properties = CsvToPropertyReader.Exercise_1();
+        return new PropertyDataset(properties, properties.isEmpty() ? null : CsvToPropertyReader.getSelectedCsvFile());
+    }
+
+    /**
+     * Retrieves all properties of the dataset.
+     *
+     * @return An unmodifiable list of the properties, in file order.
+     */
+    public List<Property> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Retrieves the manager holding the indexes of the properties.
+     * The manager is shared, not copied: owner changes made through it are seen by every user of the dataset.
+     *
+     * @return The property manager of the dataset.
+     */
+    public PropertyManager getPropertyManager() {
+        return propertyManager;
+    }
+
+    /**
+     * Retrieves the CSV file the properties were read from.
+     *
+     * @return The source CSV file, or null if the dataset was not read from a file.
+     */
+    public File getSourceFile() {
+        return sourceFile;
+    }
+
+    /**
+     * Retrieves the adjacency store of the source CSV file, loading or building it on the first call.
+     * Once loaded, the store is also used by the adjacency queries of the property manager.
+     *
+     * @return The adjacency store, or null if the dataset was not read from a file or an OBJECTID is not an integer.
+     */
+    public synchronized PropertyAdjacencyStore getAdjacencyStore() {
+        if (!adjacencyStoreLoaded) {
+            adjacencyStore = PropertyAdjacencyStore.forDataset(this);
+            adjacencyStoreLoaded = true;
+            if (adjacencyStore != null) {
+                propertyManager.setAdjacencyStore(adjacencyStore);
+            }
+        }
+        return adjacencyStore;
+    }
+
+    /**
+     * Retrieves the adjacency graph of all properties, building it on the first call.
+     * The adjacency store of the CSV file is used when available; otherwise the adjacency is computed in parallel.
+     *
+     * @return The adjacency graph of all properties.
+     * @throws NumberFormatException If an OBJECTID is not an integer.
+     */
+    public synchronized PropertyAdjacencyGraph getAdjacencyGraph() {
+        if (adjacencyGraph == null) {
+            adjacencyGraph = PropertyAdjacencyGraph.build(properties, getAdjacencyStore());
+        }
+        return adjacencyGraph;
+    }
+
+    /**
+     * Builds the adjacency graph of some properties of the dataset, such as those of a freguesia.
+     * The adjacency store of the CSV file is used if it has already been loaded; otherwise only the given
+     * properties are compared, so the call never waits for the adjacency of the whole dataset.
+     *
+     * @param subset Properties of the dataset.
+     * @return The adjacency graph of the given properties.
+     * @throws NumberFormatException If an OBJECTID is not an integer.
+     */
+    public PropertyAdjacencyGraph buildAdjacencyGraph(List<Property> subset) {
+        return PropertyAdjacencyGraph.build(subset, adjacencyStore);
+    }
+
+    /**
+     * Checks whether the dataset holds no properties.
+     *
+     * @return True if no properties were read, otherwise false.
+     */
+    public boolean isEmpty() {
+        return properties.isEmpty();
+    }
+}
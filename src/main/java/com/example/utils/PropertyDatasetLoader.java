@@ -0,0 +1,90 @@
+package com.example.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.example.CsvToPropertyReader;
+import com.example.Property;
+
+/**
+ * Loads a {@link PropertyDataset} in phases on background threads, so the GUI can be shown before the data is ready.
+ * <ol>
+ *   <li>The CSV file is parsed into properties.</li>
+ *   <li>The indexes of the dataset and the geometries of the properties are then built concurrently.</li>
+ *   <li>The adjacency graph is built once both are ready, reusing the parsed geometries.</li>
+ * </ol>
+ * Every phase is exposed as a future that completes when its data is ready, so each action
+ * can be enabled once the phase it depends on has completed. If a phase fails, the phases depending on it fail too.
+ * No phase shows a dialog; errors are only reported through the futures.
+ */
+public class PropertyDatasetLoader {
+
+    private final CompletableFuture<List<Property>> properties;
+    private final CompletableFuture<PropertyDataset> dataset;
+    private final CompletableFuture<Long> geometries;
+    private final CompletableFuture<PropertyAdjacencyGraph> adjacencyGraph;
+
+    private PropertyDatasetLoader(File csvFile) {
+        properties = CompletableFuture.supplyAsync(() -> {
+            try {
+                return CsvToPropertyReader.readPropertiesFromCsv(csvFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        dataset = properties.thenApplyAsync(loadedProperties -> new PropertyDataset(loadedProperties, csvFile));
+        geometries = properties.thenApplyAsync(PropertyGeometryCache::parseAll);
+        adjacencyGraph = dataset.thenCombineAsync(geometries, (loadedDataset, invalidGeometries) -> loadedDataset.getAdjacencyGraph());
+    }
+
+    /**
+     * Starts loading a dataset in the background.
+     *
+     * The file is read with the current read mode of {@link CsvToPropertyReader}.
+     *
+     * @param csvFile The CSV file to read, whose adjacency store is built in the last phase.
+     * @return The loader, whose phases complete as the data becomes ready.
+     */
+    public static PropertyDatasetLoader start(File csvFile) {
+        return new PropertyDatasetLoader(csvFile);
+    }
+
+    /**
+     * Gets the phase that parses the CSV file.
+     *
+     * @return A future completed with all properties of the file, or failed if the file cannot be read.
+     */
+    public CompletableFuture<List<Property>> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Gets the phase that builds the indexes of the dataset, such as the OBJECTID and location indexes.
+     *
+     * @return A future completed with the dataset once its indexes exist.
+     */
+    public CompletableFuture<PropertyDataset> getDataset() {
+        return dataset;
+    }
+
+    /**
+     * Gets the phase that parses the geometries of all properties into {@link PropertyGeometryCache}.
+     *
+     * @return A future completed with the number of geometries that could not be parsed.
+     */
+    public CompletableFuture<Long> getGeometries() {
+        return geometries;
+    }
+
+    /**
+     * Gets the phase that builds the adjacency graph of all properties.
+     *
+     * @return A future completed with the adjacency graph, which is also cached by the dataset.
+     */
+    public CompletableFuture<PropertyAdjacencyGraph> getAdjacencyGraph() {
+        return adjacencyGraph;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.utils;
+
+import java.util.List;
+
+import com.example.Property;
+
+/**
+ * Case-insensitive dictionaries of the owner and location columns of one dataset.
+ * Properties are encoded once after they are parsed, in a single pass over the dataset, and then keep a
+ * reference to the dictionaries that gave them their codes. Codes are only comparable between properties
+ * encoded by the same dictionaries, and the dictionaries are released together with their dataset.
+ */
+public class PropertyDictionaries {
+
+    private final StringDictionary owners = new StringDictionary(true);
+    private final StringDictionary freguesias = new StringDictionary(true);
+    private final StringDictionary municipios = new StringDictionary(true);
+    private final StringDictionary ilhas = new StringDictionary(true);
+
+    /**
+     * Encodes the properties of a list with one set of dictionaries.
+     * Properties that are already encoded keep their codes; the others are added to the same dictionaries.
+     *
+     * @param properties The list of properties.
+     * @return The dictionaries shared by all properties of the list.
+     * @throws IllegalArgumentException If the properties were encoded by different dictionaries.
+     */
+    public static PropertyDictionaries encodeAll(List<Property> properties) {
+        PropertyDictionaries dictionaries = null;
+        for (Property property : properties) {
+            PropertyDictionaries encodedBy = property.getDictionaries();
+            if (encodedBy != null && encodedBy != dictionaries) {
+                if (dictionaries != null) {
+                    throw new IllegalArgumentException("Properties were encoded by different datasets");
+                }
+                dictionaries = encodedBy;
+            }
+        }
+        if (dictionaries == null) {
+            dictionaries = new PropertyDictionaries();
+        }
+
+        // Encode the remaining properties in a single pass
+        for (Property property : properties) {
+            if (property.getDictionaries() == null) {
+                property.encode(dictionaries);
+            }
+        }
+        return dictionaries;
+    }
+
+    /**
+     * Gets the dictionary of the owner column.
+     *
+     * @return The owner dictionary.
+     */
+    public StringDictionary getOwners() {
+        return owners;
+    }
+
+    /**
+     * Gets the dictionary of the freguesia column.
+     *
+     * @return The freguesia dictionary.
+     */
+    public StringDictionary getFreguesias() {
+        return freguesias;
+    }
+
+    /**
+     * Gets the dictionary of the municipio column.
+     *
+     * @return The municipio dictionary.
+     */
+    public StringDictionary getMunicipios() {
+        return municipios;
+    }
+
+    /**
+     * Gets the dictionary of the ilha column.
+     *
+     * @return The ilha dictionary.
+     */
+    public StringDictionary getIlhas() {
+        return ilhas;
+    }
+
+    /**
+     * Looks up the code of an owner, ignoring case.
+     *
+     * @param owner The owner.
+     * @return The owner code, or -1 if no property of the dataset has had this owner.
+     */
+    public int ownerCodeOf(String owner) {
+        return owners.codeOf(owner);
+    }
+
+    /**
+     * Looks up the code of a freguesia, ignoring case.
+     *
+     * @param freguesia The freguesia.
+     * @return The freguesia code, or -1 if no property of the dataset is located in this freguesia.
+     */
+    public int freguesiaCodeOf(String freguesia) {
+        return freguesias.codeOf(freguesia);
+    }
+
+    /**
+     * Looks up the code of a municipality, ignoring case.
+     *
+     * @param municipio The municipality.
+     * @return The municipality code, or -1 if no property of the dataset is located in this municipality.
+     */
+    public int municipioCodeOf(String municipio) {
+        return municipios.codeOf(municipio);
+    }
+
+    /**
+     * Looks up the code of an island, ignoring case.
+     *
+     * @param ilha The island.
+     * @return The island code, or -1 if no property of the dataset is located on this island.
+     */
+    public int ilhaCodeOf(String ilha) {
+        return ilhas.codeOf(ilha);
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.utils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+import com.example.Property;
+
+/**
+ * Shared cache of parsed property geometries.
+ * The WKT of each property is parsed only once and kept together with its envelope and centroid,
+ * so that every utility class works on the same JTS objects instead of re-reading the text.
+ * By default entries live as long as their property; a maximum size can be set to bound memory usage.
+ */
+public class PropertyGeometryCache {
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+    // WKTReader is not thread-safe, so every thread gets its own reader
+    private static final ThreadLocal<WKTReader> READER = ThreadLocal.withInitial(() -> new WKTReader(GEOMETRY_FACTORY));
+
+    private static Map<Property, ParsedGeometry> cache = new WeakHashMap<>();
+    private static int maximumSize = 0; // 0 means unbounded
+
+    /**
+     * Limits the number of parsed geometries kept in memory.
+     * When the limit is reached, the least recently used geometry is discarded and parsed again on demand.
+     *
+     * @param maximumSize The maximum number of cached geometries, or 0 for an unbounded cache.
+     * @throws IllegalArgumentException If the maximum size is negative.
+     */
+    public static synchronized void setMaximumSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size cannot be negative");
+        }
+        PropertyGeometryCache.maximumSize = maximumSize;
+
+        Map<Property, ParsedGeometry> newCache;
+        if (maximumSize == 0) {
+            newCache = new WeakHashMap<>();
+        } else {
+            // Access-ordered map that evicts the least recently used entry
+            newCache = new LinkedHashMap<Property, ParsedGeometry>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Property, ParsedGeometry> eldest) {
+                    return size() > PropertyGeometryCache.maximumSize;
+                }
+            };
+        }
+        newCache.putAll(cache);
+        cache = newCache;
+    }
+
+    /**
+     * Gets the maximum number of cached geometries.
+     *
+     * @return The maximum size, or 0 if the cache is unbounded.
+     */
+    public static synchronized int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Removes all parsed geometries from the cache.
+     */
+    public static synchronized void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Gets the parsed geometry of a property.
+     * The returned geometry is shared and must not be modified.
+     *
+     * @param property The property whose geometry is requested.
+     * @return The parsed JTS geometry.
+     * @throws ParseException If the WKT of the property cannot be parsed.
+     */
+    public static Geometry getGeometry(Property property) throws ParseException {
+        return get(property).getGeometry();
+    }
+
+    /**
+     * Gets the bounding envelope of a property's geometry.
+     *
+     * @param property The property whose envelope is requested.
+     * @return The envelope of the geometry.
+     * @throws ParseException If the WKT of the property cannot be parsed.
+     */
+    public static Envelope getEnvelope(Property property) throws ParseException {
+        return get(property).getEnvelope();
+    }
+
+    /**
+     * Gets the centroid of a property's geometry.
+     *
+     * @param property The property whose centroid is requested.
+     * @return The centroid of the geometry.
+     * @throws ParseException If the WKT of the property cannot be parsed.
+     */
+    public static Point getCentroid(Property property) throws ParseException {
+        return get(property).getCentroid();
+    }
+
+    /**
+     * Parses the geometries of a list of properties in parallel, so later lookups find them in the cache.
+     * Nothing is parsed if the cache is bounded below the size of the list, since the entries would be evicted again.
+     *
+     * @param properties The properties whose geometries are parsed.
+     * @return The number of geometries that could not be parsed.
+     */
+    public static long parseAll(List<Property> properties) {
+        int limit = getMaximumSize();
+        if (limit != 0 && limit < properties.size()) {
+            return 0;
+        }
+        return properties.parallelStream()
+                .filter(property -> {
+                    try {
+                        get(property);
+                        return false;
+                    } catch (ParseException | RuntimeException e) {
+                        return true;
+                    }
+                })
+                .count();
+    }
+
+    /**
+     * Gets the cached entry of a property, parsing its WKT if it is missing or out of date.
+     *
+     * @param property The property whose entry is requested.
+     * @return The parsed geometry entry.
+     * @throws ParseException If the WKT of the property cannot be parsed.
+     */
+    static ParsedGeometry get(Property property) throws ParseException {
+        String wkt = property.getGeometry();
+        ParsedGeometry parsed;
+        synchronized (PropertyGeometryCache.class) {
+            parsed = cache.get(property);
+        }
+        // Re-parse when the geometry was replaced through Property.setGeometry
+        if (parsed == null || parsed.wkt != wkt) {
+            parsed = new ParsedGeometry(wkt, READER.get().read(wkt));
+            synchronized (PropertyGeometryCache.class) {
+                cache.put(property, parsed);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * A parsed geometry together with its derived envelope and centroid.
+     */
+    static final class ParsedGeometry {
+        private final String wkt;
+        private final Geometry geometry;
+        private final Envelope envelope;
+        private volatile Point centroid;
+
+        private ParsedGeometry(String wkt, Geometry geometry) {
+            this.wkt = wkt;
+            this.geometry = geometry;
+            this.envelope = geometry.getEnvelopeInternal();
+        }
+
+        Geometry getGeometry() {
+            return geometry;
+        }
+
+        Envelope getEnvelope() {
+            return envelope;
+        }
+
+        Point getCentroid() {
+            if (centroid == null) {
+                centroid = geometry.getCentroid();
+            }
+            return centroid;
+        }
+    }
+}
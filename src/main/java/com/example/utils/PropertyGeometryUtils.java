@@ -1,16 +1,16 @@
 package com.example.utils;
 
 import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
-import org.locationtech.jts.geom.Geometry;
-import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
-import org.locationtech.jts.io.WKTReader;
 
 import com.example.Property;
+import com.example.PropertyTable;
 
 /**
  * Utility class for handling geometric operations related to properties.
@@ -26,13 +26,8 @@ public class PropertyGeometryUtils {
      */
     public static Point getCentroid(Property property) {
         try {
-            // Create a GeometryFactory and parse the property's geometry
-            GeometryFactory geometryFactory = new GeometryFactory();
-            WKTReader reader = new WKTReader(geometryFactory);
-            Geometry geometry = reader.read(property.getGeometry());
-
-            // Return the calculated centroid of the geometry
-            return geometry.getCentroid();
+            // Return the centroid of the geometry, computed once and kept in the shared cache
+            return PropertyGeometryCache.getCentroid(property);
         } catch (org.locationtech.jts.io.ParseException e) {
             // Handle parsing errors and return null
             System.err.println("Parse error reading geometry for centroid calculation: " + e.getMessage());
@@ -56,59 +51,100 @@ public class PropertyGeometryUtils {
             throw new IllegalArgumentException("Property list cannot be null or empty");
         }
 
-        double totalArea = 0.0; // Accumulator for total area
-        int count = 0; // Counter for valid properties
+        // Accumulate the valid areas of the properties
+        DoubleSummaryStatistics areaStatistics = summarizeAreas(properties.stream());
 
-        // Iterate through properties to calculate the total area
-        for (Property property : properties) {
+        if (areaStatistics.getCount() == 0) {
+            throw new IllegalArgumentException("No valid property areas found");
+        }
+
+        return areaStatistics.getAverage(); // Return the average area
+    }
+
+    /**
+     * Calculates the average area of some rows of a property table.
+     * The areas are read from the primitive area column, so no strings are parsed.
+     *
+     * @param table The property table.
+     * @param rows  The row indices, for example from {@link PropertyTable#rowsInFreguesia(String)}.
+     * @return The average area as a double.
+     * @throws IllegalArgumentException If the rows are null, empty, or contain no valid areas.
+     */
+    public static double calculateAverageArea(PropertyTable table, int[] rows) {
+        if (rows == null || rows.length == 0) {
+            throw new IllegalArgumentException("Row list cannot be null or empty");
+        }
+        return table.averageArea(rows);
+    }
+
+    /**
+     * Calculates the count, total, average, minimum and maximum area of a stream of properties in a single pass.
+     * Works with the streams returned by {@link com.example.CsvToPropertyReader#streamPropertiesFromCsv()},
+     * so the statistics of a whole file can be calculated without keeping its properties in memory.
+     * Properties with invalid area values are logged and skipped.
+     *
+     * @param properties The stream of Property objects.
+     * @return The area statistics of the valid properties.
+     */
+    public static DoubleSummaryStatistics summarizeAreas(Stream<Property> properties) {
+        DoubleSummaryStatistics areaStatistics = new DoubleSummaryStatistics();
+        properties.forEach(property -> {
             try {
-                double area = Double.parseDouble(property.getShapeArea());
-                totalArea += area;
-                count++;
+                areaStatistics.accept(Double.parseDouble(property.getShapeArea()));
             } catch (NumberFormatException e) {
                 // Log invalid area values and continue
                 System.err.println("Invalid area value for property " + property.getObjectId() + ": " + property.getShapeArea());
             }
-        }
-
-        if (count == 0) {
-            throw new IllegalArgumentException("No valid property areas found");
-        }
-
-        return totalArea / count; // Calculate and return the average area
+        });
+        return areaStatistics;
     }
 
     /**
      * Calculates the average area of properties for each owner.
+     * Owners are grouped by their dictionary code, so owners that only differ in case are grouped together,
+     * as in {@link PropertyTable#averageAreaPerOwner()} and {@link OwnerAreaStatistics}.
      *
      * @param properties The list of Property objects to be analyzed.
-     * @return A map containing the average area per owner.
+     * @return A map containing the average area per owner, keyed by the first spelling of the owner in the dataset.
+     * @throws IllegalArgumentException If the properties were encoded by different datasets.
      */
     public static Map<String, Double> calculateAverageAreaPerOwner(List<Property> properties) {
-        Map<String, List<Double>> ownerAreas = new HashMap<>();
+        PropertyDictionaries dictionaries = PropertyDictionaries.encodeAll(properties);
+        Map<Integer, List<Double>> ownerAreas = new HashMap<>();
 
-        // Group property areas by owner
+        // Group property areas by owner code, skipping the areas OwnerAreaStatistics skips
         for (Property property : properties) {
-            try {
-                double area = Double.parseDouble(property.getShapeArea());
-                ownerAreas.computeIfAbsent(property.getOwner(), k -> new ArrayList<>()).add(area);
-            } catch (NumberFormatException e) {
+            double area = OwnerAreaStatistics.areaOf(property);
+            if (Double.isNaN(area)) {
                 // Log invalid area values and continue
                 System.err.println("Invalid area value for property " + property.getObjectId() + ": " + property.getShapeArea());
+                continue;
             }
+            ownerAreas.computeIfAbsent(property.getOwnerCode(), k -> new ArrayList<>()).add(area);
         }
 
         // Calculate the average area for each owner
         Map<String, Double> averageAreaPerOwner = new HashMap<>();
-        for (Map.Entry<String, List<Double>> entry : ownerAreas.entrySet()) {
+        for (Map.Entry<Integer, List<Double>> entry : ownerAreas.entrySet()) {
             List<Double> areas = entry.getValue();
 
             // Calculate the total and average areas for the current owner
             double totalArea = areas.stream().mapToDouble(Double::doubleValue).sum();
             double averageArea = totalArea / areas.size();
-            averageAreaPerOwner.put(entry.getKey(), averageArea);
+            averageAreaPerOwner.put(dictionaries.getOwners().valueOf(entry.getKey()), averageArea);
         }
 
         return averageAreaPerOwner;
     }
+
+    /**
+     * Calculates the average area of properties for each owner of a property table.
+     * Areas are summed per dictionary-encoded owner, so no strings are parsed and no values are boxed.
+     *
+     * @param table The property table to be analyzed.
+     * @return A map containing the average area per owner.
+     */
+    public static Map<String, Double> calculateAverageAreaPerOwner(PropertyTable table) {
+        return table.averageAreaPerOwner();
+    }
 }
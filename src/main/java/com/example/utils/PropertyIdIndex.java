@@ -0,0 +1,143 @@
+package com.example.utils;
+
+import java.util.List;
+
+import com.example.Property;
+
+/**
+ * Primary-key index from OBJECTID to property.
+ * The OBJECTIDs are kept in a primitive {@code int[]} hash table with open addressing and linear probing,
+ * so a lookup costs a few array reads and no boxing, independently of the number of properties.
+ * OBJECTIDs are expected to be unique; if several properties share one, the last one indexed wins.
+ */
+public class PropertyIdIndex {
+
+    private int[] keys;
+    private Property[] values; // null marks a free slot
+    private int size = 0;
+
+    /**
+     * Creates an empty index.
+     */
+    public PropertyIdIndex() {
+        keys = new int[16];
+        values = new Property[16];
+    }
+
+    /**
+     * Creates an index of a list of properties.
+     *
+     * @param properties The list of properties.
+     * @throws NumberFormatException If an OBJECTID is not an integer.
+     */
+    public PropertyIdIndex(List<Property> properties) {
+        // Keep the table at most half full
+        int capacity = Integer.highestOneBit(Math.max(16, properties.size() * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new Property[capacity];
+        for (Property property : properties) {
+            put(property);
+        }
+    }
+
+    /**
+     * Adds a property to the index, replacing any property with the same OBJECTID.
+     *
+     * @param property The property to add.
+     * @throws NumberFormatException If the OBJECTID is not an integer.
+     */
+    public void put(Property property) {
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int objectId = PropertyAdjacencyStore.parseObjectId(property.getObjectId());
+        int slot = slotOf(objectId);
+        if (values[slot] == null) {
+            keys[slot] = objectId;
+            size++;
+        }
+        values[slot] = property;
+    }
+
+    /**
+     * Gets the property with an OBJECTID.
+     *
+     * @param objectId The OBJECTID.
+     * @return The property, or null if no property has this OBJECTID.
+     */
+    public Property get(int objectId) {
+        return values[slotOf(objectId)];
+    }
+
+    /**
+     * Gets the property with an OBJECTID given as text.
+     *
+     * @param objectId The OBJECTID as read from the CSV file or typed by the user.
+     * @return The property, or null if the OBJECTID is not an integer or no property has it.
+     */
+    public Property get(String objectId) {
+        try {
+            return get(PropertyAdjacencyStore.parseObjectId(objectId));
+        } catch (NumberFormatException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether a property with an OBJECTID is indexed.
+     *
+     * @param objectId The OBJECTID.
+     * @return True if a property has this OBJECTID, otherwise false.
+     */
+    public boolean contains(int objectId) {
+        return get(objectId) != null;
+    }
+
+    /**
+     * Gets the number of indexed properties.
+     *
+     * @return The number of distinct OBJECTIDs.
+     */
+    public int size() {
+        return size;
+    }
+
+    // Helper methods
+
+    /**
+     * Finds the slot holding an OBJECTID, or the free slot where it would be inserted.
+     */
+    private int slotOf(int objectId) {
+        int mask = keys.length - 1;
+        int slot = mix(objectId) & mask;
+        while (values[slot] != null && keys[slot] != objectId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Property[] oldValues = values;
+        keys = new int[capacity];
+        values = new Property[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        // Spread sequential OBJECTIDs over the table (Murmur3 finalizer)
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
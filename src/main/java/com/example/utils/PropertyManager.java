@@ -1,8 +1,13 @@
 package com.example.utils;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 import com.example.CsvToPropertyReader;
 import com.example.Property;
@@ -10,10 +15,23 @@ import com.example.Property;
 /**
  * Utility class to manage property-related operations.
  * Provides methods for filtering, retrieving unique locations, and finding adjacent properties.
+ * Properties are indexed by freguesia, municipio, ilha and owner when the manager is created,
+ * so filters and distinct-value lookups only touch the matching properties.
+ * Ownership changes made through {@link #changeOwner(Property, String)} keep the owner index up to date.
  */
 public class PropertyManager {
 
     private final List<Property> properties;
+    private PropertySpatialIndex spatialIndex;      // Built on the first adjacency query, see getSpatialIndex
+    private final PropertyIdIndex idIndex;          // Primary-key index by OBJECTID
+    private final PropertyDictionaries dictionaries; // Owner and location dictionaries of the properties
+    private volatile PropertyAdjacencyStore adjacencyStore; // Set by the dataset once its store is loaded
+
+    // Inverted indexes from the case-insensitive dictionary code of a value to the properties holding it
+    private final Map<Integer, List<Property>> propertiesByFreguesia = new LinkedHashMap<>();
+    private final Map<Integer, List<Property>> propertiesByMunicipio = new LinkedHashMap<>();
+    private final Map<Integer, List<Property>> propertiesByIlha = new LinkedHashMap<>();
+    private final Map<Integer, List<Property>> propertiesByOwner = new LinkedHashMap<>();
 
     /**
      * Constructor for PropertyManager.
@@ -21,7 +39,30 @@ public class PropertyManager {
      */
     public PropertyManager() {
         // Load properties from the CSV file
-        properties = CsvToPropertyReader.Exercise_1();
+        this(CsvToPropertyReader.Exercise_1());
+    }
+
+    /**
+     * Constructor for PropertyManager that manages an already loaded list of properties.
+     *
+     * Properties that have not been encoded yet are encoded with the dictionaries of the others.
+     *
+     * @param properties The list of properties to manage.
+     * @throws NumberFormatException    If an OBJECTID is not an integer.
+     * @throws IllegalArgumentException If the properties were encoded by different datasets.
+     */
+    public PropertyManager(List<Property> properties) {
+        this.properties = properties;
+        this.dictionaries = PropertyDictionaries.encodeAll(properties);
+        this.idIndex = new PropertyIdIndex(properties);
+
+        // Build the inverted indexes in a single pass
+        for (Property property : properties) {
+            addToIndex(propertiesByFreguesia, property.getFreguesiaCode(), property);
+            addToIndex(propertiesByMunicipio, property.getMunicipioCode(), property);
+            addToIndex(propertiesByIlha, property.getIlhaCode(), property);
+            addToIndex(propertiesByOwner, property.getOwnerCode(), property);
+        }
     }
 
     /**
@@ -30,27 +71,37 @@ public class PropertyManager {
      * @param filterType The type of filter: "freguesia", "municipio", or "ilha".
      * @param location   The location name to filter by.
      * @return A filtered list of Property objects matching the given criteria.
-     * @throws IllegalArgumentException If the filter type is invalid.
+     * @throws IllegalArgumentException If the filter type is invalid or no properties are found for the location.
      */
     public List<Property> filterProperties(String filterType, String location) {
+        List<Property> filteredProperties;
         switch (filterType.toLowerCase()) {
             case "freguesia":
-                // Filter properties by "Freguesia"
-                return CsvToPropertyReader.filterPropertiesByFreguesia(properties, location);
+                // Look up the properties of the "Freguesia"
+                filteredProperties = propertiesByFreguesia.get(dictionaries.freguesiaCodeOf(location));
+                break;
             case "municipio":
-                // Filter properties by "Municipio"
-                return CsvToPropertyReader.filterPropertiesByMunicipio(properties, location);
+                // Look up the properties of the "Municipio"
+                filteredProperties = propertiesByMunicipio.get(dictionaries.municipioCodeOf(location));
+                break;
             case "ilha":
-                // Filter properties by "Ilha"
-                return CsvToPropertyReader.filterPropertiesByIlha(properties, location);
+                // Look up the properties of the "Ilha"
+                filteredProperties = propertiesByIlha.get(dictionaries.ilhaCodeOf(location));
+                break;
             default:
                 // Throw exception for unsupported filter types
                 throw new IllegalArgumentException("Invalid filter type");
         }
+
+        if (filteredProperties == null) {
+            throw new IllegalArgumentException("No properties found for " + filterType + ": " + location);
+        }
+        return new ArrayList<>(filteredProperties);
     }
 
     /**
      * Retrieves unique locations based on a given filter type.
+     * Locations that only differ in case are returned once, with the spelling of their first property.
      *
      * @param filterType The type of filter: "freguesia", "municipio", or "ilha".
      * @return A set of unique location names.
@@ -60,19 +111,79 @@ public class PropertyManager {
         switch (filterType.toLowerCase()) {
             case "freguesia":
                 // Get unique "Freguesia" values
-                return properties.stream().map(Property::getFreguesia).collect(Collectors.toSet());
+                return uniqueValues(propertiesByFreguesia, Property::getFreguesia);
             case "municipio":
                 // Get unique "Municipio" values
-                return properties.stream().map(Property::getMunicipio).collect(Collectors.toSet());
+                return uniqueValues(propertiesByMunicipio, Property::getMunicipio);
             case "ilha":
                 // Get unique "Ilha" values
-                return properties.stream().map(Property::getIlha).collect(Collectors.toSet());
+                return uniqueValues(propertiesByIlha, Property::getIlha);
             default:
                 // Throw exception for unsupported filter types
                 throw new IllegalArgumentException("Invalid filter type");
         }
     }
 
+    /**
+     * Retrieves a property by its OBJECTID.
+     *
+     * @param objectId The OBJECTID.
+     * @return The property, or null if no property has this OBJECTID.
+     */
+    public Property getPropertyById(int objectId) {
+        return idIndex.get(objectId);
+    }
+
+    /**
+     * Retrieves the primary-key index of the properties.
+     *
+     * @return The index from OBJECTID to property.
+     */
+    public PropertyIdIndex getIdIndex() {
+        return idIndex;
+    }
+
+    /**
+     * Retrieves the owner and location dictionaries of the properties.
+     *
+     * @return The dictionaries that encoded the properties.
+     */
+    public PropertyDictionaries getDictionaries() {
+        return dictionaries;
+    }
+
+    /**
+     * Retrieves the properties of an owner, ignoring case.
+     *
+     * @param owner The owner.
+     * @return The properties of the owner, or an empty list if the owner has none.
+     */
+    public List<Property> getPropertiesOfOwner(String owner) {
+        List<Property> ownerProperties = propertiesByOwner.get(dictionaries.ownerCodeOf(owner));
+        return ownerProperties != null ? new ArrayList<>(ownerProperties) : new ArrayList<>();
+    }
+
+    /**
+     * Retrieves the unique owners of the properties.
+     *
+     * @return A set of unique owners.
+     */
+    public Set<String> getUniqueOwners() {
+        return uniqueValues(propertiesByOwner, Property::getOwner);
+    }
+
+    /**
+     * Changes the owner of a property and moves it to the new owner in the owner index.
+     *
+     * @param property The property whose owner changes.
+     * @param newOwner The new owner.
+     */
+    public void changeOwner(Property property, String newOwner) {
+        removeFromIndex(propertiesByOwner, property.getOwnerCode(), property);
+        property.setOwner(newOwner);
+        addToIndex(propertiesByOwner, property.getOwnerCode(), property);
+    }
+
     /**
      * Retrieves the list of all properties.
      *
@@ -90,11 +201,72 @@ public class PropertyManager {
      * @return A set of adjacent properties.
      */
     public Set<Property> getAdjacentProperties(Property property) {
-        // Find properties that are adjacent to the given property
-        return properties.stream()
-                .filter(otherProperty -> 
-                        !property.equals(otherProperty) && 
-                        PropertyAdjacencyUtils.areAdjacent(property, otherProperty))
-                .collect(Collectors.toSet());
+        return new HashSet<>(findAdjacentProperties(property));
+    }
+
+    /**
+     * Finds the properties adjacent to a given property.
+     * Uses the adjacency store of the dataset once it is loaded; until then the geometry of the property
+     * is prepared and checked against the candidates of a spatial index that is shared by all queries.
+     *
+     * @param property The property for which adjacent properties are to be found.
+     * @return The adjacent properties, ordered by OBJECTID when read from the adjacency store, otherwise in list order.
+     */
+    public List<Property> findAdjacentProperties(Property property) {
+        // Use the adjacency store of the dataset when it is ready, without waiting for it
+        PropertyAdjacencyStore adjacencyStore = this.adjacencyStore;
+        if (adjacencyStore != null) {
+            return adjacencyStore.adjacentTo(property, idIndex);
+        }
+
+        // Otherwise query the spatial index, built on the first query
+        return getSpatialIndex().adjacentTo(property, AdjacencyPolicy.INTERSECTING);
+    }
+
+    /**
+     * Gets the spatial index of the properties, building it on the first call.
+     * Synchronized so that handlers running on different background threads build and see a single index.
+     *
+     * @return The spatial index of all managed properties.
+     */
+    private synchronized PropertySpatialIndex getSpatialIndex() {
+        if (spatialIndex == null) {
+            spatialIndex = new PropertySpatialIndex(properties);
+        }
+        return spatialIndex;
+    }
+
+    /**
+     * Sets the adjacency store used by {@link #findAdjacentProperties(Property)}.
+     * Called by {@link PropertyDataset} once the store of its source file is loaded.
+     *
+     * @param adjacencyStore The adjacency store of all managed properties.
+     */
+    void setAdjacencyStore(PropertyAdjacencyStore adjacencyStore) {
+        this.adjacencyStore = adjacencyStore;
+    }
+
+    // Helper methods
+
+    private static void addToIndex(Map<Integer, List<Property>> index, int code, Property property) {
+        index.computeIfAbsent(code, k -> new ArrayList<>()).add(property);
+    }
+
+    private static void removeFromIndex(Map<Integer, List<Property>> index, int code, Property property) {
+        List<Property> indexedProperties = index.get(code);
+        if (indexedProperties != null) {
+            indexedProperties.remove(property);
+            if (indexedProperties.isEmpty()) {
+                index.remove(code);
+            }
+        }
+    }
+
+    private static Set<String> uniqueValues(Map<Integer, List<Property>> index, Function<Property, String> value) {
+        Set<String> uniqueValues = new LinkedHashSet<>();
+        for (List<Property> indexedProperties : index.values()) {
+            uniqueValues.add(value.apply(indexedProperties.get(0)));
+        }
+        return uniqueValues;
     }
 }
@@ -0,0 +1,290 @@
+package com.example.utils;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.simplify.TopologyPreservingSimplifier;
+
+import com.example.Property;
+
+/**
+ * Renders the geometries of a list of properties as a tiled map with levels of detail.
+ * At level 0 the whole map fits in one tile of {@link #TILE_SIZE} pixels, and every level doubles the scale.
+ * To draw a tile, only the properties whose envelopes overlap it are read from a {@link PropertySpatialIndex}.
+ * Geometries are simplified to a tolerance of one pixel of the level, once per level and property, and properties
+ * smaller than a pixel are drawn as a single pixel. Rendered tiles are kept in a least recently used cache,
+ * so panning and repainting only draw tiles that were not shown recently.
+ * Tiles can be rendered on several threads at the same time.
+ */
+public class PropertyMapRenderer {
+
+    /**
+     * Width and height of a tile, in pixels.
+     */
+    public static final int TILE_SIZE = 256;
+
+    /**
+     * Deepest zoom level.
+     */
+    public static final int MAX_LEVEL = 16;
+
+    // Maximum number of rendered tiles kept in memory (256 KB each)
+    private static final int MAX_CACHED_TILES = 512;
+
+    // Maximum number of levels whose simplified geometries are kept in memory
+    private static final int MAX_CACHED_LEVELS = 4;
+
+    // Below this tolerance, in map units, the original geometries are drawn
+    private static final double MIN_SIMPLIFY_TOLERANCE = 0.1;
+
+    private static final Color FILL_COLOR = new Color(135, 206, 250, 160);
+    private static final Color OUTLINE_COLOR = new Color(25, 25, 112);
+
+    private final List<Property> properties;
+    private final PropertySpatialIndex spatialIndex;
+    private final Envelope bounds;
+    private final double baseScale;
+
+    // Simplified geometries of the recently used levels, filled as tiles are drawn
+    private final Map<Integer, AtomicReferenceArray<Geometry>> simplifiedByLevel =
+            new LinkedHashMap<Integer, AtomicReferenceArray<Geometry>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, AtomicReferenceArray<Geometry>> eldest) {
+                    return size() > MAX_CACHED_LEVELS;
+                }
+            };
+
+    // Rendered tiles, keyed by level and tile coordinates
+    private final Map<Long, BufferedImage> tiles = new LinkedHashMap<Long, BufferedImage>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+            return size() > MAX_CACHED_TILES;
+        }
+    };
+
+    /**
+     * Creates a renderer for a list of properties and indexes their envelopes.
+     * Properties whose geometry cannot be parsed are not drawn.
+     *
+     * @param properties The properties to draw.
+     */
+    public PropertyMapRenderer(List<Property> properties) {
+        this.spatialIndex = new PropertySpatialIndex(properties);
+        this.properties = spatialIndex.getProperties();
+
+        // The map covers the envelopes of all properties
+        bounds = new Envelope();
+        for (Property property : this.properties) {
+            try {
+                bounds.expandToInclude(PropertyGeometryCache.getEnvelope(property));
+            } catch (Exception e) {
+                // Already reported by the spatial index
+            }
+        }
+        double extent = Math.max(bounds.getWidth(), bounds.getHeight());
+        baseScale = extent > 0 ? TILE_SIZE / extent : 1.0;
+    }
+
+    /**
+     * Gets the area covered by the map.
+     *
+     * @return The envelope of all drawn properties, in map units.
+     */
+    public Envelope getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Gets the scale of a level.
+     *
+     * @param level The zoom level, from 0 to {@link #MAX_LEVEL}.
+     * @return The number of pixels per map unit.
+     */
+    public double getScale(int level) {
+        return baseScale * (1L << level);
+    }
+
+    /**
+     * Gets the size of the whole map at a level.
+     *
+     * @param level The zoom level, from 0 to {@link #MAX_LEVEL}.
+     * @return The width and height of the map, in pixels.
+     */
+    public int getMapSize(int level) {
+        return TILE_SIZE << level;
+    }
+
+    /**
+     * Gets a tile that was already rendered, without rendering it.
+     *
+     * @param level The zoom level.
+     * @param tileX The column of the tile.
+     * @param tileY The row of the tile, counted from the top of the map.
+     * @return The tile, or null if it is not in the cache.
+     */
+    public BufferedImage getCachedTile(int level, int tileX, int tileY) {
+        synchronized (tiles) {
+            return tiles.get(tileKey(level, tileX, tileY));
+        }
+    }
+
+    /**
+     * Gets a tile, rendering it if it is not in the cache.
+     *
+     * @param level The zoom level, from 0 to {@link #MAX_LEVEL}.
+     * @param tileX The column of the tile.
+     * @param tileY The row of the tile, counted from the top of the map.
+     * @return The tile; the parts without properties are transparent.
+     * @throws IllegalArgumentException If the level is out of range.
+     */
+    public BufferedImage getTile(int level, int tileX, int tileY) {
+        if (level < 0 || level > MAX_LEVEL) {
+            throw new IllegalArgumentException("Level must be between 0 and " + MAX_LEVEL + ": " + level);
+        }
+        BufferedImage tile = getCachedTile(level, tileX, tileY);
+        if (tile == null) {
+            tile = renderTile(level, tileX, tileY);
+            synchronized (tiles) {
+                tiles.put(tileKey(level, tileX, tileY), tile);
+            }
+        }
+        return tile;
+    }
+
+    /**
+     * Removes all rendered tiles and simplified geometries, for example after geometries have changed.
+     */
+    public void clearCache() {
+        synchronized (tiles) {
+            tiles.clear();
+        }
+        synchronized (simplifiedByLevel) {
+            simplifiedByLevel.clear();
+        }
+    }
+
+    /**
+     * Draws the properties that overlap a tile.
+     */
+    private BufferedImage renderTile(int level, int tileX, int tileY) {
+        BufferedImage image = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        double scale = getScale(level);
+        double pixel = 1.0 / scale;
+
+        // Map coordinates of the tile, expanded by a pixel so outlines crossing the border are drawn on both tiles
+        double minX = bounds.getMinX() + tileX * TILE_SIZE * pixel;
+        double maxY = bounds.getMaxY() - tileY * TILE_SIZE * pixel;
+        Envelope area = new Envelope(minX - pixel, minX + (TILE_SIZE + 1) * pixel, maxY - (TILE_SIZE + 1) * pixel, maxY + pixel);
+        int[] indices = spatialIndex.indicesIntersecting(area);
+        if (indices.length == 0) {
+            return image;
+        }
+
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.setStroke(new BasicStroke(level < 4 ? 0.5f : 1.0f));
+            AtomicReferenceArray<Geometry> simplified = simplifiedGeometries(level);
+
+            for (int index : indices) {
+                Property property = properties.get(index);
+                try {
+                    Envelope envelope = PropertyGeometryCache.getEnvelope(property);
+
+                    // Properties smaller than a pixel are drawn as one pixel
+                    if (envelope.getWidth() < pixel && envelope.getHeight() < pixel) {
+                        graphics.setColor(OUTLINE_COLOR);
+                        graphics.fillRect((int) ((envelope.getMinX() - minX) * scale), (int) ((maxY - envelope.getMaxY()) * scale), 1, 1);
+                        continue;
+                    }
+
+                    Path2D path = toPath(simplifiedGeometry(simplified, index, pixel), minX, maxY, scale);
+                    graphics.setColor(FILL_COLOR);
+                    graphics.fill(path);
+                    graphics.setColor(OUTLINE_COLOR);
+                    graphics.draw(path);
+                } catch (Exception e) {
+                    System.err.println("Error drawing geometry of property " + property.getObjectId() + ": " + e.getMessage());
+                }
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Gets the simplified geometries of a level, creating an empty array for a level that is not cached.
+     */
+    private AtomicReferenceArray<Geometry> simplifiedGeometries(int level) {
+        synchronized (simplifiedByLevel) {
+            return simplifiedByLevel.computeIfAbsent(level, k -> new AtomicReferenceArray<>(properties.size()));
+        }
+    }
+
+    /**
+     * Gets the geometry of a property simplified to a tolerance, simplifying it on first use.
+     */
+    private Geometry simplifiedGeometry(AtomicReferenceArray<Geometry> simplified, int index, double tolerance) throws Exception {
+        Geometry geometry = simplified.get(index);
+        if (geometry == null) {
+            geometry = PropertyGeometryCache.getGeometry(properties.get(index));
+            if (tolerance >= MIN_SIMPLIFY_TOLERANCE) {
+                geometry = TopologyPreservingSimplifier.simplify(geometry, tolerance);
+            }
+            simplified.set(index, geometry);
+        }
+        return geometry;
+    }
+
+    /**
+     * Converts the polygons of a geometry into a Java2D path in the pixel coordinates of a tile.
+     * Holes are kept by filling with the even-odd rule; parts that are not polygons are left out.
+     */
+    private static Path2D toPath(Geometry geometry, double minX, double maxY, double scale) {
+        Path2D path = new Path2D.Double(Path2D.WIND_EVEN_ODD);
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            Geometry part = geometry.getGeometryN(i);
+            if (part instanceof Polygon) {
+                Polygon polygon = (Polygon) part;
+                appendRing(path, polygon.getExteriorRing(), minX, maxY, scale);
+                for (int k = 0; k < polygon.getNumInteriorRing(); k++) {
+                    appendRing(path, polygon.getInteriorRingN(k), minX, maxY, scale);
+                }
+            }
+        }
+        return path;
+    }
+
+    private static void appendRing(Path2D path, LineString ring, double minX, double maxY, double scale) {
+        CoordinateSequence coordinates = ring.getCoordinateSequence();
+        for (int k = 0; k < coordinates.size(); k++) {
+            // Screen y grows downwards, map y upwards
+            double x = (coordinates.getX(k) - minX) * scale;
+            double y = (maxY - coordinates.getY(k)) * scale;
+            if (k == 0) {
+                path.moveTo(x, y);
+            } else {
+                path.lineTo(x, y);
+            }
+        }
+        path.closePath();
+    }
+
+    private static long tileKey(int level, int tileX, int tileY) {
+        return ((long) level << 56) | ((tileX & 0xFFFFFFFL) << 28) | (tileY & 0xFFFFFFFL);
+    }
+}
@@ -1,14 +1,14 @@
 package com.example.utils;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
 import java.util.List;
-import java.util.Set;
+import java.util.function.BooleanSupplier;
 
 import org.locationtech.jts.geom.Geometry;
-import org.locationtech.jts.geom.GeometryFactory;
-import org.locationtech.jts.io.WKTReader;
 import org.locationtech.jts.io.WKTWriter;
+import org.locationtech.jts.operation.union.CascadedPolygonUnion;
 
 import com.example.Property;
 
@@ -20,74 +20,167 @@ public class PropertyMergeUtils {
 
     /**
      * Merges adjacent properties with the same owner into a single property.
-     * Uses geometry operations to merge the shapes of adjacent properties.
+     * Same-owner neighbours found through a {@link PropertySpatialIndex} are joined in a {@link UnionFind},
+     * so whole chains of touching parcels end up in one component. The geometries of each component are
+     * then merged with a single {@link CascadedPolygonUnion}.
      *
      * @param properties The list of Property objects to be merged.
-     * @return A new list of Property objects after merging adjacent properties with the same owner.
+     * @return A new list of Property objects after merging adjacent properties with the same owner,
+     *         ordered by the first property of each component. Unmerged properties are returned as they are.
      */
     public static List<Property> mergePropertiesByAdjacencyAndOwner(List<Property> properties) {
-        List<Property> mergedProperties = new ArrayList<>();
-        Set<String> mergedObjectIds = new HashSet<>(); // Tracks merged properties by their Object IDs
-        GeometryFactory geometryFactory = new GeometryFactory();
-        WKTReader reader = new WKTReader(geometryFactory);
+        List<List<Property>> components = findSameOwnerComponents(properties);
+        List<Property> mergedProperties = new ArrayList<>(components.size());
         WKTWriter writer = new WKTWriter();
 
-        // Iterate through each property
-        for (Property property : properties) {
-            if (mergedObjectIds.contains(property.getObjectId())) {
-                // Skip properties that are already merged
+        for (List<Property> component : components) {
+            if (component.size() == 1) {
+                // Nothing to merge
+                mergedProperties.add(component.get(0));
                 continue;
             }
 
-            Property currentProperty = property; // Start with the current property
-
-            // Check adjacency and ownership for merging
-            for (Property otherProperty : properties) {
-                if (currentProperty.equals(otherProperty) || mergedObjectIds.contains(otherProperty.getObjectId())) {
-                    continue; // Skip identical or already merged properties
+            try {
+                // Get the parsed geometries from the shared cache and merge them in one operation
+                List<Geometry> geometries = new ArrayList<>(component.size());
+                StringBuilder mergedObjectId = new StringBuilder();
+                for (Property property : component) {
+                    geometries.add(PropertyGeometryCache.getGeometry(property));
+                    if (mergedObjectId.length() > 0) {
+                        mergedObjectId.append('_');
+                    }
+                    mergedObjectId.append(property.getObjectId()); // Combine IDs
                 }
+                Geometry mergedGeometry = CascadedPolygonUnion.union(geometries);
+
+                // Create the merged property with the attributes of the first property of the component
+                Property firstProperty = component.get(0);
+                Property mergedProperty = new Property(
+                        mergedObjectId.toString(),
+                        firstProperty.getParId(),
+                        firstProperty.getParNum(),
+                        String.valueOf(mergedGeometry.getLength()), // Update shape length
+                        String.valueOf(mergedGeometry.getArea()), // Update shape area
+                        writer.write(mergedGeometry), // Merged geometry in WKT format
+                        firstProperty.getOwner(),
+                        firstProperty.getFreguesia(),
+                        firstProperty.getMunicipio(),
+                        firstProperty.getIlha()
+                );
+                mergedProperty.encode(firstProperty.getDictionaries()); // Keep the codes of the dataset
+                mergedProperties.add(mergedProperty);
+            } catch (Exception e) {
+                // Handle errors during merging and keep the properties of the component unmerged
+                System.err.println("Error merging properties: " + e.getMessage());
+                e.printStackTrace();
+                mergedProperties.addAll(component);
+            }
+        }
 
-                // Merge if the properties are adjacent and share the same owner
-                if (PropertyAdjacencyUtils.areAdjacent(currentProperty, otherProperty) &&
-                    currentProperty.getOwner().equalsIgnoreCase(otherProperty.getOwner())) {
-                    try {
-                        // Read and merge the geometries of the properties
-                        Geometry geometry1 = reader.read(currentProperty.getGeometry());
-                        Geometry geometry2 = reader.read(otherProperty.getGeometry());
-
-                        Geometry mergedGeometry = geometry1.union(geometry2);
-                        String mergedGeometryWKT = writer.write(mergedGeometry);
-
-                        // Update the properties with the merged geometry and attributes
-                        String mergedShapeArea = String.valueOf(mergedGeometry.getArea());
-                        currentProperty = new Property(
-                                currentProperty.getObjectId() + "_" + otherProperty.getObjectId(), // Combine IDs
-                                currentProperty.getParId(),
-                                currentProperty.getParNum(),
-                                String.valueOf(mergedGeometry.getLength()), // Update shape length
-                                mergedShapeArea, // Update shape area
-                                mergedGeometryWKT, // Merged geometry in WKT format
-                                currentProperty.getOwner(),
-                                currentProperty.getFreguesia(),
-                                currentProperty.getMunicipio(),
-                                currentProperty.getIlha()
-                        );
-
-                        mergedObjectIds.add(otherProperty.getObjectId()); // Mark the other property as merged
-                    } catch (Exception e) {
-                        // Handle errors during merging
-                        System.err.println("Error merging properties: " + e.getMessage());
-                        e.printStackTrace();
-                    }
+        return mergedProperties;
+    }
+
+    /**
+     * Calculates the count, total, average, minimum and maximum area of the properties that
+     * {@link #mergePropertiesByAdjacencyAndOwner(List)} would produce, without building any union geometry.
+     * The area of each merged property is the sum of the Shape_Area values of its component,
+     * which equals the union area for parcels that only share boundaries.
+     * Invalid area values are logged and skipped; components without any valid area are left out.
+     *
+     * @param properties The list of Property objects to be merged.
+     * @return The area statistics of the merged properties.
+     */
+    public static DoubleSummaryStatistics summarizeMergedAreas(List<Property> properties) {
+        return summarizeMergedAreas(properties, () -> false);
+    }
+
+    /**
+     * Calculates the area statistics of the merged properties, as {@link #summarizeMergedAreas(List)} does,
+     * stopping early when cancelled. Cancellation is checked once per property while the components are found.
+     *
+     * @param properties  The list of Property objects to be merged.
+     * @param isCancelled Tells whether the calculation should stop.
+     * @return The area statistics of the merged properties, or null if the calculation was cancelled.
+     */
+    public static DoubleSummaryStatistics summarizeMergedAreas(List<Property> properties, BooleanSupplier isCancelled) {
+        List<List<Property>> components = findSameOwnerComponents(properties, isCancelled);
+        if (components == null) {
+            return null;
+        }
+
+        DoubleSummaryStatistics areaStatistics = new DoubleSummaryStatistics();
+        for (List<Property> component : components) {
+            double componentArea = 0.0;
+            boolean hasValidArea = false;
+            for (Property property : component) {
+                try {
+                    componentArea += Double.parseDouble(property.getShapeArea());
+                    hasValidArea = true;
+                } catch (NumberFormatException e) {
+                    // Log invalid area values and continue
+                    System.err.println("Invalid area value for property " + property.getObjectId() + ": " + property.getShapeArea());
                 }
             }
+            if (hasValidArea) {
+                areaStatistics.accept(componentArea);
+            }
+        }
+
+        return areaStatistics;
+    }
+
+    /**
+     * Groups properties into connected components of adjacent properties with the same owner.
+     * Only envelope candidates from a spatial index with the same owner code are checked for adjacency.
+     *
+     * @param properties The list of properties.
+     * @return The components, ordered by their first property; each component keeps list order.
+     */
+    static List<List<Property>> findSameOwnerComponents(List<Property> properties) {
+        return findSameOwnerComponents(properties, () -> false);
+    }
 
-            // Add the updated property to the merged list
-            mergedProperties.add(currentProperty);
-            mergedObjectIds.add(currentProperty.getObjectId()); // Mark the current property as merged
+    /**
+     * Groups properties into connected components of adjacent properties with the same owner,
+     * checking between properties whether the grouping should stop.
+     *
+     * @param properties  The list of properties.
+     * @param isCancelled Tells whether the grouping should stop.
+     * @return The components, ordered by their first property, or null if the grouping was cancelled.
+     */
+    static List<List<Property>> findSameOwnerComponents(List<Property> properties, BooleanSupplier isCancelled) {
+        PropertyDictionaries.encodeAll(properties);
+        PropertySpatialIndex spatialIndex = new PropertySpatialIndex(properties);
+        UnionFind unionFind = new UnionFind(properties.size());
+
+        for (int i = 0; i < properties.size(); i++) {
+            if (isCancelled.getAsBoolean()) {
+                return null;
+            }
+            Property property = properties.get(i);
+            for (int j : spatialIndex.candidateIndicesNear(property)) {
+                // Each pair is checked once, and only if the owners match and the pair is not joined yet
+                Property candidate = properties.get(j);
+                if (j > i && property.getOwnerCode() == candidate.getOwnerCode() &&
+                    !unionFind.connected(i, j) && PropertyAdjacencyUtils.areAdjacent(property, candidate)) {
+                    unionFind.union(i, j);
+                }
+            }
         }
 
-        return mergedProperties;
+        // Collect the members of each component in list order
+        List<List<Property>> components = new ArrayList<>(unionFind.getComponentCount());
+        int[] componentOfRoot = new int[properties.size()];
+        Arrays.fill(componentOfRoot, -1);
+        for (int i = 0; i < properties.size(); i++) {
+            int root = unionFind.find(i);
+            if (componentOfRoot[root] < 0) {
+                componentOfRoot[root] = components.size();
+                components.add(new ArrayList<>(unionFind.componentSize(root)));
+            }
+            components.get(componentOfRoot[root]).add(properties.get(i));
+        }
+        return components;
     }
 
     /**
@@ -98,6 +191,7 @@ public class PropertyMergeUtils {
      * @return A new list of properties after merging adjacent properties with the same owner.
      */
     public static List<Property> mergeProperties(List<Property> properties) {
+        PropertyDictionaries.encodeAll(properties);
         List<Property> mergedProperties = new ArrayList<>(properties); // Copy of the properties list
 
         // Iterate through the properties for merging
@@ -107,7 +201,7 @@ public class PropertyMergeUtils {
                 Property property2 = mergedProperties.get(j);
 
                 // Check if the properties have the same owner and are adjacent
-                if (property1.getOwner().equalsIgnoreCase(property2.getOwner()) &&
+                if (property1.getOwnerCode() == property2.getOwnerCode() &&
                     PropertyAdjacencyUtils.areAdjacent(property1, property2)) {
                     // Merge property2 into property1
                     double newArea = Double.parseDouble(property1.getShapeArea()) +
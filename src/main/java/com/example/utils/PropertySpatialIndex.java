@@ -0,0 +1,184 @@
+package com.example.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import com.example.Property;
+
+/**
+ * Spatial index over a list of properties, built on a JTS {@link STRtree} of the property envelopes.
+ * Used to find adjacency candidates without comparing every pair of properties:
+ * the exact geometric predicates only run on properties whose envelopes overlap.
+ */
+public class PropertySpatialIndex {
+
+    private final List<Property> properties;
+    private final Map<Property, Integer> positions = new IdentityHashMap<>();
+    private final STRtree tree = new STRtree();
+
+    /**
+     * Builds a spatial index over the given properties.
+     * Properties whose geometry cannot be parsed are left out of the index.
+     *
+     * @param properties The list of properties to index.
+     */
+    public PropertySpatialIndex(List<Property> properties) {
+        this.properties = new ArrayList<>(properties);
+
+        for (int i = 0; i < this.properties.size(); i++) {
+            Property property = this.properties.get(i);
+            positions.put(property, i);
+            try {
+                tree.insert(PropertyGeometryCache.getEnvelope(property), i);
+            } catch (Exception e) {
+                // Handle properties with missing or invalid geometries
+                System.err.println("Error indexing geometry of property " + property.getObjectId() + ": " + e.getMessage());
+            }
+        }
+
+        // Build the tree now so that later queries are read-only
+        tree.build();
+    }
+
+    /**
+     * Gets the indexed properties, in their original order.
+     *
+     * @return The list of indexed properties.
+     */
+    public List<Property> getProperties() {
+        return Collections.unmodifiableList(properties);
+    }
+
+    /**
+     * Gets the position of a property in the indexed list.
+     *
+     * @param property The property to look up.
+     * @return The position of the property, or -1 if it is not indexed.
+     */
+    public int indexOf(Property property) {
+        Integer position = positions.get(property);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Finds the properties whose envelopes overlap the envelope of the given property.
+     * The property itself is never part of the result.
+     *
+     * @param property The property to find candidates for.
+     * @return The candidate properties, in their original order.
+     */
+    public List<Property> candidatesNear(Property property) {
+        List<Property> candidates = new ArrayList<>();
+        for (int index : candidateIndicesNear(property)) {
+            candidates.add(properties.get(index));
+        }
+        return candidates;
+    }
+
+    /**
+     * Finds the properties adjacent to the given property.
+     * Adjacency is only checked against the candidates returned by {@link #candidatesNear(Property)}.
+     *
+     * @param property The property to find adjacent properties for.
+     * @return The adjacent properties, in their original order.
+     */
+    public List<Property> adjacentTo(Property property) {
+        return adjacentTo(property, AdjacencyPolicy.INTERSECTING);
+    }
+
+    /**
+     * Finds the properties adjacent to the given property under an adjacency policy.
+     * The geometry of the property is prepared once and checked against the candidates whose envelopes
+     * lie within the tolerance of the policy, so each candidate costs a single prepared predicate.
+     *
+     * @param property The property to find adjacent properties for.
+     * @param policy   The rule deciding whether two properties are adjacent.
+     * @return The adjacent properties, in their original order.
+     */
+    public List<Property> adjacentTo(Property property, AdjacencyPolicy policy) {
+        List<Property> adjacentProperties = new ArrayList<>();
+        int[] candidates = candidateIndicesNear(property, policy.getTolerance());
+        if (candidates.length == 0) {
+            return adjacentProperties;
+        }
+
+        AdjacencyPolicy.Query query = policy.prepare(property);
+        for (int index : candidates) {
+            Property candidate = properties.get(index);
+            if (query.isAdjacentTo(candidate)) {
+                adjacentProperties.add(candidate);
+            }
+        }
+        return adjacentProperties;
+    }
+
+    /**
+     * Finds the positions of the properties whose envelopes overlap an area, such as the visible part of a map.
+     *
+     * @param area The area to search.
+     * @return The sorted positions of the properties in the area.
+     */
+    int[] indicesIntersecting(Envelope area) {
+        List<?> items = tree.query(area);
+        int[] indices = new int[items.size()];
+        for (int k = 0; k < indices.length; k++) {
+            indices[k] = (Integer) items.get(k);
+        }
+        Arrays.sort(indices);
+        return indices;
+    }
+
+    /**
+     * Finds the positions of the properties whose envelopes overlap the envelope of the given property.
+     *
+     * @param property The property to find candidates for.
+     * @return The sorted positions of the candidate properties.
+     */
+    int[] candidateIndicesNear(Property property) {
+        return candidateIndicesNear(property, 0.0);
+    }
+
+    /**
+     * Finds the positions of the properties whose envelopes are at most a distance from the envelope of the given property.
+     *
+     * @param property The property to find candidates for.
+     * @param distance The distance by which the envelope of the property is expanded.
+     * @return The sorted positions of the candidate properties.
+     */
+    int[] candidateIndicesNear(Property property, double distance) {
+        Envelope envelope;
+        try {
+            envelope = PropertyGeometryCache.getEnvelope(property);
+            if (distance > 0) {
+                envelope = new Envelope(envelope);
+                envelope.expandBy(distance);
+            }
+        } catch (Exception e) {
+            System.err.println("Error reading geometry of property " + property.getObjectId() + ": " + e.getMessage());
+            return new int[0];
+        }
+
+        List<?> items = tree.query(envelope);
+        int self = indexOf(property);
+        int[] indices = new int[items.size()];
+        int count = 0;
+        for (Object item : items) {
+            int index = (Integer) item;
+            if (index != self) {
+                indices[count++] = index;
+            }
+        }
+
+        // Keep the results in the order of the original list
+        int[] result = Arrays.copyOf(indices, count);
+        Arrays.sort(result);
+        return result;
+    }
+}
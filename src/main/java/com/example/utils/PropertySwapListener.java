@@ -0,0 +1,61 @@
+package com.example.utils;
+
+import java.util.List;
+
+import com.example.Property;
+import com.example.PropertySwapSuggestion;
+
+/**
+ * Receives the results of a swap suggestion run as they are produced.
+ * All methods are called one at a time on the thread generating the suggestions, in this order:
+ * any number of {@link #onSuggestion} and {@link #onProgress} calls, then {@link #onSuggestionsComplete},
+ * then {@link #onPlan} if a plan is made. A listener that updates Swing components must hand the
+ * results over to the Event Dispatch Thread itself.
+ */
+public interface PropertySwapListener {
+
+    /**
+     * Called for each suggestion as soon as it is found, if it is among the best suggestions found so far.
+     * Suggestions arrive in the order of their properties in the list, not by potential.
+     *
+     * @param suggestion The suggestion found.
+     */
+    default void onSuggestion(PropertySwapSuggestion suggestion) {
+    }
+
+    /**
+     * Called after each batch of properties has been scored.
+     *
+     * @param scannedProperties The number of properties whose pairs have been scored.
+     * @param totalProperties   The number of properties being analysed.
+     */
+    default void onProgress(int scannedProperties, int totalProperties) {
+    }
+
+    /**
+     * Called once all pairs have been scored.
+     * Suggestions passed to {@link #onSuggestion} may be missing here if better ones were found later.
+     *
+     * @param suggestions The best suggestions, sorted by potential in descending order.
+     */
+    default void onSuggestionsComplete(List<PropertySwapSuggestion> suggestions) {
+    }
+
+    /**
+     * Called with the conflict-free swaps chosen from the suggestions.
+     *
+     * @param properties The properties the suggestions were generated for.
+     * @param plan       The planned swaps.
+     */
+    default void onPlan(List<Property> properties, PropertySwapPlanner.SwapPlan plan) {
+    }
+
+    /**
+     * Checks whether the run should stop; it is checked between batches of properties.
+     *
+     * @return True to stop generating suggestions, otherwise false.
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
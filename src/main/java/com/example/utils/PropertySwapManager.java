@@ -1,9 +1,16 @@
 package com.example.utils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.example.Property;
 import com.example.PropertySwapSuggestion;
@@ -14,85 +21,360 @@ import com.example.PropertySwapSuggestion;
  */
 public class PropertySwapManager {
 
+    /**
+     * Minimum potential of a swap suggestion (ratio of the smaller to the larger area).
+     */
+    public static final double DEFAULT_MINIMUM_POTENTIAL = 0.75;
+
+    // Number of properties scored in parallel before their suggestions are published
+    private static final int PUBLISH_BATCH_SIZE = 512;
+
     /**
      * Generates suggestions for property swaps between owners to maximize the average area per owner.
+     * The adjacency of the properties is computed in parallel; use {@link #generateSwapSuggestions(PropertyAdjacencyGraph)}
+     * with {@link PropertyDataset#buildAdjacencyGraph(List)} to reuse the adjacency of a dataset.
      *
      * @param properties The list of Property objects to be analyzed for potential swaps.
      * @return A list of PropertySwapSuggestion objects representing potential swaps, sorted by potential.
      */
     public static List<PropertySwapSuggestion> generateSwapSuggestions(List<Property> properties) {
-        List<PropertySwapSuggestion> suggestions = new ArrayList<>();
+        return generateSwapSuggestions(PropertyAdjacencyGraph.build(properties));
+    }
 
-        // Iterate over all pairs of properties
-        for (int i = 0; i < properties.size(); i++) {
-            Property property1 = properties.get(i);
-            for (int j = i + 1; j < properties.size(); j++) {
-                Property property2 = properties.get(j);
+    /**
+     * Generates suggestions for property swaps between the owners of the properties of an adjacency graph.
+     * A pair (property1, property2) is suggested when the owners differ, property2 borders a parcel of
+     * property1's owner, and the ratio of the smaller to the larger area is at least 0.75.
+     * The parcels bordering each owner's holdings are indexed from the given adjacency,
+     * so candidate pairs only come from parcels that actually touch another owner's land.
+     * The pairs are scored in parallel; the result has the same order as a sequential scan of all pairs.
+     *
+     * @param adjacencyGraph The adjacency graph of the properties to be analyzed for potential swaps.
+     * @return A list of PropertySwapSuggestion objects representing potential swaps, sorted by potential.
+     */
+    public static List<PropertySwapSuggestion> generateSwapSuggestions(PropertyAdjacencyGraph adjacencyGraph) {
+        List<Property> properties = adjacencyGraph.getProperties();
+        PropertyDictionaries.encodeAll(properties);
 
-                // Skip pairs with the same owner
-                if (property1.getOwner().equalsIgnoreCase(property2.getOwner())) {
-                    continue;
-                }
+        // Parse every area once instead of once per pair
+        double[] areas = parseAreas(properties);
 
-                // Check if property2 is adjacent to any property owned by property1's owner
-                boolean hasAdjacentToOwner = false;
-                for (Property property : properties) {
-                    if (property.getOwner().equalsIgnoreCase(property1.getOwner()) &&
-                        PropertyAdjacencyUtils.areAdjacent(property, property2)) {
-                        hasAdjacentToOwner = true;
-                        break;
-                    }
-                }
+        // Index the parcels bordering each owner's holdings
+        Map<Integer, int[]> neighborsByOwner = indexNeighborsByOwner(adjacencyGraph);
 
-                // Skip if no adjacency to the owner
-                if (!hasAdjacentToOwner) {
-                    continue;
-                }
+        // Score the candidate pairs of each property in parallel, keeping the pairs in (i, j) order
+        List<PropertySwapSuggestion> suggestions = IntStream.range(0, properties.size())
+                .parallel()
+                .mapToObj(i -> suggestionsFor(properties, areas, neighborsByOwner, i))
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+
+        // Sort suggestions by potential in descending order (the sort is stable, so ties keep their order)
+        suggestions.sort((s1, s2) -> Double.compare(s2.getPotential(), s1.getPotential()));
+
+        return suggestions;
+    }
 
-                try {
-                    // Calculate swap potential based on the areas of the two properties
-                    double area1 = Double.parseDouble(property1.getShapeArea());
-                    double area2 = Double.parseDouble(property2.getShapeArea());
-                    double maiorArea = Math.max(area1, area2);
-                    double menorArea = Math.min(area1, area2);
-                    double potential = menorArea / maiorArea;
-
-                    // Add the swap suggestion if the potential meets the threshold (>= 0.75)
-                    if (potential >= 0.75) {
-                        suggestions.add(new PropertySwapSuggestion(property1, property2, potential));
-                    }
-                } catch (NumberFormatException e) {
-                    // Log error for invalid area values
-                    System.err.println("Invalid area value for properties " + property1.getObjectId() +
-                                       " or " + property2.getObjectId());
+    /**
+     * Generates only the best swap suggestions, without collecting and sorting every pair.
+     * Each parallel task keeps a bounded min-heap of at most {@code limit} candidates, and a pair is only
+     * turned into a suggestion if it beats the current worst candidate of the heap.
+     * The result is the same as the first {@code limit} entries of {@link #generateSwapSuggestions(List)}
+     * when {@code minimumPotential} is {@link #DEFAULT_MINIMUM_POTENTIAL}.
+     *
+     * @param properties       The list of Property objects to be analyzed for potential swaps.
+     * @param limit            The maximum number of suggestions to return.
+     * @param minimumPotential The minimum potential of a suggestion.
+     * @return At most {@code limit} PropertySwapSuggestion objects, sorted by potential in descending order.
+     * @throws IllegalArgumentException If the limit is less than 1, or the properties were encoded by different datasets.
+     */
+    public static List<PropertySwapSuggestion> generateTopSwapSuggestions(List<Property> properties, int limit, double minimumPotential) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return generateTopSwapSuggestions(PropertyAdjacencyGraph.build(properties), limit, minimumPotential);
+    }
+
+    /**
+     * Generates only the best swap suggestions for the properties of an adjacency graph.
+     *
+     * @param adjacencyGraph   The adjacency graph of the properties to be analyzed for potential swaps.
+     * @param limit            The maximum number of suggestions to return.
+     * @param minimumPotential The minimum potential of a suggestion.
+     * @return At most {@code limit} PropertySwapSuggestion objects, sorted by potential in descending order.
+     * @throws IllegalArgumentException If the limit is less than 1, or the properties were encoded by different datasets.
+     * @see #generateTopSwapSuggestions(List, int, double)
+     */
+    public static List<PropertySwapSuggestion> generateTopSwapSuggestions(PropertyAdjacencyGraph adjacencyGraph, int limit,
+                                                                          double minimumPotential) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        List<Property> properties = adjacencyGraph.getProperties();
+        PropertyDictionaries.encodeAll(properties);
+
+        double[] areas = parseAreas(properties);
+        Map<Integer, int[]> neighborsByOwner = indexNeighborsByOwner(adjacencyGraph);
+
+        // Each task fills its own bounded heap; the heaps are merged at the end
+        TopSuggestions topSuggestions = IntStream.range(0, properties.size())
+                .parallel()
+                .collect(() -> new TopSuggestions(limit),
+                        (heap, i) -> scorePairs(properties, areas, neighborsByOwner, i, minimumPotential, heap::offer),
+                        TopSuggestions::addAll);
+
+        return topSuggestions.toList(properties);
+    }
+
+    /**
+     * Generates the best swap suggestions and publishes them to a listener while they are being found.
+     * The properties are scored in parallel in batches; after each batch, the pairs that enter the running
+     * top {@code limit} are passed to the listener in (i, j) order, so the first results are available long before
+     * the whole list has been scanned. The final suggestions are the same as those of
+     * {@link #generateTopSwapSuggestions(List, int, double)}. If the listener cancels the run,
+     * scoring stops and the best suggestions found so far are completed.
+     *
+     * @param properties       The list of Property objects to be analyzed for potential swaps.
+     * @param limit            The maximum number of suggestions, or {@link Integer#MAX_VALUE} for all of them.
+     * @param minimumPotential The minimum potential of a suggestion.
+     * @param listener         Receives the suggestions and the progress of the run.
+     * @return At most {@code limit} PropertySwapSuggestion objects, sorted by potential in descending order.
+     * @throws IllegalArgumentException If the limit is less than 1, or the properties were encoded by different datasets.
+     */
+    public static List<PropertySwapSuggestion> publishSwapSuggestions(List<Property> properties, int limit, double minimumPotential,
+                                                                      PropertySwapListener listener) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return publishSwapSuggestions(PropertyAdjacencyGraph.build(properties), limit, minimumPotential, listener);
+    }
+
+    /**
+     * Generates the best swap suggestions for the properties of an adjacency graph and publishes them
+     * to a listener while they are being found.
+     *
+     * @param adjacencyGraph   The adjacency graph of the properties to be analyzed for potential swaps.
+     * @param limit            The maximum number of suggestions, or {@link Integer#MAX_VALUE} for all of them.
+     * @param minimumPotential The minimum potential of a suggestion.
+     * @param listener         Receives the suggestions and the progress of the run.
+     * @return At most {@code limit} PropertySwapSuggestion objects, sorted by potential in descending order.
+     * @throws IllegalArgumentException If the limit is less than 1, or the properties were encoded by different datasets.
+     * @see #publishSwapSuggestions(List, int, double, PropertySwapListener)
+     */
+    public static List<PropertySwapSuggestion> publishSwapSuggestions(PropertyAdjacencyGraph adjacencyGraph, int limit,
+                                                                      double minimumPotential, PropertySwapListener listener) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        List<Property> properties = adjacencyGraph.getProperties();
+        PropertyDictionaries.encodeAll(properties);
+
+        double[] areas = parseAreas(properties);
+        Map<Integer, int[]> neighborsByOwner = indexNeighborsByOwner(adjacencyGraph);
+
+        TopSuggestions topSuggestions = new TopSuggestions(limit);
+        for (int start = 0; start < properties.size() && !listener.isCancelled(); start += PUBLISH_BATCH_SIZE) {
+            int end = Math.min(start + PUBLISH_BATCH_SIZE, properties.size());
+
+            // Score the batch in parallel, keeping the pairs in (i, j) order
+            List<Candidate> candidates = IntStream.range(start, end)
+                    .parallel()
+                    .mapToObj(i -> candidatesFor(properties, areas, neighborsByOwner, i, minimumPotential))
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList());
+
+            // Publish the pairs that are among the best found so far
+            for (Candidate candidate : candidates) {
+                if (topSuggestions.offer(candidate.i, candidate.j, candidate.potential)) {
+                    listener.onSuggestion(new PropertySwapSuggestion(properties.get(candidate.i), properties.get(candidate.j), candidate.potential));
                 }
             }
+            listener.onProgress(end, properties.size());
         }
 
-        // Sort suggestions by potential in descending order
-        suggestions.sort((s1, s2) -> Double.compare(s2.getPotential(), s1.getPotential()));
+        List<PropertySwapSuggestion> suggestions = topSuggestions.toList(properties);
+        listener.onSuggestionsComplete(suggestions);
+        return suggestions;
+    }
 
+    /**
+     * Scores the candidate pairs whose first property is at a given position.
+     *
+     * @return The pairs (i, j) with j &gt; i that meet the minimum potential, ordered by j.
+     */
+    private static List<Candidate> candidatesFor(List<Property> properties, double[] areas, Map<Integer, int[]> neighborsByOwner,
+                                                 int i, double minimumPotential) {
+        List<Candidate> candidates = new ArrayList<>();
+        scorePairs(properties, areas, neighborsByOwner, i, minimumPotential,
+                (position1, position2, potential) -> candidates.add(new Candidate(position1, position2, potential)));
+        return candidates;
+    }
+
+    /**
+     * Finds the swap suggestions whose first property is at a given position.
+     *
+     * @param properties       The list of properties.
+     * @param areas            The parsed area of each property.
+     * @param neighborsByOwner The sorted positions of the parcels bordering each owner's holdings.
+     * @param i                The position of the first property.
+     * @return The suggestions for the pairs (i, j) with j &gt; i, ordered by j.
+     */
+    private static List<PropertySwapSuggestion> suggestionsFor(List<Property> properties, double[] areas,
+                                                               Map<Integer, int[]> neighborsByOwner, int i) {
+        List<PropertySwapSuggestion> suggestions = new ArrayList<>();
+        scorePairs(properties, areas, neighborsByOwner, i, DEFAULT_MINIMUM_POTENTIAL,
+                (position1, position2, potential) ->
+                        suggestions.add(new PropertySwapSuggestion(properties.get(position1), properties.get(position2), potential)));
         return suggestions;
     }
 
+    /**
+     * Scores the candidate pairs whose first property is at a given position.
+     *
+     * @param properties       The list of properties.
+     * @param areas            The parsed area of each property.
+     * @param neighborsByOwner The sorted positions of the parcels bordering each owner's holdings.
+     * @param i                The position of the first property.
+     * @param minimumPotential The minimum potential of a pair.
+     * @param consumer         Receives the pairs (i, j) with j &gt; i that meet the minimum potential, ordered by j.
+     */
+    private static void scorePairs(List<Property> properties, double[] areas, Map<Integer, int[]> neighborsByOwner,
+                                   int i, double minimumPotential, PairConsumer consumer) {
+        Property property1 = properties.get(i);
+        int[] neighbors = neighborsByOwner.get(property1.getOwnerCode());
+        if (neighbors == null) {
+            return;
+        }
+
+        // Only parcels after property1 are considered, so each pair is handled once
+        int start = Arrays.binarySearch(neighbors, i + 1);
+        for (int k = start >= 0 ? start : -start - 1; k < neighbors.length; k++) {
+            int j = neighbors[k];
+            Property property2 = properties.get(j);
+
+            // Skip pairs with the same owner
+            if (property1.getOwnerCode() == property2.getOwnerCode()) {
+                continue;
+            }
+
+            if (Double.isNaN(areas[i]) || Double.isNaN(areas[j])) {
+                // Log error for invalid area values
+                System.err.println("Invalid area value for properties " + property1.getObjectId() +
+                                   " or " + property2.getObjectId());
+                continue;
+            }
+
+            // Calculate swap potential based on the areas of the two properties
+            double maiorArea = Math.max(areas[i], areas[j]);
+            double menorArea = Math.min(areas[i], areas[j]);
+            double potential = menorArea / maiorArea;
+
+            // Pass on the pair if the potential meets the threshold
+            if (potential >= minimumPotential) {
+                consumer.accept(i, j, potential);
+            }
+        }
+    }
+
+    /**
+     * Indexes, for each owner, the parcels that border at least one of the owner's parcels.
+     *
+     * @param adjacencyGraph The adjacency graph of the properties.
+     * @return The sorted, distinct positions of the bordering parcels, keyed by owner code.
+     */
+    private static Map<Integer, int[]> indexNeighborsByOwner(PropertyAdjacencyGraph adjacencyGraph) {
+        // Collect the neighbours of every parcel under the owner of that parcel
+        Map<Integer, int[]> neighborsByOwner = new HashMap<>();
+        Map<Integer, Integer> sizes = new HashMap<>();
+        for (int i = 0; i < adjacencyGraph.getVertexCount(); i++) {
+            int owner = adjacencyGraph.getProperty(i).getOwnerCode();
+            int[] adjacent = adjacencyGraph.neighborsOf(i);
+            int size = sizes.getOrDefault(owner, 0);
+            int[] neighbors = neighborsByOwner.getOrDefault(owner, new int[0]);
+            if (size + adjacent.length > neighbors.length) {
+                neighbors = Arrays.copyOf(neighbors, Math.max(size + adjacent.length, neighbors.length * 2));
+                neighborsByOwner.put(owner, neighbors);
+            }
+            System.arraycopy(adjacent, 0, neighbors, size, adjacent.length);
+            sizes.put(owner, size + adjacent.length);
+        }
+
+        // Sort the neighbours of each owner and remove duplicates
+        for (Map.Entry<Integer, int[]> entry : neighborsByOwner.entrySet()) {
+            int[] neighbors = entry.getValue();
+            int size = sizes.get(entry.getKey());
+            Arrays.sort(neighbors, 0, size);
+            int distinct = 0;
+            for (int k = 0; k < size; k++) {
+                if (distinct == 0 || neighbors[k] != neighbors[distinct - 1]) {
+                    neighbors[distinct++] = neighbors[k];
+                }
+            }
+            entry.setValue(Arrays.copyOf(neighbors, distinct));
+        }
+        return neighborsByOwner;
+    }
+
     /**
      * Applies the swaps suggested by {@code generateSwapSuggestions} to the list of properties.
      * Updates the owner of the properties involved in the swaps.
+     * The properties are looked up by OBJECTID in a primary-key index built once,
+     * so each swap costs O(1) instead of a scan of the list.
      *
      * @param properties  The original list of properties.
      * @param suggestions The list of PropertySwapSuggestion objects representing potential swaps.
+     * @throws NumberFormatException If an OBJECTID is not an integer.
      */
     public static void applySwaps(List<Property> properties, List<PropertySwapSuggestion> suggestions) {
+        PropertyIdIndex idIndex = new PropertyIdIndex(properties);
+
         // Iterate through the list of swap suggestions
         for (PropertySwapSuggestion suggestion : suggestions) {
             String newOwner = suggestion.getProperty2().getOwner(); // New owner for property1
-            for (Property property : properties) {
+            Property property = idIndex.get(suggestion.getProperty1().getObjectId());
+            if (property != null) {
                 // Update the owner of property1 to the owner of property2
-                if (property.getObjectId().equals(suggestion.getProperty1().getObjectId())) {
-                    property.setOwner(newOwner);
-                }
+                property.setOwner(newOwner);
+            }
+        }
+    }
+
+    /**
+     * Applies the swaps suggested by {@code generateSwapSuggestions} to the properties of a manager.
+     * Ownership changes go through {@link PropertyManager#changeOwner(Property, String)},
+     * so the owner index of the manager stays up to date. The properties are looked up
+     * in the primary-key index of the manager, so applying N swaps costs O(N).
+     *
+     * @param propertyManager The manager holding the properties.
+     * @param suggestions     The list of PropertySwapSuggestion objects representing potential swaps.
+     */
+    public static void applySwaps(PropertyManager propertyManager, List<PropertySwapSuggestion> suggestions) {
+        for (PropertySwapSuggestion suggestion : suggestions) {
+            String newOwner = suggestion.getProperty2().getOwner(); // New owner for property1
+            Property property = propertyManager.getIdIndex().get(suggestion.getProperty1().getObjectId());
+            if (property != null) {
+                // Update the owner of property1 to the owner of property2
+                propertyManager.changeOwner(property, newOwner);
+            }
+        }
+    }
+
+    /**
+     * Parses the areas of a list of properties into a primitive array.
+     *
+     * @param properties The list of properties.
+     * @return The area of each property, in list order, or NaN where the area is invalid.
+     */
+    private static double[] parseAreas(List<Property> properties) {
+        double[] areas = new double[properties.size()];
+        for (int i = 0; i < areas.length; i++) {
+            try {
+                areas[i] = Double.parseDouble(properties.get(i).getShapeArea());
+            } catch (NumberFormatException e) {
+                areas[i] = Double.NaN;
             }
         }
+        return areas;
     }
 
     /**
@@ -110,4 +392,81 @@ public class PropertySwapManager {
         }
         return owners;
     }
+
+    /**
+     * Receives a scored pair of positions.
+     */
+    private interface PairConsumer {
+        void accept(int i, int j, double potential);
+    }
+
+    /**
+     * Bounded min-heap holding the best scored pairs seen so far.
+     * Pairs are ranked by potential, and pairs with equal potential by position (i, j),
+     * which is the order of the fully sorted suggestion list.
+     */
+    private static final class TopSuggestions {
+        // The worst candidate is at the head of the heap
+        private static final Comparator<Candidate> WORST_FIRST = Comparator
+                .comparingDouble((Candidate candidate) -> candidate.potential)
+                .thenComparing(Comparator.comparingInt((Candidate candidate) -> candidate.i)
+                        .thenComparingInt(candidate -> candidate.j)
+                        .reversed());
+
+        private final int limit;
+        private final PriorityQueue<Candidate> heap;
+
+        TopSuggestions(int limit) {
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(Math.min(limit, 1024), WORST_FIRST);
+        }
+
+        boolean offer(int i, int j, double potential) {
+            if (heap.size() < limit) {
+                heap.add(new Candidate(i, j, potential));
+                return true;
+            }
+
+            // Only candidates that beat the current K-th one replace it
+            Candidate worst = heap.peek();
+            if (potential > worst.potential || (potential == worst.potential && (i < worst.i || (i == worst.i && j < worst.j)))) {
+                heap.poll();
+                heap.add(new Candidate(i, j, potential));
+                return true;
+            }
+            return false;
+        }
+
+        void addAll(TopSuggestions other) {
+            for (Candidate candidate : other.heap) {
+                offer(candidate.i, candidate.j, candidate.potential);
+            }
+        }
+
+        List<PropertySwapSuggestion> toList(List<Property> properties) {
+            List<Candidate> candidates = new ArrayList<>(heap);
+            candidates.sort(WORST_FIRST.reversed());
+
+            List<PropertySwapSuggestion> suggestions = new ArrayList<>(candidates.size());
+            for (Candidate candidate : candidates) {
+                suggestions.add(new PropertySwapSuggestion(properties.get(candidate.i), properties.get(candidate.j), candidate.potential));
+            }
+            return suggestions;
+        }
+    }
+
+    /**
+     * Scored pair of positions kept in a {@link TopSuggestions} heap.
+     */
+    private static final class Candidate {
+        final int i;
+        final int j;
+        final double potential;
+
+        Candidate(int i, int j, double potential) {
+            this.i = i;
+            this.j = j;
+            this.potential = potential;
+        }
+    }
 }
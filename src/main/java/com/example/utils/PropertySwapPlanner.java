@@ -0,0 +1,299 @@
+package com.example.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import com.example.Property;
+import com.example.PropertySwapSuggestion;
+
+/**
+ * Plans which swap suggestions to apply.
+ * A swap transfers property1 to the owner of property2, as {@link PropertySwapManager#applySwaps(List, List)} does.
+ * The planner chooses a conflict-free set of swaps, where every property takes part in at most one swap,
+ * so the result does not depend on the order in which the swaps are applied. The set is chosen to maximize
+ * the mean of the average area per owner (the values of {@link PropertyGeometryUtils#calculateAverageAreaPerOwner(List)},
+ * where owners that only differ in case are one owner):
+ * first greedily, re-evaluating the best remaining swap after every choice, then by local search
+ * (add, drop and exchange moves) until no move improves the plan or the time budget runs out.
+ * Owner totals are kept in {@link OwnerAreaStatistics}, so every move is evaluated in constant time.
+ */
+public class PropertySwapPlanner {
+
+    /**
+     * Default time budget of the local search, in milliseconds.
+     */
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 2000;
+
+    // Minimum improvement of the objective for a move to be accepted
+    private static final double EPSILON = 1e-9;
+
+    private final int[] sourceOwners;    // Owner code of property1 of each suggestion
+    private final int[] targetOwners;    // Owner code of property2 of each suggestion
+    private final int[] firstPositions;  // Position of property1 of each suggestion
+    private final int[] secondPositions; // Position of property2 of each suggestion
+    private final double[] areas;        // Area of property1 of each suggestion
+
+    private final OwnerAreaStatistics statistics;
+
+    private final boolean[] chosen;
+    private final int[] usedBy;          // Suggestion using each property position, or -1
+
+    /**
+     * Prepares the owner statistics and the suggestion data of a planning run.
+     *
+     * @param properties  The list of properties.
+     * @param suggestions The swap suggestions; their properties must belong to the list.
+     */
+    private PropertySwapPlanner(List<Property> properties, List<PropertySwapSuggestion> suggestions) {
+        Map<Property, Integer> positions = new IdentityHashMap<>();
+        for (int i = 0; i < properties.size(); i++) {
+            positions.put(properties.get(i), i);
+        }
+        statistics = new OwnerAreaStatistics(properties);
+
+        // Keep the data needed to evaluate each suggestion
+        int size = suggestions.size();
+        sourceOwners = new int[size];
+        targetOwners = new int[size];
+        firstPositions = new int[size];
+        secondPositions = new int[size];
+        areas = new double[size];
+        for (int s = 0; s < size; s++) {
+            PropertySwapSuggestion suggestion = suggestions.get(s);
+            Integer first = positions.get(suggestion.getProperty1());
+            Integer second = positions.get(suggestion.getProperty2());
+            if (first == null || second == null) {
+                throw new IllegalArgumentException("Suggestion refers to a property outside the list: " + suggestion);
+            }
+            firstPositions[s] = first;
+            secondPositions[s] = second;
+            sourceOwners[s] = suggestion.getProperty1().getOwnerCode();
+            targetOwners[s] = suggestion.getProperty2().getOwnerCode();
+            areas[s] = OwnerAreaStatistics.areaOf(suggestion.getProperty1());
+        }
+
+        chosen = new boolean[size];
+        usedBy = new int[properties.size()];
+        Arrays.fill(usedBy, -1);
+    }
+
+    /**
+     * Plans a conflict-free set of swaps with the default time budget.
+     *
+     * @param properties  The list of properties.
+     * @param suggestions The swap suggestions, for example from {@link PropertySwapManager#generateSwapSuggestions(List)}.
+     * @return The plan with the chosen swaps and the objective before and after them.
+     * @throws IllegalArgumentException If a suggestion refers to a property outside the list.
+     */
+    public static SwapPlan plan(List<Property> properties, List<PropertySwapSuggestion> suggestions) {
+        return plan(properties, suggestions, DEFAULT_TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * Plans a conflict-free set of swaps. The properties are not modified.
+     *
+     * @param properties       The list of properties.
+     * @param suggestions      The swap suggestions, for example from {@link PropertySwapManager#generateSwapSuggestions(List)}.
+     * @param timeBudgetMillis The time budget of the local search, in milliseconds.
+     * @return The plan with the chosen swaps and the objective before and after them.
+     * @throws IllegalArgumentException If a suggestion refers to a property outside the list.
+     */
+    public static SwapPlan plan(List<Property> properties, List<PropertySwapSuggestion> suggestions, long timeBudgetMillis) {
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        PropertySwapPlanner planner = new PropertySwapPlanner(properties, suggestions);
+
+        double objectiveBefore = planner.objective();
+        planner.chooseGreedily();
+        planner.improveLocally(deadline);
+        double objectiveAfter = planner.objective();
+
+        // Report the chosen swaps in the order of the suggestion list
+        List<PropertySwapSuggestion> swaps = new ArrayList<>();
+        for (int s = 0; s < suggestions.size(); s++) {
+            if (planner.chosen[s]) {
+                swaps.add(suggestions.get(s));
+            }
+        }
+        return new SwapPlan(swaps, objectiveBefore, objectiveAfter);
+    }
+
+    /**
+     * Repeatedly chooses the swap with the largest gain, re-evaluating gains lazily as owner totals change.
+     */
+    private void chooseGreedily() {
+        PriorityQueue<double[]> queue = new PriorityQueue<>((e1, e2) -> Double.compare(e2[0], e1[0]));
+        for (int s = 0; s < chosen.length; s++) {
+            double gain = gainOfAdding(s);
+            if (gain > EPSILON) {
+                queue.add(new double[]{gain, s});
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            double[] entry = queue.poll();
+            int s = (int) entry[1];
+            if (!isFree(s)) {
+                continue;
+            }
+
+            // The stored gain may be stale; choose the swap only if it is still the best
+            double gain = gainOfAdding(s);
+            if (gain <= EPSILON) {
+                continue;
+            }
+            if (!queue.isEmpty() && gain < queue.peek()[0]) {
+                queue.add(new double[]{gain, s});
+                continue;
+            }
+            add(s);
+        }
+    }
+
+    /**
+     * Improves the plan with add, drop and exchange moves until no move helps or the deadline passes.
+     *
+     * @param deadline The deadline as a {@link System#nanoTime()} value.
+     */
+    private void improveLocally(long deadline) {
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadline) {
+            improved = false;
+            for (int s = 0; s < chosen.length && System.nanoTime() < deadline; s++) {
+                if (chosen[s]) {
+                    // Drop a chosen swap if the plan is better without it
+                    double before = objective();
+                    remove(s);
+                    if (objective() > before + EPSILON) {
+                        improved = true;
+                    } else {
+                        add(s);
+                    }
+                } else if (isFree(s)) {
+                    // Add a free swap if it helps
+                    if (gainOfAdding(s) > EPSILON) {
+                        add(s);
+                        improved = true;
+                    }
+                } else if (exchange(s)) {
+                    // Replace the conflicting swaps by this one
+                    improved = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Tries to replace the chosen swaps that conflict with an unchosen swap by that swap.
+     *
+     * @param s The unchosen swap.
+     * @return True if the exchange improved the plan and was kept, otherwise false.
+     */
+    private boolean exchange(int s) {
+        double before = objective();
+        int conflict1 = usedBy[firstPositions[s]];
+        int conflict2 = usedBy[secondPositions[s]];
+        if (conflict1 >= 0) {
+            remove(conflict1);
+        }
+        if (conflict2 >= 0 && conflict2 != conflict1) {
+            remove(conflict2);
+        }
+        add(s);
+
+        if (objective() > before + EPSILON) {
+            return true;
+        }
+
+        // Revert the exchange
+        remove(s);
+        if (conflict1 >= 0) {
+            add(conflict1);
+        }
+        if (conflict2 >= 0 && conflict2 != conflict1) {
+            add(conflict2);
+        }
+        return false;
+    }
+
+    private boolean isFree(int s) {
+        return !chosen[s] && usedBy[firstPositions[s]] < 0 && usedBy[secondPositions[s]] < 0;
+    }
+
+    private double gainOfAdding(int s) {
+        return statistics.gainOfTransfer(sourceOwners[s], targetOwners[s], areas[s]);
+    }
+
+    private void add(int s) {
+        chosen[s] = true;
+        usedBy[firstPositions[s]] = s;
+        usedBy[secondPositions[s]] = s;
+        statistics.transfer(sourceOwners[s], targetOwners[s], areas[s]);
+    }
+
+    private void remove(int s) {
+        chosen[s] = false;
+        usedBy[firstPositions[s]] = -1;
+        usedBy[secondPositions[s]] = -1;
+        statistics.transfer(targetOwners[s], sourceOwners[s], areas[s]);
+    }
+
+    private double objective() {
+        return statistics.getMeanAverageArea();
+    }
+
+    /**
+     * Result of a planning run: the chosen swaps and the mean of the average area per owner before and after them.
+     */
+    public static class SwapPlan {
+        private final List<PropertySwapSuggestion> swaps;
+        private final double averageAreaBefore;
+        private final double averageAreaAfter;
+
+        SwapPlan(List<PropertySwapSuggestion> swaps, double averageAreaBefore, double averageAreaAfter) {
+            this.swaps = Collections.unmodifiableList(swaps);
+            this.averageAreaBefore = averageAreaBefore;
+            this.averageAreaAfter = averageAreaAfter;
+        }
+
+        /**
+         * Gets the chosen swaps. No property takes part in more than one of them.
+         *
+         * @return The chosen swaps, in the order of the suggestion list.
+         */
+        public List<PropertySwapSuggestion> getSwaps() {
+            return swaps;
+        }
+
+        /**
+         * Gets the mean of the average area per owner before the swaps.
+         *
+         * @return The objective before the swaps.
+         */
+        public double getAverageAreaBefore() {
+            return averageAreaBefore;
+        }
+
+        /**
+         * Gets the mean of the average area per owner after the swaps.
+         *
+         * @return The objective after the swaps.
+         */
+        public double getAverageAreaAfter() {
+            return averageAreaAfter;
+        }
+
+        /**
+         * Gets the gain of the plan.
+         *
+         * @return The objective after the swaps minus the objective before them.
+         */
+        public double getGain() {
+            return averageAreaAfter - averageAreaBefore;
+        }
+    }
+}
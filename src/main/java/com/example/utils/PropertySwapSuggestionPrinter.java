@@ -1,7 +1,8 @@
 package com.example.utils;
 
+import java.io.PrintStream;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 import com.example.Property;
 import com.example.PropertySwapSuggestion;
@@ -9,8 +10,49 @@ import com.example.PropertySwapSuggestion;
 /**
  * Utility class to handle printing of property swap suggestions and related metrics.
  * This class provides methods to print swap suggestions and compare average property areas per owner before and after swaps.
+ * An instance is a {@link PropertySwapListener} that prints the results of a suggestion run once they are complete.
  */
-public class PropertySwapSuggestionPrinter {
+public class PropertySwapSuggestionPrinter implements PropertySwapListener {
+
+    private final PrintStream out;
+
+    /**
+     * Creates a listener that prints to the standard output.
+     */
+    public PropertySwapSuggestionPrinter() {
+        this(System.out);
+    }
+
+    /**
+     * Creates a listener that prints to a stream.
+     *
+     * @param out The stream the results are printed to.
+     */
+    public PropertySwapSuggestionPrinter(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Prints the final suggestions of a run.
+     *
+     * @param suggestions The best suggestions, sorted by potential in descending order.
+     */
+    @Override
+    public void onSuggestionsComplete(List<PropertySwapSuggestion> suggestions) {
+        printSuggestions(out, suggestions);
+    }
+
+    /**
+     * Prints the planned swaps and the average area per owner before and after them.
+     *
+     * @param properties The properties the suggestions were generated for.
+     * @param plan       The planned swaps.
+     */
+    @Override
+    public void onPlan(List<Property> properties, PropertySwapPlanner.SwapPlan plan) {
+        printSwapPlan(out, plan);
+        printAverageAreaBeforeAndAfterSwap(out, properties, plan.getSwaps());
+    }
 
     /**
      * Prints a list of property swap suggestions.
@@ -19,43 +61,74 @@ public class PropertySwapSuggestionPrinter {
      * @param suggestions The list of PropertySwapSuggestion objects to be printed.
      */
     public static void printSuggestions(List<PropertySwapSuggestion> suggestions) {
-        System.out.println("Top property swap suggestions with potential >= 0.75:");
+        printSuggestions(System.out, suggestions);
+    }
+
+    private static void printSuggestions(PrintStream out, List<PropertySwapSuggestion> suggestions) {
+        out.println("Top property swap suggestions with potential >= 0.75:");
         // Iterate through the list of suggestions and print each one
         for (PropertySwapSuggestion suggestion : suggestions) {
-            System.out.println(suggestion);
+            out.println(suggestion);
+        }
+    }
+
+    /**
+     * Prints the swaps chosen by the planner and the mean of the average area per owner before and after them.
+     *
+     * @param plan The plan returned by {@link PropertySwapPlanner#plan(List, List)}.
+     */
+    public static void printSwapPlan(PropertySwapPlanner.SwapPlan plan) {
+        printSwapPlan(System.out, plan);
+    }
+
+    private static void printSwapPlan(PrintStream out, PropertySwapPlanner.SwapPlan plan) {
+        out.println("\nPlanned swaps (each property used at most once): " + plan.getSwaps().size());
+        for (PropertySwapSuggestion swap : plan.getSwaps()) {
+            out.println(swap);
         }
+        out.println("Mean of the average area per owner before: " + plan.getAverageAreaBefore());
+        out.println("Mean of the average area per owner after: " + plan.getAverageAreaAfter());
+        out.println("Gain: " + plan.getGain() + "\n");
     }
 
     /**
      * Prints the average property area per owner before and after applying the swaps.
-     * Focuses on owners involved in the swap suggestions.
+     * Focuses on owners involved in the swap suggestions. The swaps are evaluated on
+     * {@link OwnerAreaStatistics}, so the properties are not modified.
      *
      * @param properties  The list of Property objects.
      * @param suggestions The list of PropertySwapSuggestion objects representing potential swaps.
      */
     public static void printAverageAreaBeforeAndAfterSwap(List<Property> properties, List<PropertySwapSuggestion> suggestions) {
-        // Print average area per owner before applying swaps
-        System.out.println("Average area per owner before swaps (only involved owners):");
-        Map<String, Double> averageAreaBefore = PropertyGeometryUtils.calculateAverageAreaPerOwner(properties);
+        printAverageAreaBeforeAndAfterSwap(System.out, properties, suggestions);
+    }
 
-        // Print averages only for owners involved in the swaps
-        for (String owner : PropertySwapManager.getInvolvedOwners(suggestions)) {
-            if (averageAreaBefore.containsKey(owner)) {
-                System.out.println("Owner: " + owner + ", Average Area: " + averageAreaBefore.get(owner));
-            }
-        }
+    private static void printAverageAreaBeforeAndAfterSwap(PrintStream out, List<Property> properties,
+                                                           List<PropertySwapSuggestion> suggestions) {
+        Set<String> involvedOwners = PropertySwapManager.getInvolvedOwners(suggestions);
 
-        // Apply the swap suggestions
-        PropertySwapManager.applySwaps(properties, suggestions);
+        // Print average area per owner before applying swaps
+        out.println("Average area per owner before swaps (only involved owners):");
+        OwnerAreaStatistics before = new OwnerAreaStatistics(properties);
+        printAverageAreas(out, before, involvedOwners);
 
-        // Print average area per owner after applying swaps
-        System.out.println("\nAverage area per owner after swaps (only involved owners):");
-        Map<String, Double> averageAreaAfter = PropertyGeometryUtils.calculateAverageAreaPerOwner(properties);
+        // Apply the swap suggestions to a copy of the statistics
+        OwnerAreaStatistics after = new OwnerAreaStatistics(before);
+        after.applyAll(suggestions);
 
         // Print averages for the same set of involved owners
-        for (String owner : PropertySwapManager.getInvolvedOwners(suggestions)) {
-            if (averageAreaAfter.containsKey(owner)) {
-                System.out.println("Owner: " + owner + ", Average Area: " + averageAreaAfter.get(owner));
+        out.println("\nAverage area per owner after swaps (only involved owners):");
+        printAverageAreas(out, after, involvedOwners);
+    }
+
+    /**
+     * Prints the average area of each owner that still has properties with a valid area.
+     */
+    private static void printAverageAreas(PrintStream out, OwnerAreaStatistics statistics, Set<String> owners) {
+        for (String owner : owners) {
+            double averageArea = statistics.getAverageArea(owner);
+            if (!Double.isNaN(averageArea)) {
+                out.println("Owner: " + owner + ", Average Area: " + averageArea);
             }
         }
     }
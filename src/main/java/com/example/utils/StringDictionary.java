@@ -0,0 +1,116 @@
+package com.example.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dictionary that maps strings to small integer codes.
+ * Each distinct string is stored once and gets the next free code, starting at 0,
+ * so repeated values such as owners or locations can be kept as {@code int} columns.
+ * A case-insensitive dictionary gives the same code to strings that only differ in case,
+ * so a case-insensitive comparison becomes an {@code int} comparison.
+ */
+public class StringDictionary {
+
+    private final boolean ignoreCase;
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private final Map<String, String> instances = new HashMap<>();
+
+    /**
+     * Creates a case-sensitive dictionary.
+     */
+    public StringDictionary() {
+        this(false);
+    }
+
+    /**
+     * Creates a dictionary.
+     *
+     * @param ignoreCase True if strings that only differ in case should share the same code.
+     */
+    public StringDictionary(boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Gets the code of a string, adding it to the dictionary if it is not present yet.
+     * In a case-insensitive dictionary the first spelling seen is the one returned by {@link #valueOf(int)}.
+     *
+     * @param value The string to encode.
+     * @return The code of the string.
+     */
+    public synchronized int encode(String value) {
+        String key = normalize(value);
+        Integer code = codes.get(key);
+        if (code == null) {
+            code = values.size();
+            codes.put(key, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Gets the shared instance of a string with exactly the same characters,
+     * so equal strings read from different records are only kept in memory once.
+     *
+     * @param value The string to intern.
+     * @return The shared instance of the string.
+     */
+    public synchronized String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String instance = instances.get(value);
+        if (instance == null) {
+            instance = value;
+            instances.put(value, instance);
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the code of a string without adding it to the dictionary.
+     *
+     * @param value The string to look up.
+     * @return The code of the string, or -1 if it is not in the dictionary.
+     */
+    public synchronized int codeOf(String value) {
+        Integer code = codes.get(normalize(value));
+        return code != null ? code : -1;
+    }
+
+    /**
+     * Gets the string stored under a code.
+     *
+     * @param code The code to decode.
+     * @return The string of the code.
+     * @throws IndexOutOfBoundsException If the code is not in the dictionary.
+     */
+    public synchronized String valueOf(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * Gets the number of distinct strings in the dictionary.
+     *
+     * @return The size of the dictionary.
+     */
+    public synchronized int size() {
+        return values.size();
+    }
+
+    /**
+     * Gets the key under which a string is stored.
+     *
+     * @param value The string.
+     * @return The string itself, or its lower-case form in a case-insensitive dictionary.
+     */
+    private String normalize(String value) {
+        return ignoreCase && value != null ? value.toLowerCase(Locale.ROOT) : value;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.utils;
+
+/**
+ * Disjoint-set forest over the positions 0 to n - 1 of a list.
+ * Uses union by size and path halving, so a sequence of operations runs in near-linear time.
+ */
+public class UnionFind {
+
+    private final int[] parents;
+    private final int[] sizes;
+    private int componentCount;
+
+    /**
+     * Creates a forest where every position is its own component.
+     *
+     * @param size The number of positions.
+     */
+    public UnionFind(int size) {
+        parents = new int[size];
+        sizes = new int[size];
+        for (int i = 0; i < size; i++) {
+            parents[i] = i;
+            sizes[i] = 1;
+        }
+        componentCount = size;
+    }
+
+    /**
+     * Finds the representative of the component of a position.
+     *
+     * @param position The position.
+     * @return The representative position of its component.
+     */
+    public int find(int position) {
+        while (parents[position] != position) {
+            // Point every other node on the path to its grandparent
+            parents[position] = parents[parents[position]];
+            position = parents[position];
+        }
+        return position;
+    }
+
+    /**
+     * Joins the components of two positions.
+     *
+     * @param position1 The first position.
+     * @param position2 The second position.
+     * @return True if the positions were in different components, otherwise false.
+     */
+    public boolean union(int position1, int position2) {
+        int root1 = find(position1);
+        int root2 = find(position2);
+        if (root1 == root2) {
+            return false;
+        }
+
+        // Attach the smaller tree under the larger one
+        if (sizes[root1] < sizes[root2]) {
+            int root = root1;
+            root1 = root2;
+            root2 = root;
+        }
+        parents[root2] = root1;
+        sizes[root1] += sizes[root2];
+        componentCount--;
+        return true;
+    }
+
+    /**
+     * Checks whether two positions are in the same component.
+     *
+     * @param position1 The first position.
+     * @param position2 The second position.
+     * @return True if the positions are connected, otherwise false.
+     */
+    public boolean connected(int position1, int position2) {
+        return find(position1) == find(position2);
+    }
+
+    /**
+     * Gets the number of positions in the component of a position.
+     *
+     * @param position The position.
+     * @return The size of its component.
+     */
+    public int componentSize(int position) {
+        return sizes[find(position)];
+    }
+
+    /**
+     * Gets the number of components.
+     *
+     * @return The number of disjoint components.
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+}
@@ -1,10 +1,18 @@
 package com.example;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
 public class CsvToPropertyReaderTest {
@@ -48,4 +56,67 @@ public class CsvToPropertyReaderTest {
             assertEquals("Ilha da Madeira (Madeira)", property.getIlha(), "The property should be in the specified ilha");
         }
     }
+
+    @Test
+    public void testStreamClosesParser() throws IOException {
+        TrackingReader reader = new TrackingReader(
+                "OBJECTID;PAR_ID;PAR_NUM;Shape_Length;Shape_Area;geometry;OWNER;Freguesia;Municipio;Ilha\n" +
+                "1;123;456;4.0;1.0;\"POLYGON((0 0, 1 0, 1 1, 0 0))\";93;Arco da Calheta;Calheta;Madeira\n" +
+                "2;789;101;4.0;1.0;\"POLYGON((1 0, 2 0, 2 1, 1 0))\";94;Arco da Calheta;Calheta;Madeira\n");
+
+        try (Stream<Property> properties = CsvToPropertyReader.streamPropertiesFromCsv(reader, "test")) {
+            assertEquals("1", properties.findFirst().get().getObjectId(), "The first record should be streamed");
+            assertFalse(reader.closed, "The file should stay open until the stream is closed");
+        }
+
+        assertTrue(reader.closed, "Closing the stream should close the parser and its file");
+    }
+
+    @Test
+    public void testStreamWithMissingColumn() throws IOException {
+        // The Ilha column is missing
+        String csv = "OBJECTID;PAR_ID;PAR_NUM;Shape_Length;Shape_Area;geometry;OWNER;Freguesia;Municipio\n" +
+                     "1;123;456;4.0;1.0;\"POLYGON((0 0, 1 0, 1 1, 0 0))\";93;Arco da Calheta;Calheta\n";
+        TrackingReader reader = new TrackingReader(csv);
+
+        assertThrows(IllegalArgumentException.class, () -> CsvToPropertyReader.streamPropertiesFromCsv(reader, "test"),
+                "A file without the required columns should be rejected");
+        assertTrue(reader.closed, "The file should be closed when it is rejected");
+
+        File csvFile = File.createTempFile("properties", ".csv");
+        try {
+            Files.write(csvFile.toPath(), csv.getBytes(CsvToPropertyReader.CSV_CHARSET));
+            assertThrows(IllegalArgumentException.class, () -> CsvToPropertyReader.readPropertiesFromCsv(csvFile),
+                    "Reading a file without the required columns should fail instead of returning no properties");
+        } finally {
+            csvFile.delete();
+        }
+    }
+
+    @Test
+    public void testStreamSkipsRecordsWithoutObjectId() throws IOException {
+        TrackingReader reader = new TrackingReader(
+                "OBJECTID;PAR_ID;PAR_NUM;Shape_Length;Shape_Area;geometry;OWNER;Freguesia;Municipio;Ilha\n" +
+                ";;;;;;;;;\n" +
+                "2;789;101;4.0;1.0;\"POLYGON((1 0, 2 0, 2 1, 1 0))\";94;Arco da Calheta;Calheta;Madeira\n");
+
+        try (Stream<Property> properties = CsvToPropertyReader.streamPropertiesFromCsv(reader, "test")) {
+            assertEquals("2", properties.map(Property::getObjectId).collect(Collectors.joining(",")), "Only records with an OBJECTID should be streamed");
+        }
+    }
+
+    // Reader that remembers whether it was closed
+    private static class TrackingReader extends StringReader {
+        private boolean closed = false;
+
+        TrackingReader(String text) {
+            super(text);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            super.close();
+        }
+    }
 }
@@ -0,0 +1,103 @@
+package com.example;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ParallelCsvPropertyReaderTest {
+
+    // Quoted geometries span several lines, and the accented names are multi-byte characters in UTF-8
+    private static final String CSV =
+            "OBJECTID;PAR_ID;PAR_NUM;Shape_Length;Shape_Area;geometry;OWNER;Freguesia;Municipio;Ilha\n" +
+            "1;123;456;4.0;1.0;\"MULTIPOLYGON (((0 0, 1 0,\n1 1, 0 1, 0 0)))\";93;Arco da Calheta;Calheta;Ilha da Madeira (Madeira)\n" +
+            "2;789;101;4.0;1.0;\"MULTIPOLYGON (((1 0, 2 0,\n2 1,\n1 1, 1 0)))\";\"Jo\"\"ao\";Câmara de Lobos;Câmara de Lobos;Ilha da Madeira (Madeira)\n" +
+            ";;;;;;;;;\n" +
+            "3;111;222;4.0;1.0;\"MULTIPOLYGON (((10 10, 11 10, 11 11, 10 11, 10 10)))\";94;São Vicente;São Vicente;Ilha da Madeira (Madeira)\n" +
+            "4;333;444;4.0;2.0;\"MULTIPOLYGON (((20 20,\n21 20, 21 21, 20 20)))\";93;Arco da Calheta;Calheta;Ilha da Madeira (Madeira)\n";
+
+    private File csvFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        csvFile = File.createTempFile("properties", ".csv");
+        Files.write(csvFile.toPath(), CSV.getBytes(CsvToPropertyReader.CSV_CHARSET));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        csvFile.delete();
+        CsvToPropertyReader.setReadMode(CsvToPropertyReader.ReadMode.SEQUENTIAL);
+    }
+
+    @Test
+    public void testParallelReadMatchesSequentialRead() throws IOException {
+        List<Property> sequential = CsvToPropertyReader.readPropertiesFromCsv(csvFile);
+
+        CsvToPropertyReader.setReadMode(CsvToPropertyReader.ReadMode.PARALLEL_MAPPED);
+        List<Property> parallel = CsvToPropertyReader.readPropertiesFromCsv(csvFile);
+
+        assertEquals(4, sequential.size(), "The record without OBJECTID should be skipped");
+        assertEquals(toStrings(sequential), toStrings(parallel), "Both read modes should return the same properties in file order");
+    }
+
+    @Test
+    public void testSmallChunksDoNotCutQuotedFields() throws IOException {
+        List<Property> sequential = CsvToPropertyReader.readPropertiesFromCsv(csvFile);
+
+        // Chunks of a few bytes end after every record, so every quoted newline is next to a chunk boundary
+        for (long chunkSize : new long[]{1, 16, 64}) {
+            List<Property> parallel = new ParallelCsvPropertyReader(3, chunkSize).read(csvFile);
+            assertEquals(toStrings(sequential), toStrings(parallel), "Chunks of " + chunkSize + " bytes should give the same properties");
+        }
+    }
+
+    @Test
+    public void testCharsetIsPinned() throws IOException {
+        List<Property> properties = new ParallelCsvPropertyReader(2, 16).read(csvFile);
+
+        assertEquals("Câmara de Lobos", properties.get(1).getFreguesia(), "Multi-byte characters should be decoded as UTF-8");
+        assertEquals("São Vicente", properties.get(2).getMunicipio(), "Multi-byte characters should be decoded as UTF-8");
+        assertEquals("Jo\"ao", properties.get(1).getOwner(), "Escaped quotes should be unescaped");
+        assertEquals("MULTIPOLYGON (((1 0, 2 0,\n2 1,\n1 1, 1 0)))", properties.get(1).getGeometry(), "Quoted newlines should be kept");
+    }
+
+    @Test
+    public void testPropertiesShareDictionaries() throws IOException {
+        List<Property> properties = new ParallelCsvPropertyReader(2, 16).read(csvFile);
+
+        assertSame(properties.get(0).getDictionaries(), properties.get(3).getDictionaries(), "All properties should be encoded by the dictionaries of the file");
+        assertEquals(properties.get(0).getOwnerCode(), properties.get(3).getOwnerCode(), "Properties from different chunks should share owner codes");
+    }
+
+    @Test
+    public void testMissingColumns() throws IOException {
+        Files.write(csvFile.toPath(), "OBJECTID;PAR_ID\n1;123\n".getBytes(CsvToPropertyReader.CSV_CHARSET));
+
+        assertThrows(IllegalArgumentException.class, () -> new ParallelCsvPropertyReader(2, 16).read(csvFile),
+                "A file without the required columns should be rejected");
+    }
+
+    // Helper methods
+
+    private static List<String> toStrings(List<Property> properties) {
+        List<String> strings = new ArrayList<>();
+        for (Property property : properties) {
+            strings.add(Stream.of(property.getObjectId(), property.getParId(), property.getParNum(), property.getShapeLength(),
+                            property.getShapeArea(), property.getGeometry(), property.getOwner(), property.getFreguesia(),
+                            property.getMunicipio(), property.getIlha())
+                    .collect(Collectors.joining("|")));
+        }
+        return strings;
+    }
+}
@@ -1,11 +1,17 @@
 package com.example;
 
+import java.util.Arrays;
+
 import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DefaultWeightedEdge;
 import org.jgrapht.graph.SimpleGraph;
+import org.jgrapht.graph.SimpleWeightedGraph;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.example.utils.PropertyDataset;
+
 public class PropertyGraphTest {
 
     @Test
@@ -25,4 +31,32 @@ public class PropertyGraphTest {
             PropertyGraph.visualizeGraph(graph, "1");
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testOwnerGraphAcrossFreguesias() {
+        Property left = new Property("1", "123", "456", "4.0", "1.0", "POLYGON((0 0, 1 0, 1 1, 0 1, 0 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+        Property right = new Property("2", "789", "101", "4.0", "1.0", "POLYGON((1 0, 2 0, 2 1, 1 1, 1 0))", "Jane Doe", "Arco da Calheta", "Calheta", "Madeira");
+        Property other = new Property("3", "111", "222", "4.0", "1.0", "POLYGON((2 0, 3 0, 3 1, 2 1, 2 0))", "Jack Doe", "Ponta do Sol", "Ponta do Sol", "Madeira");
+        PropertyDataset dataset = new PropertyDataset(Arrays.asList(left, right, other));
+
+        Graph<String, DefaultWeightedEdge> ownerGraph = PropertyGraph.buildOwnerGraph(dataset);
+
+        assertEquals(3, ownerGraph.vertexSet().size(), "The owners of every freguesia should be vertices");
+        assertTrue(ownerGraph.containsEdge("John Doe", "Jane Doe"), "The neighbouring owners should be connected");
+        assertTrue(ownerGraph.containsEdge("Jane Doe", "Jack Doe"), "Owners should be connected across the border of a freguesia");
+    }
+
+    @Test
+    public void testLargeOwnerGraphIsLaidOut() {
+        Graph<String, DefaultWeightedEdge> ownerGraph = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        for (int i = 0; i <= PropertyGraph.ORGANIC_LAYOUT_MAX_OWNERS * 4; i++) {
+            ownerGraph.addVertex("Owner " + i);
+            if (i > 0) {
+                ownerGraph.addEdge("Owner " + (i - 1), "Owner " + i);
+            }
+        }
+
+        assertNotNull(PropertyGraph.layoutOwnerGraph(ownerGraph), "Graphs too large for the organic layout should still be laid out");
+        assertNull(PropertyGraph.layoutOwnerGraph(ownerGraph, () -> true), "A cancelled layout should return no graph");
+    }
+}
@@ -0,0 +1,68 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import com.example.utils.PropertyGeometryUtils;
+
+public class PropertyTableTest {
+
+    private final PropertyTable table = PropertyTable.fromProperties(Arrays.asList(
+            new Property("1", "123", "456", "4.0", "100.0", "POLYGON((0 0, 1 0, 1 1, 0 1, 0 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira"),
+            new Property("2", "789", "101", "4", "300", "POLYGON((1 0, 2 0, 2 1, 1 1, 1 0))", "Jane Doe", "Arco da Calheta", "Calheta", "Madeira"),
+            new Property("3", "111", "222", "4.0", "invalid", "POLYGON((10 10, 11 10, 11 11, 10 11, 10 10))", "John Doe", "Estreito da Calheta", "Calheta", "Madeira"),
+            new Property("4", "333", "444", "4.0", "200.0", "POLYGON((20 20, 21 20, 21 21, 20 21, 20 20))", "JOHN DOE", "Estreito da Calheta", "Calheta", "Madeira")
+    ));
+
+    @Test
+    public void testRowsInFreguesia() {
+        assertArrayEquals(new int[]{0, 1}, table.rowsInFreguesia("arco da calheta"), "Rows should be matched ignoring case");
+        assertEquals(0, table.rowsInFreguesia("Funchal").length, "Unknown locations should match no rows");
+    }
+
+    @Test
+    public void testSummarizeAreas() {
+        int[] rows = table.rowsInFreguesia("Estreito da Calheta");
+
+        assertEquals(1, table.summarizeAreas(rows).getCount(), "Invalid areas should be skipped");
+        assertEquals(200.0, table.averageArea(rows), 0.0001, "The average should only use valid areas");
+        assertEquals(600.0, table.summarizeAreas(table.allRows()).getSum(), 0.0001, "The total should include every valid area");
+    }
+
+    @Test
+    public void testAverageAreaPerOwner() {
+        Map<String, Double> averageAreaPerOwner = table.averageAreaPerOwner();
+
+        assertEquals(150.0, averageAreaPerOwner.get("John Doe"), 0.0001, "Owners differing only in case should be grouped");
+        assertEquals(300.0, averageAreaPerOwner.get("Jane Doe"), 0.0001, "Jane Doe should average her single area");
+    }
+
+    @Test
+    public void testAverageAreaPerOwnerMatchesList() {
+        List<Property> properties = new ArrayList<>();
+        for (int row = 0; row < table.size(); row++) {
+            properties.add(table.getProperty(row));
+        }
+
+        assertEquals(PropertyGeometryUtils.calculateAverageAreaPerOwner(properties), PropertyGeometryUtils.calculateAverageAreaPerOwner(table),
+                "The list and table overloads should group owners the same way");
+    }
+
+    @Test
+    public void testGetProperty() {
+        Property property = table.getProperty(1);
+
+        assertEquals("2", property.getObjectId(), "The property should keep the OBJECTID");
+        assertEquals("Jane Doe", property.getOwner(), "The property should keep the owner");
+        assertEquals(300.0, Double.parseDouble(property.getShapeArea()), 0.0001, "The property should keep the area");
+        assertEquals("", table.getProperty(2).getShapeArea(), "Invalid areas should be written as an empty string");
+        assertEquals("John Doe", table.getProperty(3).getOwner(), "Owners should take the first spelling in the dataset");
+        assertEquals(table.getProperty(0).getOwnerCode(), table.getProperty(3).getOwnerCode(), "Owners differing only in case should share a code");
+    }
+}
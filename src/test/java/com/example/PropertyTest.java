@@ -1,8 +1,15 @@
 package com.example;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.Test;
 
+import com.example.utils.PropertyDictionaries;
+
 public class PropertyTest {
 
     @Test
@@ -47,4 +54,36 @@ public class PropertyTest {
         assertEquals("Ponta do Sol", property.getMunicipio(), "Municipio should be 'Ponta do Sol'");
         assertEquals("Porto Santo", property.getIlha(), "Ilha should be 'Porto Santo'");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDictionaryCodes() {
+        Property property1 = new Property("1", "123", "456", "100.0", "200.0", "POINT(0 0)", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+        Property property2 = new Property("2", "789", "101", "100.0", "200.0", "POINT(1 1)", "JOHN DOE", "arco da calheta", "Calheta", "Madeira");
+        Property property3 = new Property("3", "111", "222", "100.0", "200.0", "POINT(2 2)", "Jane Doe", "Ponta do Sol", "Ponta do Sol", "Madeira");
+
+        assertEquals(-1, property1.getOwnerCode(), "Properties should not be encoded by the constructor");
+
+        PropertyDictionaries dictionaries = PropertyDictionaries.encodeAll(Arrays.asList(property1, property2, property3));
+
+        assertEquals(property1.getOwnerCode(), property2.getOwnerCode(), "Owners differing only in case should share a code");
+        assertEquals(property1.getFreguesiaCode(), dictionaries.freguesiaCodeOf("ARCO DA CALHETA"), "Lookup should ignore case");
+        assertNotEquals(property1.getFreguesiaCode(), property3.getFreguesiaCode(), "Different freguesias should have different codes");
+        assertSame(property1.getMunicipio(), property2.getMunicipio(), "Equal strings should be interned");
+
+        property3.setOwner("john doe");
+        assertEquals(property1.getOwnerCode(), property3.getOwnerCode(), "Setting the owner should update its code");
+    }
+
+    @Test
+    public void testDictionariesAreScopedToADataset() {
+        Property property1 = new Property("1", "123", "456", "100.0", "200.0", "POINT(0 0)", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+        Property property2 = new Property("2", "789", "101", "100.0", "200.0", "POINT(1 1)", "Jane Doe", "Ponta do Sol", "Ponta do Sol", "Madeira");
+
+        PropertyDictionaries dictionaries = PropertyDictionaries.encodeAll(Arrays.asList(property1));
+
+        assertEquals(-1, dictionaries.ownerCodeOf("Jane Doe"), "Owners of other datasets should not be in the dictionaries");
+        PropertyDictionaries.encodeAll(Arrays.asList(property2));
+        assertThrows(IllegalArgumentException.class, () -> PropertyDictionaries.encodeAll(Arrays.asList(property1, property2)),
+                "Codes of different datasets should not be mixed");
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.utils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.Property;
+
+public class AdjacencyPolicyTest {
+
+    private final Property square = new Property("1", "123", "456", "4.0", "1.0", "POLYGON((0 0, 1 0, 1 1, 0 1, 0 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property touching = new Property("2", "789", "101", "4.0", "1.0", "POLYGON((1 0, 2 0, 2 1, 1 1, 1 0))", "Jane Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property overlapping = new Property("3", "111", "222", "4.0", "1.0", "POLYGON((0.5 0, 1.5 0, 1.5 1, 0.5 1, 0.5 0))", "Jack Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property nearby = new Property("4", "333", "444", "4.0", "1.0", "POLYGON((1.5 0, 2.5 0, 2.5 1, 1.5 1, 1.5 0))", "Jill Doe", "Arco da Calheta", "Calheta", "Madeira");
+
+    @Test
+    public void testTouching() {
+        assertTrue(AdjacencyPolicy.TOUCHING.areAdjacent(square, touching), "Squares sharing an edge should touch");
+        assertFalse(AdjacencyPolicy.TOUCHING.areAdjacent(square, overlapping), "Overlapping squares should not only touch");
+        assertTrue(AdjacencyPolicy.TOUCHING.prepare(square).isAdjacentTo(touching), "The prepared check should agree");
+    }
+
+    @Test
+    public void testIntersecting() {
+        assertTrue(AdjacencyPolicy.INTERSECTING.areAdjacent(square, touching), "Touching squares should intersect");
+        assertTrue(AdjacencyPolicy.INTERSECTING.prepare(square).isAdjacentTo(overlapping), "Overlapping squares should intersect");
+        assertFalse(AdjacencyPolicy.INTERSECTING.areAdjacent(square, nearby), "Separate squares should not intersect");
+    }
+
+    @Test
+    public void testWithinDistance() {
+        AdjacencyPolicy policy = AdjacencyPolicy.withinDistance(0.6);
+
+        assertTrue(policy.areAdjacent(square, nearby), "Squares 0.5 apart should be within 0.6");
+        assertTrue(policy.prepare(nearby).isAdjacentTo(square), "The prepared check should agree");
+        assertFalse(AdjacencyPolicy.withinDistance(0.4).areAdjacent(square, nearby), "Squares 0.5 apart should not be within 0.4");
+        assertThrows(IllegalArgumentException.class, () -> AdjacencyPolicy.withinDistance(-1), "Negative tolerances should be rejected");
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.Property;
+import com.example.PropertySwapSuggestion;
+
+public class OwnerAreaStatisticsTest {
+
+    private final Property large = new Property("1", "123", "456", "4.0", "100.0", "POLYGON((0 0, 1 0, 1 1, 0 1, 0 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property small = new Property("2", "789", "101", "4.0", "10.0", "POLYGON((1 0, 2 0, 2 1, 1 1, 1 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property janes = new Property("3", "111", "222", "4.0", "50.0", "POLYGON((2 0, 3 0, 3 1, 2 1, 2 0))", "Jane Doe", "Arco da Calheta", "Calheta", "Madeira");
+
+    @Test
+    public void testApplyDoesNotModifyProperties() {
+        OwnerAreaStatistics statistics = new OwnerAreaStatistics(Arrays.asList(large, small, janes));
+        PropertySwapSuggestion swap = new PropertySwapSuggestion(small, janes, 0.2);
+
+        assertEquals(52.5, statistics.getMeanAverageArea(), 0.0001, "The mean should be the mean of 55 and 50");
+        assertEquals(12.5, statistics.gainOf(swap), 0.0001, "Moving the small parcel should raise the mean to 65");
+
+        statistics.apply(swap);
+
+        assertEquals(100.0, statistics.getAverageArea("john doe"), 0.0001, "John Doe should keep only the large parcel");
+        assertEquals(30.0, statistics.getAverageArea("Jane Doe"), 0.0001, "Jane Doe should receive the small parcel");
+        assertEquals("John Doe", small.getOwner(), "The property itself should keep its owner");
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        OwnerAreaStatistics statistics = new OwnerAreaStatistics(Arrays.asList(large, janes));
+        OwnerAreaStatistics scenario = new OwnerAreaStatistics(statistics);
+
+        scenario.applyAll(Collections.singletonList(new PropertySwapSuggestion(large, janes, 0.5)));
+
+        assertEquals(1, scenario.getOwnerCount(), "John Doe should have no properties left in the scenario");
+        assertTrue(Double.isNaN(scenario.getAverageArea("John Doe")), "An owner without properties should have no average");
+        assertEquals(100.0, statistics.getAverageArea("John Doe"), 0.0001, "The original statistics should be unchanged");
+    }
+
+    @Test
+    public void testGainOfTransferMatchesApplyWithoutModifying() {
+        OwnerAreaStatistics statistics = new OwnerAreaStatistics(Arrays.asList(large, small, janes));
+        int john = large.getOwnerCode();
+        int jane = janes.getOwnerCode();
+        int newOwner = john + jane + 1; // A code no property has yet
+
+        double gain = statistics.gainOfTransfer(john, jane, 10.0);
+        double gainToNewOwner = statistics.gainOfTransfer(john, newOwner, 10.0);
+        double gainOfWholeOwner = statistics.gainOfTransfer(jane, newOwner, 50.0);
+
+        assertEquals(52.5, statistics.getMeanAverageArea(), 0.0001, "Evaluating transfers should not change the mean");
+        assertEquals(2, statistics.getOwnerCount(), "Evaluating transfers should not change the owners");
+        assertEquals(0, statistics.getCount(newOwner), "Evaluating a transfer should not add an owner");
+        assertEquals(160.0 / 3 - 52.5, gainToNewOwner, 0.0001, "A new owner should be counted in the mean");
+        assertEquals(0.0, gainOfWholeOwner, 0.0001, "Moving a whole owner to a new owner should not change the mean");
+
+        statistics.transfer(john, jane, 10.0);
+        assertEquals(12.5, gain, 0.0001, "Moving the small parcel should raise the mean to 65");
+        assertEquals(52.5 + gain, statistics.getMeanAverageArea(), 0.0001, "The gain should match the applied transfer");
+    }
+
+    @Test
+    public void testMatchesAverageAreaPerOwner() {
+        Property shouted = new Property("4", "333", "444", "4.0", "40.0", "POLYGON((3 0, 4 0, 4 1, 3 1, 3 0))", "JOHN DOE", "Arco da Calheta", "Calheta", "Madeira");
+        Property invalid = new Property("5", "555", "666", "4.0", "NaN", "POLYGON((4 0, 5 0, 5 1, 4 1, 4 0))", "Jane Doe", "Arco da Calheta", "Calheta", "Madeira");
+        List<Property> properties = Arrays.asList(large, small, janes, shouted, invalid);
+
+        OwnerAreaStatistics statistics = new OwnerAreaStatistics(properties);
+        Map<String, Double> averageAreaPerOwner = PropertyGeometryUtils.calculateAverageAreaPerOwner(properties);
+
+        assertEquals(averageAreaPerOwner.size(), statistics.getOwnerCount(), "Both should group the same owners");
+        for (Map.Entry<String, Double> entry : averageAreaPerOwner.entrySet()) {
+            assertEquals(entry.getValue(), statistics.getAverageArea(entry.getKey()), 0.0001, "The average of " + entry.getKey() + " should match");
+        }
+        double mean = averageAreaPerOwner.values().stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+        assertEquals(mean, statistics.getMeanAverageArea(), 0.0001, "The objective should be the mean of calculateAverageAreaPerOwner");
+        assertEquals(50.0, statistics.getAverageArea("john doe"), 0.0001, "Owners differing only in case should be grouped");
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Test;
+
+import com.example.Property;
+
+public class OwnerGraphBuilderTest {
+
+    private final Property john1 = new Property("1", "123", "456", "4.0", "1.0", "POLYGON((0 0, 1 0, 1 1, 0 1, 0 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property jane = new Property("2", "789", "101", "4.0", "1.0", "POLYGON((1 0, 2 0, 2 1, 1 1, 1 0))", "Jane Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property john2 = new Property("3", "111", "222", "4.0", "1.0", "POLYGON((2 0, 3 0, 3 1, 2 1, 2 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property jack = new Property("4", "333", "444", "4.0", "1.0", "POLYGON((10 10, 11 10, 11 11, 10 11, 10 10))", "Jack Doe", "Arco da Calheta", "Calheta", "Madeira");
+
+    @Test
+    public void testTouchingPairsWeight() {
+        List<Property> properties = Arrays.asList(john1, jane, john2, jack);
+        int[][] adjacencyLists = {{1}, {0, 2}, {1}, {}};
+
+        Graph<String, DefaultWeightedEdge> ownerGraph =
+                OwnerGraphBuilder.buildOwnerGraph(properties, adjacencyLists, OwnerGraphBuilder.EdgeWeight.TOUCHING_PAIRS);
+
+        assertEquals(3, ownerGraph.vertexSet().size(), "Every owner should be a vertex once");
+        assertEquals(1, ownerGraph.edgeSet().size(), "Only John Doe and Jane Doe are neighbours");
+        assertEquals(2.0, ownerGraph.getEdgeWeight(ownerGraph.getEdge("John Doe", "Jane Doe")), 0.0001, "Both touching pairs should be counted");
+    }
+
+    @Test
+    public void testSharedBoundaryLengthWeight() {
+        List<Property> properties = Arrays.asList(john1, jane, john2, jack);
+        int[][] adjacencyLists = {{1}, {0, 2}, {1}, {}};
+
+        Graph<String, DefaultWeightedEdge> ownerGraph =
+                OwnerGraphBuilder.buildOwnerGraph(properties, adjacencyLists, OwnerGraphBuilder.EdgeWeight.SHARED_BOUNDARY_LENGTH);
+
+        assertEquals(2.0, ownerGraph.getEdgeWeight(ownerGraph.getEdge("Jane Doe", "John Doe")), 0.0001, "Jane Doe shares a unit edge with each of John Doe's squares");
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+
+import com.example.Property;
+
+public class ParallelAdjacencyBuilderTest {
+
+    @Test
+    public void testGraphMatchesSequentialEdgeOrder() {
+        List<Property> properties = shuffledGrid(15);
+        List<String> expected = sequentialEdges(properties);
+
+        for (int parallelism : new int[]{1, 4}) {
+            Graph<Property, DefaultEdge> graph = new ParallelAdjacencyBuilder(parallelism, AdjacencyPolicy.INTERSECTING).buildGraph(properties);
+
+            List<String> edges = new ArrayList<>();
+            for (DefaultEdge edge : graph.edgeSet()) {
+                edges.add(graph.getEdgeSource(edge).getObjectId() + "-" + graph.getEdgeTarget(edge).getObjectId());
+            }
+            assertEquals(properties.size(), graph.vertexSet().size(), "Every property should be a vertex");
+            assertEquals(expected, edges, "The edges should be the same and in the same order with parallelism " + parallelism);
+        }
+    }
+
+    @Test
+    public void testAdjacencyListsMatchSequentialPath() {
+        List<Property> properties = shuffledGrid(15);
+
+        int[][] adjacencyLists = new ParallelAdjacencyBuilder(4, AdjacencyPolicy.INTERSECTING).buildAdjacencyLists(properties);
+
+        for (int i = 0; i < properties.size(); i++) {
+            List<Integer> expected = new ArrayList<>();
+            for (int j = 0; j < properties.size(); j++) {
+                if (j != i && PropertyAdjacencyUtils.areAdjacent(properties.get(i), properties.get(j))) {
+                    expected.add(j);
+                }
+            }
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), adjacencyLists[i],
+                    "The neighbours of position " + i + " should match the sequential path");
+        }
+    }
+
+    // Helper methods
+
+    // Unit squares on a grid with some cells left empty, shuffled so that list order differs from spatial order;
+    // the grid is large enough to be split into several parallel tasks
+    private static List<Property> shuffledGrid(int size) {
+        List<Property> properties = new ArrayList<>();
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                if ((x * size + y) % 7 == 3) {
+                    continue; // Leave a gap
+                }
+                String polygon = String.format("POLYGON((%d %d, %d %d, %d %d, %d %d, %d %d))",
+                        x, y, x + 1, y, x + 1, y + 1, x, y + 1, x, y);
+                properties.add(new Property(String.valueOf(properties.size() + 1), "1", "1", "4.0", "1.0", polygon,
+                        "Owner " + (x % 3), "Arco da Calheta", "Calheta", "Madeira"));
+            }
+        }
+        Collections.shuffle(properties, new Random(42));
+        return properties;
+    }
+
+    // Adjacent pairs in the order of a sequential all-pairs loop over PropertyAdjacencyUtils.areAdjacent
+    private static List<String> sequentialEdges(List<Property> properties) {
+        List<String> edges = new ArrayList<>();
+        for (int i = 0; i < properties.size(); i++) {
+            for (int j = i + 1; j < properties.size(); j++) {
+                if (PropertyAdjacencyUtils.areAdjacent(properties.get(i), properties.get(j))) {
+                    edges.add(properties.get(i).getObjectId() + "-" + properties.get(j).getObjectId());
+                }
+            }
+        }
+        return edges;
+    }
+}
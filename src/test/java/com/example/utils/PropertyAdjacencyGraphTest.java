@@ -0,0 +1,51 @@
+package com.example.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.jgrapht.Graph;
+import org.junit.jupiter.api.Test;
+
+import com.example.Property;
+
+public class PropertyAdjacencyGraphTest {
+
+    private final Property left = new Property("1", "123", "456", "4.0", "1.0", "POLYGON((0 0, 1 0, 1 1, 0 1, 0 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property center = new Property("2", "789", "101", "4.0", "1.0", "POLYGON((1 0, 2 0, 2 1, 1 1, 1 0))", "Jane Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property right = new Property("3", "111", "222", "4.0", "1.0", "POLYGON((2 0, 3 0, 3 1, 2 1, 2 0))", "Jack Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property far = new Property("4", "333", "444", "4.0", "1.0", "POLYGON((10 10, 11 10, 11 11, 10 11, 10 10))", "Jill Doe", "Arco da Calheta", "Calheta", "Madeira");
+
+    private final List<Property> properties = Arrays.asList(left, center, right, far);
+    private final PropertyAdjacencyGraph graph = PropertyAdjacencyGraph.fromAdjacencyLists(properties, new int[][]{{1}, {2, 0}, {1}, {}});
+
+    @Test
+    public void testNeighbors() {
+        assertEquals(2, graph.getEdgeCount(), "Each adjacent pair should be one edge");
+        assertEquals(2, graph.degree(1), "The center should have two neighbours");
+        assertArrayEquals(new int[]{0, 2}, graph.neighborsOf(1), "Neighbours should be sorted");
+        assertTrue(graph.areAdjacent(2, 1), "Right and center should be adjacent");
+        assertFalse(graph.areAdjacent(0, 2), "Left and right should not be adjacent");
+    }
+
+    @Test
+    public void testConnectedComponents() {
+        assertArrayEquals(new int[]{0, 0, 0, 1}, graph.componentLabels(), "The far parcel should be its own component");
+        assertEquals(Arrays.asList(Arrays.asList(left, center, right), Arrays.asList(far)), graph.connectedComponents(), "Components should keep list order");
+    }
+
+    @Test
+    public void testGraphView() {
+        Graph<Property, PropertyAdjacencyGraph.Edge> view = graph.asGraph();
+
+        assertEquals(4, view.vertexSet().size(), "Every property should be a vertex");
+        assertEquals(2, view.edgeSet().size(), "Every adjacent pair should be an edge");
+        assertTrue(view.containsEdge(center, left), "Edges should be found in both directions");
+        assertEquals(0, view.degreeOf(far), "The far parcel should have no edges");
+        assertThrows(UnsupportedOperationException.class, () -> view.addEdge(left, far), "The view should be read-only");
+    }
+}
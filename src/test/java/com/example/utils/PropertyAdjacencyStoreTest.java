@@ -0,0 +1,114 @@
+package com.example.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.Property;
+
+public class PropertyAdjacencyStoreTest {
+
+    private final Property left = PropertyFixtures.left();
+    private final Property right = PropertyFixtures.right();
+    private final Property far = PropertyFixtures.far();
+    private final List<Property> properties = Arrays.asList(left, right, far);
+
+    private File csvFile;
+    private File adjacencyFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        // The store only reads the size and checksum of the CSV file, not its rows
+        csvFile = File.createTempFile("properties", ".csv");
+        adjacencyFile = new File(csvFile.getPath() + PropertyAdjacencyStore.FILE_EXTENSION);
+        Files.write(csvFile.toPath(), "OBJECTID;PAR_ID\n1;123\n2;789\n3;111\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        csvFile.delete();
+        adjacencyFile.delete();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        PropertyAdjacencyStore built = PropertyAdjacencyStore.loadOrBuild(csvFile, properties, AdjacencyPolicy.INTERSECTING, true);
+        assertTrue(built.isPersistent(), "The built store should be written and mapped");
+        assertTrue(adjacencyFile.isFile(), "The adjacency file should be written next to the CSV file");
+
+        PropertyAdjacencyStore mapped = PropertyAdjacencyStore.map(adjacencyFile,
+                PropertyAdjacencyStore.headerOf(csvFile, properties, AdjacencyPolicy.INTERSECTING));
+
+        assertNotNull(mapped, "The written file should be valid for the unchanged CSV file");
+        assertEquals(3, mapped.getVertexCount(), "All properties should be stored");
+        assertArrayEquals(new int[]{2}, mapped.neighborsOf(1), "The left square should touch the right one");
+        assertArrayEquals(new int[]{1}, mapped.neighborsOf(2), "The adjacency should be symmetric");
+        assertArrayEquals(new int[0], mapped.neighborsOf(3), "The far square should have no neighbours");
+        assertTrue(mapped.areAdjacent(1, 2), "The touching properties should be adjacent");
+    }
+
+    @Test
+    public void testChangedCsvInvalidatesFile() throws IOException {
+        PropertyAdjacencyStore.loadOrBuild(csvFile, properties, AdjacencyPolicy.INTERSECTING, true);
+
+        Files.write(csvFile.toPath(), "4;333\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        PropertyAdjacencyStore.Header changed = PropertyAdjacencyStore.headerOf(csvFile, properties, AdjacencyPolicy.INTERSECTING);
+        assertNull(PropertyAdjacencyStore.map(adjacencyFile, changed), "The file should not be used after the CSV file changes");
+
+        PropertyAdjacencyStore rebuilt = PropertyAdjacencyStore.loadOrBuild(csvFile, properties, AdjacencyPolicy.INTERSECTING, true);
+        assertTrue(rebuilt.isPersistent(), "The rebuilt store should be written again");
+        assertNotNull(PropertyAdjacencyStore.map(adjacencyFile, changed), "The rebuilt file should match the changed CSV file");
+    }
+
+    @Test
+    public void testPropertyCountAndPolicyInvalidateFile() throws IOException {
+        PropertyAdjacencyStore.loadOrBuild(csvFile, properties, AdjacencyPolicy.INTERSECTING, true);
+
+        assertNull(PropertyAdjacencyStore.map(adjacencyFile,
+                        PropertyAdjacencyStore.headerOf(csvFile, Arrays.asList(left, right), AdjacencyPolicy.INTERSECTING)),
+                "A file built from a different number of properties should not be used");
+        assertNull(PropertyAdjacencyStore.map(adjacencyFile,
+                        PropertyAdjacencyStore.headerOf(csvFile, properties, AdjacencyPolicy.TOUCHING)),
+                "A file built with a different policy should not be used");
+    }
+
+    @Test
+    public void testCorruptFileIsRebuilt() throws IOException {
+        PropertyAdjacencyStore.loadOrBuild(csvFile, properties, AdjacencyPolicy.INTERSECTING, true);
+        PropertyAdjacencyStore.Header header = PropertyAdjacencyStore.headerOf(csvFile, properties, AdjacencyPolicy.INTERSECTING);
+
+        // Keep the header but cut the file in the middle of the neighbours
+        byte[] bytes = Files.readAllBytes(adjacencyFile.toPath());
+        Files.write(adjacencyFile.toPath(), Arrays.copyOf(bytes, bytes.length - 2));
+        assertNull(PropertyAdjacencyStore.map(adjacencyFile, header), "A truncated file should not be mapped");
+
+        PropertyAdjacencyStore rebuilt = PropertyAdjacencyStore.loadOrBuild(csvFile, properties, AdjacencyPolicy.INTERSECTING, true);
+
+        assertTrue(rebuilt.isPersistent(), "The corrupt file should be replaced");
+        assertArrayEquals(new int[]{2}, rebuilt.neighborsOf(1), "The rebuilt store should hold the correct adjacency");
+        assertEquals(bytes.length, adjacencyFile.length(), "The rebuilt file should be complete");
+    }
+
+    @Test
+    public void testStoreIsKeptInMemoryWithoutWriting() {
+        PropertyAdjacencyStore store = PropertyAdjacencyStore.loadOrBuild(csvFile, properties, AdjacencyPolicy.INTERSECTING, false);
+
+        assertFalse(store.isPersistent(), "The store should only be kept in memory");
+        assertFalse(adjacencyFile.exists(), "No adjacency file should be written");
+        assertArrayEquals(new int[]{2}, store.neighborsOf(1), "The in-memory store should hold the adjacency");
+    }
+}
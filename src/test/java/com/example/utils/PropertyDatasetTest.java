@@ -0,0 +1,40 @@
+package com.example.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.Property;
+
+public class PropertyDatasetTest {
+
+    private final Property left = PropertyFixtures.left();
+    private final Property right = PropertyFixtures.right();
+    private final Property far = PropertyFixtures.far();
+
+    @Test
+    public void testPropertiesAreReadOnly() {
+        PropertyDataset dataset = new PropertyDataset(Arrays.asList(left, right, far));
+        List<Property> properties = dataset.getProperties();
+
+        assertEquals(Arrays.asList(left, right, far), properties, "The dataset should keep the file order");
+        assertThrows(UnsupportedOperationException.class, () -> properties.set(0, far), "The properties should not be modifiable");
+        assertEquals(Arrays.asList(left, right), dataset.getPropertyManager().filterProperties("freguesia", "Arco da Calheta"), "The indexes should be shared");
+    }
+
+    @Test
+    public void testAdjacencyGraphIsBuiltOnce() {
+        PropertyDataset dataset = new PropertyDataset(Arrays.asList(left, right, far));
+
+        PropertyAdjacencyGraph graph = dataset.getAdjacencyGraph();
+
+        assertSame(graph, dataset.getAdjacencyGraph(), "The adjacency graph should be reused");
+        assertEquals(1, graph.getEdgeCount(), "Only the neighbouring properties should be adjacent");
+        assertTrue(graph.areAdjacent(graph.indexOf(left), graph.indexOf(right)), "The touching properties should be adjacent");
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.utils;
+
+import com.example.Property;
+
+/**
+ * Unit-square properties shared by the tests of the utility classes.
+ * Left and right share an edge; far touches neither and lies in another freguesia.
+ * Each call returns a new instance, so tests can change owners without affecting each other.
+ */
+public final class PropertyFixtures {
+
+    private PropertyFixtures() {
+    }
+
+    /**
+     * Creates the square from (0, 0) to (1, 1), owned by John Doe in Arco da Calheta.
+     *
+     * @return A new left property with OBJECTID 1.
+     */
+    public static Property left() {
+        return new Property("1", "123", "456", "4.0", "1.0", "POLYGON((0 0, 1 0, 1 1, 0 1, 0 0))", "John Doe", "Arco da Calheta", "Calheta", "Ilha da Madeira (Madeira)");
+    }
+
+    /**
+     * Creates the square from (1, 0) to (2, 1), owned by Jane Doe in Arco da Calheta; it touches the left square.
+     *
+     * @return A new right property with OBJECTID 2.
+     */
+    public static Property right() {
+        return new Property("2", "789", "101", "4.0", "1.0", "POLYGON((1 0, 2 0, 2 1, 1 1, 1 0))", "Jane Doe", "Arco da Calheta", "Calheta", "Ilha da Madeira (Madeira)");
+    }
+
+    /**
+     * Creates the square from (10, 10) to (11, 11), owned by John Doe in Ponta do Sol.
+     *
+     * @return A new far property with OBJECTID 3.
+     */
+    public static Property far() {
+        return new Property("3", "111", "222", "4.0", "1.0", "POLYGON((10 10, 11 10, 11 11, 10 11, 10 10))", "John Doe", "Ponta do Sol", "Ponta do Sol", "Ilha da Madeira (Madeira)");
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.locationtech.jts.geom.Geometry;
+
+import com.example.Property;
+
+public class PropertyGeometryCacheTest {
+
+    @AfterEach
+    public void resetCache() throws Exception {
+        PropertyGeometryCache.setMaximumSize(0);
+        PropertyGeometryCache.clear();
+    }
+
+    @Test
+    public void testGeometryIsParsedOnce() throws Exception {
+        Property property = new Property("1", "123", "456", "4.0", "1.0", "POLYGON((0 0, 1 0, 1 1, 0 1, 0 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+
+        Geometry first = PropertyGeometryCache.getGeometry(property);
+        Geometry second = PropertyGeometryCache.getGeometry(property);
+
+        assertSame(first, second, "The cached geometry should be reused");
+        assertEquals(1.0, first.getArea(), 1e-9, "The parsed geometry should have the expected area");
+    }
+
+    @Test
+    public void testGeometryIsParsedAgainAfterChange() throws Exception {
+        Property property = new Property("1", "123", "456", "4.0", "1.0", "POLYGON((0 0, 1 0, 1 1, 0 1, 0 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+
+        Geometry before = PropertyGeometryCache.getGeometry(property);
+        property.setGeometry("POLYGON((0 0, 2 0, 2 2, 0 2, 0 0))");
+        Geometry after = PropertyGeometryCache.getGeometry(property);
+
+        assertNotSame(before, after, "A new geometry should be parsed after the WKT changes");
+        assertEquals(4.0, after.getArea(), 1e-9, "The new geometry should have the updated area");
+    }
+
+    @Test
+    public void testBoundedCacheEvictsLeastRecentlyUsed() throws Exception {
+        PropertyGeometryCache.setMaximumSize(1);
+        Property property1 = new Property("1", "123", "456", "4.0", "1.0", "POLYGON((0 0, 1 0, 1 1, 0 1, 0 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+        Property property2 = new Property("2", "789", "101", "4.0", "1.0", "POLYGON((1 0, 2 0, 2 1, 1 1, 1 0))", "Jane Doe", "Arco da Calheta", "Calheta", "Madeira");
+
+        Geometry first = PropertyGeometryCache.getGeometry(property1);
+        PropertyGeometryCache.getGeometry(property2);
+
+        assertNotSame(first, PropertyGeometryCache.getGeometry(property1), "The evicted geometry should be parsed again");
+    }
+}
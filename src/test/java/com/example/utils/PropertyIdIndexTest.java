@@ -0,0 +1,40 @@
+package com.example.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+
+import com.example.Property;
+
+public class PropertyIdIndexTest {
+
+    @Test
+    public void testGet() {
+        List<Property> properties = new ArrayList<>();
+        for (int objectId = 1; objectId <= 1000; objectId++) {
+            properties.add(new Property(String.valueOf(objectId), "123", "456", "4.0", "1.0", "POINT(0 0)", "John Doe", "Arco da Calheta", "Calheta", "Madeira"));
+        }
+        PropertyIdIndex index = new PropertyIdIndex(properties);
+
+        assertEquals(1000, index.size(), "Every property should be indexed");
+        assertSame(properties.get(499), index.get(500), "Lookup by OBJECTID should return the property");
+        assertSame(properties.get(0), index.get(" 1 "), "Lookup by text should trim the OBJECTID");
+        assertNull(index.get(1001), "Unknown OBJECTIDs should not be found");
+        assertNull(index.get("abc"), "Invalid OBJECTIDs should not be found");
+    }
+
+    @Test
+    public void testPutGrowsIndex() {
+        PropertyIdIndex index = new PropertyIdIndex();
+        for (int objectId = 0; objectId < 100; objectId++) {
+            index.put(new Property(String.valueOf(objectId * 64), "123", "456", "4.0", "1.0", "POINT(0 0)", "John Doe", "Arco da Calheta", "Calheta", "Madeira"));
+        }
+
+        assertEquals(100, index.size(), "Every property should be indexed");
+        assertEquals("6336", index.get(6336).getObjectId(), "Lookup should work after the index has grown");
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.Property;
+import com.example.PropertySwapSuggestion;
+
+public class PropertyManagerTest {
+
+    private final Property left = PropertyFixtures.left();
+    private final Property right = PropertyFixtures.right();
+    private final Property far = PropertyFixtures.far();
+
+    @Test
+    public void testFilterProperties() {
+        PropertyManager manager = new PropertyManager(Arrays.asList(left, right, far));
+
+        assertEquals(Arrays.asList(left, right), manager.filterProperties("freguesia", "ARCO DA CALHETA"), "Filtering should ignore case and keep list order");
+        assertEquals(3, manager.filterProperties("ilha", "Ilha da Madeira (Madeira)").size(), "All properties are on the island");
+        assertThrows(IllegalArgumentException.class, () -> manager.filterProperties("municipio", "Funchal"), "Unknown locations should be rejected");
+    }
+
+    @Test
+    public void testGetUniqueLocations() {
+        PropertyManager manager = new PropertyManager(Arrays.asList(left, right, far));
+
+        assertEquals(2, manager.getUniqueLocations("municipio").size(), "There should be two municipios");
+        assertTrue(manager.getUniqueLocations("freguesia").contains("Ponta do Sol"), "Ponta do Sol should be a freguesia");
+    }
+
+    @Test
+    public void testApplySwapsUpdatesOwnerIndex() {
+        PropertyManager manager = new PropertyManager(Arrays.asList(left, right, far));
+        List<PropertySwapSuggestion> suggestions = Collections.singletonList(new PropertySwapSuggestion(left, right, 1.0));
+
+        PropertySwapManager.applySwaps(manager, suggestions);
+
+        assertEquals("Jane Doe", left.getOwner(), "The swapped property should have the new owner");
+        assertEquals(Arrays.asList(right, left), manager.getPropertiesOfOwner("Jane Doe"), "The new owner should hold both properties");
+        assertEquals(Arrays.asList(far), manager.getPropertiesOfOwner("John Doe"), "The old owner should keep the other property");
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.utils;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.Property;
+
+public class PropertyMapRendererTest {
+
+    private final Property left = new Property("1", "123", "456", "4.0", "1.0", "POLYGON((0 0, 1 0, 1 1, 0 1, 0 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property far = new Property("2", "789", "101", "4.0", "1.0", "POLYGON((9 9, 10 9, 10 10, 9 10, 9 9))", "Jane Doe", "Ponta do Sol", "Ponta do Sol", "Madeira");
+
+    @Test
+    public void testTilesAreCached() {
+        PropertyMapRenderer renderer = new PropertyMapRenderer(Arrays.asList(left, far));
+
+        assertNull(renderer.getCachedTile(0, 0, 0), "No tile should be rendered before it is requested");
+        BufferedImage tile = renderer.getTile(0, 0, 0);
+
+        assertEquals(PropertyMapRenderer.TILE_SIZE, tile.getWidth(), "Tiles should have the tile size");
+        assertSame(tile, renderer.getCachedTile(0, 0, 0), "The rendered tile should be cached");
+        assertSame(tile, renderer.getTile(0, 0, 0), "A cached tile should not be rendered again");
+    }
+
+    @Test
+    public void testOnlyPropertiesInTheTileAreDrawn() {
+        PropertyMapRenderer renderer = new PropertyMapRenderer(Arrays.asList(left, far));
+
+        // At level 1 the map is split in 2 x 2 tiles; the properties are in the bottom-left and top-right ones
+        BufferedImage bottomLeft = renderer.getTile(1, 0, 1);
+        BufferedImage topLeft = renderer.getTile(1, 0, 0);
+
+        assertTrue((bottomLeft.getRGB(10, 250) >>> 24) != 0, "The property in the tile should be drawn");
+        assertEquals(0, topLeft.getRGB(128, 128) >>> 24, "A tile without properties should be transparent");
+    }
+
+    @Test
+    public void testInvalidLevel() {
+        PropertyMapRenderer renderer = new PropertyMapRenderer(Arrays.asList(left, far));
+
+        assertThrows(IllegalArgumentException.class, () -> renderer.getTile(PropertyMapRenderer.MAX_LEVEL + 1, 0, 0), "Levels beyond the deepest one should be rejected");
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.utils;
+
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+
+import com.example.Property;
+
+public class PropertyMergeUtilsTest {
+
+    // A chain of three squares of the same owner, where the first and the last do not touch each other
+    private final Property first = new Property("1", "123", "456", "4.0", "1.0", "POLYGON((0 0, 1 0, 1 1, 0 1, 0 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property other = new Property("2", "789", "101", "4.0", "1.0", "POLYGON((0 1, 1 1, 1 2, 0 2, 0 1))", "Jane Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property second = new Property("3", "111", "222", "4.0", "1.0", "POLYGON((1 0, 2 0, 2 1, 1 1, 1 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property third = new Property("4", "333", "444", "4.0", "1.0", "POLYGON((2 0, 3 0, 3 1, 2 1, 2 0))", "JOHN DOE", "Arco da Calheta", "Calheta", "Madeira");
+
+    @Test
+    public void testMergeChainOfSameOwner() {
+        List<Property> mergedProperties = PropertyMergeUtils.mergePropertiesByAdjacencyAndOwner(Arrays.asList(first, other, third, second));
+
+        assertEquals(2, mergedProperties.size(), "The chain should be merged into one property");
+        assertEquals("1_4_3", mergedProperties.get(0).getObjectId(), "The merged property should combine the IDs in list order");
+        assertEquals(3.0, Double.parseDouble(mergedProperties.get(0).getShapeArea()), 0.0001, "The merged area should cover the whole chain");
+        assertSame(other, mergedProperties.get(1), "A property of another owner should be kept as it is");
+    }
+
+    @Test
+    public void testSummarizeMergedAreas() {
+        DoubleSummaryStatistics areaStatistics = PropertyMergeUtils.summarizeMergedAreas(Arrays.asList(first, other, third, second));
+
+        assertEquals(2, areaStatistics.getCount(), "There should be one merged holding per connected same-owner component");
+        assertEquals(4.0, areaStatistics.getSum(), 0.0001, "The total should sum the known areas");
+        assertEquals(3.0, areaStatistics.getMax(), 0.0001, "The chain should count as one holding");
+    }
+
+    @Test
+    public void testSummarizeMergedAreasCancelled() {
+        assertNull(PropertyMergeUtils.summarizeMergedAreas(Arrays.asList(first, other, third, second), () -> true),
+                "A cancelled calculation should return no statistics");
+    }
+}
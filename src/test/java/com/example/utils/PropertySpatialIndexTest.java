@@ -0,0 +1,43 @@
+package com.example.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.Property;
+
+public class PropertySpatialIndexTest {
+
+    private final Property left = PropertyFixtures.left();
+    private final Property right = PropertyFixtures.right();
+    private final Property far = PropertyFixtures.far();
+
+    @Test
+    public void testCandidatesNear() {
+        PropertySpatialIndex index = new PropertySpatialIndex(Arrays.asList(left, right, far));
+
+        List<Property> candidates = index.candidatesNear(left);
+
+        assertEquals(1, candidates.size(), "Only the property with an overlapping envelope should be a candidate");
+        assertTrue(candidates.contains(right), "The neighbouring property should be a candidate");
+    }
+
+    @Test
+    public void testAdjacentTo() {
+        PropertySpatialIndex index = new PropertySpatialIndex(Arrays.asList(left, right, far));
+
+        assertEquals(Arrays.asList(right), index.adjacentTo(left), "The touching property should be adjacent");
+        assertTrue(index.adjacentTo(far).isEmpty(), "The distant property should have no adjacencies");
+    }
+
+    @Test
+    public void testAdjacentToWithPolicy() {
+        PropertySpatialIndex index = new PropertySpatialIndex(Arrays.asList(left, right, far));
+
+        assertEquals(Arrays.asList(right), index.adjacentTo(left, AdjacencyPolicy.TOUCHING), "The touching property should be adjacent");
+        assertEquals(Arrays.asList(left, right), index.adjacentTo(far, AdjacencyPolicy.withinDistance(20)), "Candidates should be searched within the tolerance");
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+
+import com.example.Property;
+import com.example.PropertySwapSuggestion;
+
+public class PropertySwapManagerTest {
+
+    private final Property center = new Property("1", "123", "456", "4.0", "100.0", "POLYGON((1 0, 2 0, 2 1, 1 1, 1 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property left = new Property("2", "789", "101", "4.0", "80.0", "POLYGON((0 0, 1 0, 1 1, 0 1, 0 0))", "Jane Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property right = new Property("3", "111", "222", "4.0", "95.0", "POLYGON((2 0, 3 0, 3 1, 2 1, 2 0))", "Jack Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property far = new Property("4", "333", "444", "4.0", "100.0", "POLYGON((10 10, 11 10, 11 11, 10 11, 10 10))", "Jill Doe", "Arco da Calheta", "Calheta", "Madeira");
+
+    @Test
+    public void testGenerateSwapSuggestions() {
+        List<PropertySwapSuggestion> suggestions = PropertySwapManager.generateSwapSuggestions(Arrays.asList(center, left, right, far));
+
+        assertEquals(2, suggestions.size(), "Only parcels bordering another owner's holdings should be suggested");
+        assertSame(right, suggestions.get(0).getProperty2(), "Suggestions should be sorted by potential in descending order");
+        assertEquals(0.95, suggestions.get(0).getPotential(), 0.0001, "The potential should be the ratio of the areas");
+        assertSame(left, suggestions.get(1).getProperty2(), "The weaker suggestion should come last");
+    }
+
+    @Test
+    public void testGenerateTopSwapSuggestions() {
+        List<Property> properties = Arrays.asList(center, left, right, far);
+
+        List<PropertySwapSuggestion> topSuggestions = PropertySwapManager.generateTopSwapSuggestions(properties, 1, PropertySwapManager.DEFAULT_MINIMUM_POTENTIAL);
+        assertEquals(1, topSuggestions.size(), "Only the requested number of suggestions should be kept");
+        assertSame(right, topSuggestions.get(0).getProperty2(), "The best suggestion should be kept");
+
+        assertEquals(1, PropertySwapManager.generateTopSwapSuggestions(properties, 10, 0.9).size(), "Suggestions below the threshold should be dropped");
+    }
+
+    @Test
+    public void testPublishSwapSuggestions() {
+        List<Property> properties = Arrays.asList(center, left, right, far);
+        List<PropertySwapSuggestion> published = new ArrayList<>();
+        List<List<PropertySwapSuggestion>> completed = new ArrayList<>();
+
+        List<PropertySwapSuggestion> suggestions = PropertySwapManager.publishSwapSuggestions(properties, 10, PropertySwapManager.DEFAULT_MINIMUM_POTENTIAL,
+                new PropertySwapListener() {
+                    @Override
+                    public void onSuggestion(PropertySwapSuggestion suggestion) {
+                        published.add(suggestion);
+                    }
+
+                    @Override
+                    public void onSuggestionsComplete(List<PropertySwapSuggestion> finalSuggestions) {
+                        completed.add(finalSuggestions);
+                    }
+                });
+
+        assertEquals(2, published.size(), "Every suggestion should be published as it is found");
+        assertSame(left, published.get(0).getProperty2(), "Suggestions should be published in the order of the properties");
+        assertEquals(Arrays.asList(suggestions), completed, "The final suggestions should be completed once");
+        assertEquals(PropertySwapManager.generateSwapSuggestions(properties).toString(), suggestions.toString(), "The final suggestions should match the sorted list");
+    }
+
+    @Test
+    public void testSuggestionsUseGivenAdjacency() {
+        PropertyDataset dataset = new PropertyDataset(Arrays.asList(center, left, right, far));
+        List<Property> subset = Arrays.asList(center, left, right);
+
+        List<PropertySwapSuggestion> suggestions = PropertySwapManager.generateSwapSuggestions(dataset.buildAdjacencyGraph(subset));
+
+        assertEquals(PropertySwapManager.generateSwapSuggestions(subset).toString(), suggestions.toString(),
+                "The adjacency of the dataset should give the same suggestions as computing it");
+        assertEquals(PropertySwapManager.generateTopSwapSuggestions(subset, 1, PropertySwapManager.DEFAULT_MINIMUM_POTENTIAL).toString(),
+                PropertySwapManager.generateTopSwapSuggestions(dataset.buildAdjacencyGraph(subset), 1, PropertySwapManager.DEFAULT_MINIMUM_POTENTIAL).toString(),
+                "The best suggestion should not depend on where the adjacency comes from");
+    }
+}
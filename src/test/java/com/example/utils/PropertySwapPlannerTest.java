@@ -0,0 +1,36 @@
+package com.example.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+
+import com.example.Property;
+import com.example.PropertySwapSuggestion;
+
+public class PropertySwapPlannerTest {
+
+    private final Property large = new Property("1", "123", "456", "4.0", "100.0", "POLYGON((0 0, 1 0, 1 1, 0 1, 0 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property small = new Property("2", "789", "101", "4.0", "10.0", "POLYGON((1 0, 2 0, 2 1, 1 1, 1 0))", "John Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property janes = new Property("3", "111", "222", "4.0", "50.0", "POLYGON((2 0, 3 0, 3 1, 2 1, 2 0))", "Jane Doe", "Arco da Calheta", "Calheta", "Madeira");
+    private final Property jacks = new Property("4", "333", "444", "4.0", "50.0", "POLYGON((1 1, 2 1, 2 2, 1 2, 1 1))", "Jack Doe", "Arco da Calheta", "Calheta", "Madeira");
+
+    @Test
+    public void testPlanIsConflictFree() {
+        List<Property> properties = Arrays.asList(large, small, janes, jacks);
+        List<PropertySwapSuggestion> suggestions = Arrays.asList(
+                new PropertySwapSuggestion(large, janes, 0.5),
+                new PropertySwapSuggestion(small, janes, 0.2),
+                new PropertySwapSuggestion(small, jacks, 0.2));
+
+        PropertySwapPlanner.SwapPlan plan = PropertySwapPlanner.plan(properties, suggestions, 100);
+
+        assertEquals(1, plan.getSwaps().size(), "The small parcel can only be swapped once");
+        assertSame(small, plan.getSwaps().get(0).getProperty1(), "Giving away the large parcel lowers the objective");
+        assertEquals(155.0 / 3, plan.getAverageAreaBefore(), 0.0001, "The objective before should be the mean of 55, 50 and 50");
+        assertEquals(60.0, plan.getAverageAreaAfter(), 0.0001, "The objective after should be the mean of 100, 30 and 50");
+        assertEquals("John Doe", small.getOwner(), "Planning should not modify the properties");
+    }
+}